@@ -0,0 +1,91 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.example.mazewithrobot.MazeGenerator;
+import org.example.mazewithrobot.Point;
+import org.example.mazewithrobot.WalkabilityGrid;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * A maze to benchmark on: its raw pixels and the robot's start position.
+ * Names are either a bundled image ({@code maze.png}, {@code maze2.png}) or
+ * {@code synthetic-<size>} for a maze of about that many pixels per side, generated with a
+ * seeded recursive backtracker.
+ *
+ * @param argb The pixels in row-major order.
+ * @param width The width of the maze in pixels.
+ * @param height The height of the maze in pixels.
+ * @param pathArgb The ARGB value of the path colour.
+ * @param start The robot's start position.
+ */
+record BenchmarkMaze(int[] argb, int width, int height, int pathArgb, Point start) {
+    /** The prefix of generated maze names. */
+    private static final String SYNTHETIC = "synthetic-";
+
+    /** The seed used for every generated maze. */
+    private static final long SEED = 42;
+
+    /**
+     * Loads or generates a maze by name.
+     *
+     * @param name The maze name.
+     * @return The maze.
+     */
+    static BenchmarkMaze load(String name) {
+        if (name.startsWith(SYNTHETIC)) {
+            int cells = MazeGenerator.cellsFor(Integer.parseInt(name.substring(SYNTHETIC.length())));
+            return generated(new MazeGenerator(MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER, cells, cells, SEED));
+        }
+        // Both bundled mazes have the robot start at (10, 260)
+        return fromResource(name, new Point(10, 260));
+    }
+
+    /**
+     * Builds the walkability grid of the maze.
+     *
+     * @return The packed grid.
+     */
+    WalkabilityGrid toGrid() {
+        return WalkabilityGrid.fromArgb(argb, width, height, pathArgb);
+    }
+
+    /**
+     * Draws a generated maze into ARGB pixels, so building its grid can be benchmarked like an image's.
+     */
+    private static BenchmarkMaze generated(MazeGenerator generator) {
+        int width = generator.getWidth();
+        int height = generator.getHeight();
+        int[] argb = new int[width * height];
+        long[] words = new long[WalkabilityGrid.wordsPerRow(width)];
+        for (int y = 0; y < height; y++) {
+            generator.drawRow(y, words);
+            for (int x = 0; x < width; x++) {
+                argb[y * width + x] = (words[x >>> 6] & (1L << x)) != 0 ? MazeGenerator.PATH : MazeGenerator.WALL;
+            }
+        }
+        return new BenchmarkMaze(argb, width, height, MazeGenerator.PATH, generator.getStart());
+    }
+
+    /**
+     * Reads one of the mazes bundled with the game, sampling the path colour at the start.
+     */
+    private static BenchmarkMaze fromResource(String name, Point start) {
+        try (InputStream in = BenchmarkMaze.class.getResourceAsStream("/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No such maze: " + name);
+            }
+            BufferedImage image = ImageIO.read(in);
+            int width = image.getWidth();
+            int height = image.getHeight();
+            int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+            int pathArgb = argb[(int) start.y() * width + (int) start.x()];
+            return new BenchmarkMaze(argb, width, height, pathArgb, start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
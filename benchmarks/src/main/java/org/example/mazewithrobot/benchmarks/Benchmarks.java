@@ -0,0 +1,18 @@
+package org.example.mazewithrobot.benchmarks;
+
+/**
+ * The agent settings shared by the benchmarks, matching the robot in the game.
+ */
+final class Benchmarks {
+    /** The distance between lattice positions in pixels. */
+    static final int STEP_SIZE = 10;
+
+    /** The width and height of the robot's footprint in pixels. */
+    static final int FOOTPRINT = 20;
+
+    /** The range within which the robot is considered to have reached the exit. */
+    static final double EXIT_RANGE = 35;
+
+    private Benchmarks() {
+    }
+}
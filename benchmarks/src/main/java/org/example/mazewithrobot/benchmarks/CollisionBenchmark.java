@@ -0,0 +1,136 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.example.mazewithrobot.ClearanceGrid;
+import org.example.mazewithrobot.ScanningCollisionMap;
+import org.example.mazewithrobot.WalkabilityGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the footprint checks behind every move: the constant-time clearance lookup,
+ * the table-free scan of the footprint's rows a word at a time,
+ * and testing each pixel of the footprint on the walkability grid.
+ * Each invocation checks the same fixed set of random positions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class CollisionBenchmark {
+    /** The number of positions checked per invocation. */
+    private static final int POSITIONS = 1024;
+
+    /** The maze to check positions in. */
+    @Param({"maze.png", "maze2.png", "synthetic-1024", "synthetic-4096", "synthetic-16384"})
+    public String maze;
+
+    /** The walkability grid of the maze. */
+    private WalkabilityGrid grid;
+
+    /** The clearance grid of the maze. */
+    private ClearanceGrid clearance;
+
+    /** The table-free collision checks of the maze. */
+    private ScanningCollisionMap scanning;
+
+    /** The x-coordinates of the positions to check. */
+    private final int[] xs = new int[POSITIONS];
+
+    /** The y-coordinates of the positions to check. */
+    private final int[] ys = new int[POSITIONS];
+
+    /**
+     * Loads the maze and picks the positions to check.
+     */
+    @Setup
+    public void setUp() {
+        grid = BenchmarkMaze.load(maze).toGrid();
+        clearance = new ClearanceGrid(grid);
+        scanning = new ScanningCollisionMap(grid);
+        Random random = new Random(7);
+        for (int i = 0; i < POSITIONS; i++) {
+            xs[i] = random.nextInt(grid.getWidth());
+            ys[i] = random.nextInt(grid.getHeight());
+        }
+    }
+
+    /**
+     * Checks each footprint with the summed-area table.
+     *
+     * @return The number of footprints that fit.
+     */
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int clearanceCheck() {
+        int clear = 0;
+        for (int i = 0; i < POSITIONS; i++) {
+            if (clearance.isClear(xs[i], ys[i], Benchmarks.FOOTPRINT, Benchmarks.FOOTPRINT)) {
+                clear++;
+            }
+        }
+        return clear;
+    }
+
+    /**
+     * Checks each footprint by scanning its rows on the packed grid.
+     *
+     * @return The number of footprints that fit.
+     */
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int rowScan() {
+        int clear = 0;
+        for (int i = 0; i < POSITIONS; i++) {
+            if (scanning.isClear(xs[i], ys[i], Benchmarks.FOOTPRINT, Benchmarks.FOOTPRINT)) {
+                clear++;
+            }
+        }
+        return clear;
+    }
+
+    /**
+     * Checks each footprint pixel by pixel, stopping at the first blocked pixel.
+     *
+     * @return The number of footprints that fit.
+     */
+    @Benchmark
+    @OperationsPerInvocation(POSITIONS)
+    public int pixelScan() {
+        int clear = 0;
+        for (int i = 0; i < POSITIONS; i++) {
+            if (fitsPixelByPixel(xs[i], ys[i])) {
+                clear++;
+            }
+        }
+        return clear;
+    }
+
+    /**
+     * Tests every pixel under a footprint on the walkability grid.
+     */
+    private boolean fitsPixelByPixel(int x, int y) {
+        for (int dy = 0; dy < Benchmarks.FOOTPRINT; dy++) {
+            for (int dx = 0; dx < Benchmarks.FOOTPRINT; dx++) {
+                if (!grid.isWalkable(x + dx, y + dy)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
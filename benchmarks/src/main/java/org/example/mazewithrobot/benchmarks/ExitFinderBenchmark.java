@@ -0,0 +1,55 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.example.mazewithrobot.ExitFinder;
+import org.example.mazewithrobot.Point;
+import org.example.mazewithrobot.WalkabilityGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scan of a maze's borders for openings, bypassing the metadata cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ExitFinderBenchmark {
+    /** The maze to scan. */
+    @Param({"maze.png", "maze2.png", "synthetic-1024", "synthetic-4096", "synthetic-16384"})
+    public String maze;
+
+    /** The walkability grid of the maze. */
+    private WalkabilityGrid grid;
+
+    /**
+     * Loads the maze.
+     */
+    @Setup
+    public void setUp() {
+        grid = BenchmarkMaze.load(maze).toGrid();
+    }
+
+    /**
+     * Finds every opening on the maze's borders.
+     *
+     * @return The openings.
+     */
+    @Benchmark
+    public List<Point> findOpenings() {
+        return ExitFinder.findOpenings(grid);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.example.mazewithrobot.ClearanceGrid;
+import org.example.mazewithrobot.Lattice;
+import org.example.mazewithrobot.WalkabilityGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the one-off preprocessing of a maze: packing the pixels into a walkability grid,
+ * building the summed-area clearance table, and building the robot's lattice.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class GridBenchmark {
+    /** The maze to preprocess. */
+    @Param({"maze.png", "maze2.png", "synthetic-1024", "synthetic-4096", "synthetic-16384"})
+    public String maze;
+
+    /** The loaded maze. */
+    private BenchmarkMaze source;
+
+    /** The walkability grid of the maze. */
+    private WalkabilityGrid grid;
+
+    /** The clearance grid of the maze. */
+    private ClearanceGrid clearance;
+
+    /**
+     * Loads the maze and builds the inputs of each stage.
+     */
+    @Setup
+    public void setUp() {
+        source = BenchmarkMaze.load(maze);
+        grid = source.toGrid();
+        clearance = new ClearanceGrid(grid);
+    }
+
+    /**
+     * Packs the maze's pixels into a walkability grid.
+     *
+     * @return The grid.
+     */
+    @Benchmark
+    public WalkabilityGrid buildGrid() {
+        return source.toGrid();
+    }
+
+    /**
+     * Builds the summed-area clearance table of the maze.
+     *
+     * @return The clearance grid.
+     */
+    @Benchmark
+    public ClearanceGrid buildClearance() {
+        return new ClearanceGrid(grid);
+    }
+
+    /**
+     * Builds the lattice of positions the robot can occupy.
+     *
+     * @return The lattice.
+     */
+    @Benchmark
+    public Lattice buildLattice() {
+        return new Lattice(clearance, (int) source.start().x(), (int) source.start().y(),
+                Benchmarks.STEP_SIZE, Benchmarks.FOOTPRINT, Benchmarks.FOOTPRINT);
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.mazewithrobot.benchmarks;
+
+import org.example.mazewithrobot.ClearanceGrid;
+import org.example.mazewithrobot.ExitFinder;
+import org.example.mazewithrobot.ExitZone;
+import org.example.mazewithrobot.Lattice;
+import org.example.mazewithrobot.MazeExits;
+import org.example.mazewithrobot.MazeSolver;
+import org.example.mazewithrobot.SolveResult;
+import org.example.mazewithrobot.SolverStrategy;
+import org.example.mazewithrobot.WalkabilityGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one solve from the robot's start to the exit with each strategy, with the solver's buffers
+ * reused between solves. {@link #solve()} runs on one prebuilt lattice, so it measures the search alone;
+ * {@link #solveOnNewLattice()} builds a lazy lattice for every solve, as the game does, so it also counts
+ * the lattice setup and anything a solver derives from a lattice it has not seen before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+    /** The maze to solve. */
+    @Param({"maze.png", "maze2.png", "synthetic-1024", "synthetic-4096", "synthetic-16384"})
+    public String maze;
+
+    /** The algorithm to solve with; every strategy by default. */
+    @Param
+    public SolverStrategy strategy;
+
+    /** The collision checks of the maze. */
+    private ClearanceGrid collisions;
+
+    /** The x-coordinate of the robot's start. */
+    private int x;
+
+    /** The y-coordinate of the robot's start. */
+    private int y;
+
+    /** The lattice of the robot's positions. */
+    private Lattice lattice;
+
+    /** The robot's start node. */
+    private int start;
+
+    /** The exit zone to reach. */
+    private ExitZone exit;
+
+    /** The solver, reused between invocations. */
+    private MazeSolver solver;
+
+    /**
+     * Loads the maze and builds everything a solve needs.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkMaze source = BenchmarkMaze.load(maze);
+        WalkabilityGrid grid = source.toGrid();
+        x = (int) source.start().x();
+        y = (int) source.start().y();
+        collisions = new ClearanceGrid(grid);
+        lattice = new Lattice(collisions, x, y,
+                Benchmarks.STEP_SIZE, Benchmarks.FOOTPRINT, Benchmarks.FOOTPRINT);
+        start = lattice.nodeAt(x, y);
+        MazeExits exits = ExitFinder.choose(ExitFinder.findOpenings(grid), source.start());
+        exit = new ExitZone(exits.exit().x(), exits.exit().y(), Benchmarks.EXIT_RANGE);
+        solver = strategy.newSolver();
+        if (!solver.solve(lattice, start, exit).isFound()) {
+            throw new IllegalStateException(strategy + " found no path through " + maze);
+        }
+    }
+
+    /**
+     * Solves the maze once.
+     *
+     * @return The result, so the solve is not optimised away.
+     */
+    @Benchmark
+    public SolveResult solve() {
+        return solver.solve(lattice, start, exit);
+    }
+
+    /**
+     * Builds a lazy lattice at the start and solves the maze on it, as each solve in the game does.
+     *
+     * @return The result, so the solve is not optimised away.
+     */
+    @Benchmark
+    public SolveResult solveOnNewLattice() {
+        Lattice fresh = new Lattice(collisions, x, y, Benchmarks.STEP_SIZE, Benchmarks.FOOTPRINT, Benchmarks.FOOTPRINT,
+                true);
+        return solver.solve(fresh, fresh.nodeAt(x, y), exit);
+    }
+}
@@ -2,6 +2,7 @@ module org.example.mazewithrobot {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.desktop;
+    requires java.management;
 
 
     opens org.example.mazewithrobot to javafx.fxml;
@@ -0,0 +1,93 @@
+package org.example.mazewithrobot;
+
+/**
+ * Solves a maze with A* search, guided by the Manhattan distance to the exit zone.
+ * Finds a shortest path like breadth-first search, while expanding far fewer nodes
+ * in mazes whose corridors lead roughly towards the exit.
+ * Reuses its buffers between solves, so an instance must not be shared between threads.
+ */
+public class AStarSolver implements MazeSolver {
+    /** The buffers reused between solves. */
+    private final SearchWorkspace workspace = new SearchWorkspace();
+
+    /** The listener told about the search's progress, or null for none. */
+    private SearchListener listener;
+
+    @Override
+    public SolveResult solve(Lattice lattice, int start, ExitZone exit) {
+        long started = System.nanoTime();
+        workspace.prepare(lattice.size());
+        NodeSet seen = workspace.seen;
+        NodeSet closed = workspace.closed;
+        int[] costs = workspace.costs;
+        int[] parents = workspace.parents;
+        // Entries pack the estimated total cost above the node ID so they sort by cost first
+        LongMinHeap open = workspace.heap;
+        seen.add(start);
+        costs[start] = 0;
+        open.add(entry(heuristic(lattice, start, exit), start));
+        if (listener != null) listener.discovered(lattice, start);
+        int expanded = 0;
+        int goal = -1;
+
+        while (!open.isEmpty()) {
+            int current = (int) open.poll();
+            if (!closed.add(current)) {
+                continue;
+            }
+            expanded++;
+            if (listener != null) listener.expanded(lattice, current);
+            if (exit.contains(lattice, current)) {
+                goal = current;
+                break;
+            }
+            int nextCost = costs[current] + 1;
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int neighbor = lattice.neighbor(current, direction);
+                if (neighbor >= 0 && (seen.add(neighbor) || nextCost < costs[neighbor])) {
+                    costs[neighbor] = nextCost;
+                    parents[neighbor] = current;
+                    open.add(entry(nextCost + heuristic(lattice, neighbor, exit), neighbor));
+                    if (listener != null) listener.discovered(lattice, neighbor);
+                }
+            }
+        }
+        return SolveResult.fromParents(parents, start, goal, expanded, started);
+    }
+
+    /**
+     * Estimates the number of steps from a node into the exit zone.
+     * Never overestimates, so the path found is a shortest one.
+     *
+     * @param lattice The lattice being searched.
+     * @param node The node to estimate from.
+     * @param exit The exit zone.
+     * @return A lower bound on the number of steps to the exit.
+     */
+    static int heuristic(Lattice lattice, int node, ExitZone exit) {
+        double dx = Math.max(0, Math.abs(lattice.xOf(node) - exit.x()) - exit.range());
+        double dy = Math.max(0, Math.abs(lattice.yOf(node) - exit.y()) - exit.range());
+        return (int) (dx / lattice.getStep()) + (int) (dy / lattice.getStep());
+    }
+
+    /**
+     * Packs a priority and a node ID into one queue entry.
+     *
+     * @param priority The estimated total cost of a path through the node.
+     * @param node The node ID.
+     * @return The queue entry.
+     */
+    private static long entry(int priority, int node) {
+        return ((long) priority << 32) | node;
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean findsShortestPaths() {
+        return true;
+    }
+}
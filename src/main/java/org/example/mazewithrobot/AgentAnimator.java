@@ -0,0 +1,268 @@
+package org.example.mazewithrobot;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plays solved routes back on screen for every agent with one shared {@link AnimationTimer}.
+ * Searches run off the FX thread and publish their routes here in segments, through a lock-free
+ * queue; once per frame the timer drains the queue and moves each agent along its route,
+ * interpolating between its positions at the agent's own speed in steps per second.
+ * The positions may be lattice neighbours or waypoints any distance apart; a longer move takes
+ * proportionally longer, and the agent turns to face the angle of each move.
+ * The timer stops itself when no agent is moving, and is started again by the next publish.
+ */
+public final class AgentAnimator {
+    /** The number of route positions published in each segment. */
+    private static final int SEGMENT_LENGTH = 256;
+
+    /** The longest frame time animated in one go, so a stalled frame does not make agents jump. */
+    private static final double MAX_FRAME_SECONDS = 0.1;
+
+    /** The animator shared by all agents, or null until first needed. */
+    private static AgentAnimator shared;
+
+    /** The segments published by searches and not yet taken by the timer. */
+    private final ConcurrentLinkedQueue<Segment> published = new ConcurrentLinkedQueue<>();
+
+    /** The route being played back for each moving agent; only touched on the FX thread. */
+    private final Map<MazeAgent, Playback> playbacks = new IdentityHashMap<>();
+
+    /** Flag indicating whether the timer is running or about to be started. */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /** The timer that animates every agent once per frame. */
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            frame(now);
+        }
+    };
+
+    /** The time of the previous frame in nanoseconds, or 0 when the timer has just started. */
+    private long lastFrame;
+
+    private AgentAnimator() {
+    }
+
+    /**
+     * Gets the animator shared by all agents.
+     *
+     * @return The shared animator.
+     */
+    public static synchronized AgentAnimator shared() {
+        if (shared == null) {
+            shared = new AgentAnimator();
+        }
+        return shared;
+    }
+
+    /**
+     * Publishes a route for an agent to follow, from any thread.
+     * A route from a newer plan replaces what is left of the agent's current one;
+     * routes from older plans are ignored.
+     *
+     * @param agent The agent that follows the route.
+     * @param plan The number of the plan the route belongs to, counted up by the agent.
+     * @param route The route, starting at the agent's position, or null if the search failed.
+     * @param edits The navigator's edit count the route was planned against.
+     */
+    void publish(MazeAgent agent, int plan, Route route, int edits) {
+        boolean found = route != null && route.isFound();
+        int length = found ? route.length() : 1;
+        // The first position is where the agent already is
+        for (int from = 1; from < length || from == 1; from += SEGMENT_LENGTH) {
+            int to = Math.min(length, from + SEGMENT_LENGTH);
+            int count = Math.max(0, to - from);
+            double[] xs = new double[count];
+            double[] ys = new double[count];
+            for (int i = 0; i < count; i++) {
+                xs[i] = route.xAt(from + i);
+                ys[i] = route.yAt(from + i);
+            }
+            published.add(new Segment(agent, plan, edits, xs, ys, to >= length, found));
+        }
+        if (running.compareAndSet(false, true)) {
+            Platform.runLater(timer::start);
+        }
+    }
+
+    /**
+     * Moves every agent along its route by the time since the last frame.
+     *
+     * @param now The time of this frame in nanoseconds.
+     */
+    void frame(long now) {
+        double seconds = lastFrame == 0 ? 0 : Math.min(MAX_FRAME_SECONDS, (now - lastFrame) / 1e9);
+        lastFrame = now;
+        for (Segment segment = published.poll(); segment != null; segment = published.poll()) {
+            Playback playback = playbacks.computeIfAbsent(segment.agent(), Playback::new);
+            playback.receive(segment);
+        }
+        Iterator<Playback> iterator = playbacks.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().advance(seconds)) {
+                iterator.remove();
+            }
+        }
+        if (playbacks.isEmpty()) {
+            // Stop unless a segment was published while this frame ran
+            running.set(false);
+            if (published.isEmpty() || !running.compareAndSet(false, true)) {
+                timer.stop();
+                lastFrame = 0;
+            }
+        }
+    }
+
+    /**
+     * Part of a published route.
+     *
+     * @param agent The agent that follows the route.
+     * @param plan The number of the plan the route belongs to.
+     * @param edits The navigator's edit count the route was planned against.
+     * @param xs The x-coordinates of the positions in this part.
+     * @param ys The y-coordinates of the positions in this part.
+     * @param last True if this is the last part of the route.
+     * @param found True if the route reaches the exit.
+     */
+    private record Segment(MazeAgent agent, int plan, int edits, double[] xs, double[] ys,
+                           boolean last, boolean found) {
+    }
+
+    /**
+     * The state of one agent's playback, only touched on the FX thread.
+     */
+    private static final class Playback {
+        /** The agent being moved. */
+        private final MazeAgent agent;
+
+        /** The segments received and not yet played. */
+        private final ArrayDeque<Segment> pending = new ArrayDeque<>();
+
+        /** The plan being played. */
+        private int plan = Integer.MIN_VALUE;
+
+        /** The index of the next position in the first pending segment. */
+        private int index;
+
+        /** The x-coordinate the current move started from. */
+        private double fromX;
+
+        /** The y-coordinate the current move started from. */
+        private double fromY;
+
+        /** How far along the current move the agent is, in steps. */
+        private double progress;
+
+        /** The angle the agent was last turned to face in degrees, or NaN before the first move. */
+        private double heading = Double.NaN;
+
+        /** Flag indicating whether the agent asked for a new plan and is waiting for it. */
+        private boolean waiting;
+
+        /** Flag indicating whether the last segment of the plan has been received. */
+        private boolean complete;
+
+        /** Flag indicating whether the plan reaches the exit. */
+        private boolean found;
+
+        Playback(MazeAgent agent) {
+            this.agent = agent;
+            this.fromX = agent.getX();
+            this.fromY = agent.getY();
+        }
+
+        /**
+         * Takes a published segment, starting over if it belongs to a newer plan.
+         */
+        void receive(Segment segment) {
+            if (segment.plan() < plan) {
+                return;
+            }
+            if (segment.plan() > plan) {
+                plan = segment.plan();
+                pending.clear();
+                index = 0;
+                progress = 0;
+                fromX = agent.getX();
+                fromY = agent.getY();
+                waiting = false;
+                complete = false;
+            }
+            pending.addLast(segment);
+            complete = segment.last();
+            found = segment.found();
+        }
+
+        /**
+         * Moves the agent along its route.
+         *
+         * @param seconds The time to animate.
+         * @return True if the route is finished and the playback can be dropped.
+         */
+        boolean advance(double seconds) {
+            if (waiting) {
+                return false;
+            }
+            double budget = progress + seconds * agent.getSolveSpeed();
+            boolean moved = false;
+            while (true) {
+                Segment segment = pending.peekFirst();
+                if (segment != null && index == segment.xs().length) {
+                    pending.removeFirst();
+                    index = 0;
+                    continue;
+                }
+                if (segment == null) {
+                    progress = 0;
+                    if (moved) {
+                        agent.updatePosition();
+                    }
+                    if (complete) {
+                        agent.replayFinished(found);
+                        return true;
+                    }
+                    return false;
+                }
+                double toX = segment.xs()[index];
+                double toY = segment.ys()[index];
+                double length = Math.hypot(toX - fromX, toY - fromY) / agent.getStepSize();
+                if (length > 0) {
+                    double angle = Math.toDegrees(Math.atan2(toY - fromY, toX - fromX));
+                    if (angle != heading) {
+                        heading = angle;
+                        agent.turnTo(angle);
+                    }
+                }
+                moved = true;
+                if (budget < length) {
+                    progress = budget;
+                    double fraction = budget / length;
+                    agent.place(fromX + (toX - fromX) * fraction, fromY + (toY - fromY) * fraction);
+                    agent.updatePosition();
+                    return false;
+                }
+                budget -= length;
+                agent.place(toX, toY);
+                fromX = toX;
+                fromY = toY;
+                index++;
+                if (!agent.continueReplay(segment.edits())) {
+                    // The maze changed under the route; hold still until the new plan arrives
+                    waiting = true;
+                    progress = 0;
+                    agent.updatePosition();
+                    return false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.mazewithrobot;
+
+/**
+ * The outcome of one {@link SolveJob} in a batch.
+ *
+ * @param job The job that was solved.
+ * @param route The route found, which is empty if the exit cannot be reached, or null if the job failed.
+ * @param totalNanos The wall-clock time for the job, including exit selection and lattice lookup.
+ * @param error The exception the job failed with, or null if it was solved.
+ */
+public record BatchResult(SolveJob job, Route route, long totalNanos, RuntimeException error) {
+
+    /**
+     * Creates the result of a job that was solved.
+     *
+     * @param job The job that was solved.
+     * @param route The route found, which is empty if the exit cannot be reached.
+     * @param totalNanos The wall-clock time for the job.
+     * @return The result.
+     */
+    static BatchResult solved(SolveJob job, Route route, long totalNanos) {
+        return new BatchResult(job, route, totalNanos, null);
+    }
+
+    /**
+     * Creates the result of a job that failed, such as one whose start is not on the lattice.
+     *
+     * @param job The job that failed.
+     * @param error The exception the job failed with.
+     * @param totalNanos The wall-clock time until the failure.
+     * @return The result.
+     */
+    static BatchResult failed(SolveJob job, RuntimeException error, long totalNanos) {
+        return new BatchResult(job, null, totalNanos, error);
+    }
+
+    /**
+     * Checks if the job failed rather than being solved.
+     *
+     * @return True if the job failed, false otherwise.
+     */
+    public boolean isFailed() {
+        return error != null;
+    }
+
+    /**
+     * Gets the time spent in the solver itself.
+     *
+     * @return The solve time in nanoseconds, or 0 if the job failed.
+     */
+    public long solveNanos() {
+        return route == null ? 0 : route.result().getElapsedNanos();
+    }
+}
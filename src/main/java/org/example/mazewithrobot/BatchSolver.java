@@ -0,0 +1,167 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Solves many (maze, start, footprint) jobs in parallel on a fork-join pool.
+ * Everything derived from a maze (clearance grid and border openings from the shared
+ * {@link MazeMetadataCache}, and the lattice for each footprint and alignment) is built once
+ * and shared read-only between the worker threads;
+ * each worker keeps its own solver, since solvers reuse their buffers.
+ * A job that throws fails on its own, as a failed {@link BatchResult}, without stopping the others.
+ * <p>
+ * The lattices are kept for the life of the solver, so that later batches on the same mazes reuse them;
+ * a long-lived solver fed ever new mazes should be closed and replaced now and then to let them go.
+ */
+public class BatchSolver implements AutoCloseable {
+    /** The number of jobs below which a task stops splitting and solves sequentially. */
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+
+    /** The pool the jobs run on. */
+    private final ForkJoinPool pool;
+
+    /** One solver per worker thread. */
+    private final ThreadLocal<MazeSolver> solvers;
+
+    /** The distance between lattice positions in pixels. */
+    private final int step;
+
+    /** The range within which an agent is considered to have reached the exit. */
+    private final double exitRange;
+
+    /** The shared lattices, keyed by maze, footprint and alignment; kept until the solver is closed. */
+    private final Map<LatticeKey, Lattice> lattices = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a batch solver that uses every available core.
+     *
+     * @param strategy The algorithm to solve each job with.
+     * @param step The distance between lattice positions in pixels.
+     * @param exitRange The range within which an agent is considered to have reached the exit.
+     */
+    public BatchSolver(SolverStrategy strategy, int step, double exitRange) {
+        this(strategy, step, exitRange, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a batch solver with a fixed number of worker threads.
+     *
+     * @param strategy The algorithm to solve each job with.
+     * @param step The distance between lattice positions in pixels.
+     * @param exitRange The range within which an agent is considered to have reached the exit.
+     * @param parallelism The number of worker threads.
+     */
+    public BatchSolver(SolverStrategy strategy, int step, double exitRange, int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.solvers = ThreadLocal.withInitial(strategy::newSolver);
+        this.step = step;
+        this.exitRange = exitRange;
+    }
+
+    /**
+     * Solves all jobs, in parallel, and waits for them to finish.
+     *
+     * @param jobs The jobs to solve.
+     * @return One result per job, in the same order as the jobs.
+     */
+    public List<BatchResult> solveAll(List<SolveJob> jobs) {
+        BatchResult[] results = new BatchResult[jobs.size()];
+        pool.invoke(new SolveRange(jobs, results, 0, jobs.size()));
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Solves a single job on the calling thread's solver, turning any exception into a failed result.
+     *
+     * @param job The job to solve.
+     * @return The result of the job.
+     */
+    private BatchResult solve(SolveJob job) {
+        long started = System.nanoTime();
+        try {
+            return solve(job, started);
+        } catch (RuntimeException e) {
+            EventLog.shared().warn("batch.jobFailed", "start", job.start(), "error", e.toString());
+            return BatchResult.failed(job, e, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Solves a single job on the calling thread's solver.
+     *
+     * @param job The job to solve.
+     * @param started The time the job started in nanoseconds.
+     * @return The result of the job.
+     * @throws IllegalArgumentException If the start is not on the lattice.
+     */
+    private BatchResult solve(SolveJob job, long started) {
+        MazeMetadata maze = MazeMetadataCache.shared().get(job.grid());
+        Point exit = maze.exitsFor(job.start()).exit();
+        int startX = (int) job.start().x();
+        int startY = (int) job.start().y();
+        LatticeKey key = new LatticeKey(maze.grid(), Math.floorMod(startX, step), Math.floorMod(startY, step),
+                job.footprintWidth(), job.footprintHeight());
+        Lattice lattice = lattices.computeIfAbsent(key, k -> new Lattice(maze.collisions(), k.originX(), k.originY(),
+                step, k.footprintWidth(), k.footprintHeight()));
+        int start = lattice.nodeAt(startX, startY);
+        if (start < 0) {
+            throw new IllegalArgumentException("Start is not on the lattice: " + job.start());
+        }
+        MazeSolver solver = solvers.get();
+        SolveResult result = solver.solve(lattice, start,
+                new ExitZone(exit.x(), exit.y(), exitRange));
+        SolverMetrics.shared().recordSolve(SolverMetrics.mazeName(maze.grid()), SolveCache.solverName(solver), result);
+        return BatchResult.solved(job, new Route(lattice, result), System.nanoTime() - started);
+    }
+
+    /**
+     * Shuts down the worker threads and lets go of the lattices.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+        lattices.clear();
+    }
+
+    /**
+     * Identifies a lattice: positions aligned to an origin on a maze, for one footprint.
+     */
+    private record LatticeKey(MazeGrid grid, int originX, int originY, int footprintWidth, int footprintHeight) {
+    }
+
+    /**
+     * A fork-join task that solves a contiguous range of jobs, splitting it in half until it is small.
+     * Fork-join tasks are serializable only to carry exceptions across; this one is never serialized.
+     */
+    @SuppressWarnings("serial")
+    private final class SolveRange extends RecursiveAction {
+        private final List<SolveJob> jobs;
+        private final BatchResult[] results;
+        private final int from;
+        private final int to;
+
+        SolveRange(List<SolveJob> jobs, BatchResult[] results, int from, int to) {
+            this.jobs = jobs;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = solve(jobs.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SolveRange(jobs, results, from, middle), new SolveRange(jobs, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.mazewithrobot;
+
+/**
+ * Solves a maze with two breadth-first searches, one from the start and one from every open
+ * position in the exit zone, growing whichever frontier is smaller until they meet.
+ * Finds a shortest path while exploring roughly two small balls instead of one large one.
+ * Reuses its buffers between solves, so an instance must not be shared between threads.
+ */
+public class BidirectionalBfsSolver implements MazeSolver {
+    /** The buffers reused between solves. */
+    private final SearchWorkspace workspace = new SearchWorkspace();
+
+    @Override
+    public SolveResult solve(Lattice lattice, int start, ExitZone exit) {
+        long started = System.nanoTime();
+        if (exit.contains(lattice, start)) {
+            return new SolveResult(new int[]{start}, 1, System.nanoTime() - started);
+        }
+        int size = lattice.size();
+        workspace.prepare(size);
+        workspace.prepareBackward(size);
+        NodeSet forwardSeen = workspace.seen;
+        NodeSet backwardSeen = workspace.otherSeen;
+        int[] forwardDistances = workspace.costs;
+        int[] backwardDistances = workspace.otherCosts;
+        int[] forwardParents = workspace.parents;
+        int[] backwardParents = workspace.otherParents;
+        IntDeque forward = workspace.queue;
+        IntDeque backward = workspace.otherQueue;
+
+        forward.addLast(start);
+        forwardSeen.add(start);
+        forwardDistances[start] = 0;
+        for (int goal : exit.openNodes(lattice)) {
+            backward.addLast(goal);
+            backwardSeen.add(goal);
+            backwardDistances[goal] = 0;
+            backwardParents[goal] = -1;
+        }
+
+        int expanded = 0;
+        int bestLength = Integer.MAX_VALUE;
+        int meetFrom = -1;
+        int meetTo = -1;
+        boolean expandForward = true;
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            IntDeque frontier = expandForward ? forward : backward;
+            NodeSet seen = expandForward ? forwardSeen : backwardSeen;
+            NodeSet otherSeen = expandForward ? backwardSeen : forwardSeen;
+            int[] distances = expandForward ? forwardDistances : backwardDistances;
+            int[] otherDistances = expandForward ? backwardDistances : forwardDistances;
+            int[] parents = expandForward ? forwardParents : backwardParents;
+
+            // Expand one whole layer so the best meeting point in it can be picked
+            for (int layer = frontier.size(); layer > 0; layer--) {
+                int current = frontier.pollFirst();
+                expanded++;
+                for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                    int neighbor = lattice.neighbor(current, direction);
+                    if (neighbor < 0) {
+                        continue;
+                    }
+                    if (otherSeen.contains(neighbor)) {
+                        int length = distances[current] + 1 + otherDistances[neighbor];
+                        if (length < bestLength) {
+                            bestLength = length;
+                            meetFrom = expandForward ? current : neighbor;
+                            meetTo = expandForward ? neighbor : current;
+                        }
+                    }
+                    if (seen.add(neighbor)) {
+                        distances[neighbor] = distances[current] + 1;
+                        parents[neighbor] = current;
+                        frontier.addLast(neighbor);
+                    }
+                }
+            }
+            if (meetFrom >= 0) {
+                break;
+            }
+            expandForward = forward.size() <= backward.size();
+        }
+
+        if (meetFrom < 0) {
+            return new SolveResult(new int[0], expanded, System.nanoTime() - started);
+        }
+        int[] path = new int[bestLength + 1];
+        int index = forwardDistances[meetFrom];
+        for (int node = meetFrom; index >= 0; node = forwardParents[node]) {
+            path[index--] = node;
+        }
+        index = forwardDistances[meetFrom] + 1;
+        for (int node = meetTo; node >= 0; node = backwardParents[node]) {
+            path[index++] = node;
+        }
+        return new SolveResult(path, expanded, System.nanoTime() - started);
+    }
+
+    @Override
+    public boolean findsShortestPaths() {
+        return true;
+    }
+}
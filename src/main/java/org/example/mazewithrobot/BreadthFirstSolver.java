@@ -0,0 +1,56 @@
+package org.example.mazewithrobot;
+
+/**
+ * Solves a maze with breadth-first search, which always finds a shortest path on the lattice.
+ * Reuses its buffers between solves, so an instance must not be shared between threads.
+ */
+public class BreadthFirstSolver implements MazeSolver {
+    /** The buffers reused between solves. */
+    private final SearchWorkspace workspace = new SearchWorkspace();
+
+    /** The listener told about the search's progress, or null for none. */
+    private SearchListener listener;
+
+    @Override
+    public SolveResult solve(Lattice lattice, int start, ExitZone exit) {
+        long started = System.nanoTime();
+        workspace.prepare(lattice.size());
+        NodeSet visited = workspace.seen;
+        int[] parents = workspace.parents;
+        IntDeque queue = workspace.queue;
+        queue.addLast(start);
+        visited.add(start);
+        if (listener != null) listener.discovered(lattice, start);
+        int expanded = 0;
+        int goal = -1;
+
+        while (!queue.isEmpty()) {
+            int current = queue.pollFirst();
+            expanded++;
+            if (listener != null) listener.expanded(lattice, current);
+            if (exit.contains(lattice, current)) {
+                goal = current;
+                break;
+            }
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int neighbor = lattice.neighbor(current, direction);
+                if (neighbor >= 0 && visited.add(neighbor)) {
+                    parents[neighbor] = current;
+                    queue.addLast(neighbor);
+                    if (listener != null) listener.discovered(lattice, neighbor);
+                }
+            }
+        }
+        return SolveResult.fromParents(parents, start, goal, expanded, started);
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean findsShortestPaths() {
+        return true;
+    }
+}
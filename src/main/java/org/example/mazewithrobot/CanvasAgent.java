@@ -0,0 +1,28 @@
+package org.example.mazewithrobot;
+
+/**
+ * An agent with no scene-graph node of its own, drawn by a {@link MazeCanvas}
+ * together with every other agent on it.
+ */
+public class CanvasAgent extends MazeAgent {
+
+    /**
+     * Constructs an agent at a starting position in a maze.
+     *
+     * @param x The starting x-coordinate.
+     * @param y The starting y-coordinate.
+     * @param grid The walkability grid of the maze, shared between agents.
+     * @param footprintWidth The width of the agent's collision footprint in pixels.
+     * @param footprintHeight The height of the agent's collision footprint in pixels.
+     */
+    public CanvasAgent(double x, double y, MazeGrid grid, int footprintWidth, int footprintHeight) {
+        super(x, y, grid, footprintWidth, footprintHeight);
+    }
+
+    /**
+     * Does nothing; the canvas reads the agent's position each frame.
+     */
+    @Override
+    protected void updatePosition() {
+    }
+}
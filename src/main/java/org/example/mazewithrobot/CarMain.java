@@ -20,7 +20,6 @@ public class CarMain extends Application {
     private Image mazeImage;
     private ImageView mazeView;
     private boolean isSolving = false;  // Track if the maze-solving is active
-    private static final int STEP_SIZE = 10;  // Define the step size for car movement
 
     /**
      * Initializes and displays the maze with the car.
@@ -36,10 +35,11 @@ public class CarMain extends Application {
 
         // Create a Car object and place it initially in the maze
         car = new Car(10, 270, mazeImage);
+        car.setSmoothPaths(true);  // Drive straight across open space instead of in a staircase
 
         // Create a Pane to hold the maze image and car components
         Pane mazePane = new Pane();
-        mazePane.getChildren().addAll(mazeView, car.getBody(), car.getRoof(), car.getWheel1(), car.getWheel2(), car.getHeadlight());
+        mazePane.getChildren().addAll(mazeView, car.getNode());
 
         // Button to solve the maze
         Button solveButton = new Button("Solve Maze");
@@ -60,19 +60,19 @@ public class CarMain extends Application {
             if (!isSolving) {  // Allow manual control only if maze-solving is not active
                 switch (event.getCode()) {
                     case UP:
-                        car.move(0, -STEP_SIZE);  // Move up
+                        car.move(0, -car.getStepSize());  // Move up
                         car.rotate(-90);  // Rotate to face upwards
                         break;
                     case DOWN:
-                        car.move(0, STEP_SIZE);  // Move down
+                        car.move(0, car.getStepSize());  // Move down
                         car.rotate(90);  // Rotate to face downwards
                         break;
                     case LEFT:
-                        car.move(-STEP_SIZE, 0);  // Move left
+                        car.move(-car.getStepSize(), 0);  // Move left
                         car.rotate(180);  // Rotate to face left
                         break;
                     case RIGHT:
-                        car.move(STEP_SIZE, 0);  // Move right
+                        car.move(car.getStepSize(), 0);  // Move right
                         car.rotate(0);  // Rotate to face right
                         break;
                 }
@@ -0,0 +1,663 @@
+package org.example.mazewithrobot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A hierarchical abstraction of a lattice for HPA* path finding on huge mazes.
+ * The lattice is cut into square clusters; where two clusters touch, each run of open
+ * position pairs across the border becomes one or two entrances, and the cost of crossing
+ * each cluster between its entrances is found once with a breadth-first search.
+ * A query then searches the small graph of entrances and refines only the clusters on the
+ * chosen route back into lattice positions. Paths are within a few steps of the shortest.
+ * <p>
+ * Clusters are independent, so the abstraction is built in parallel, one cluster per task.
+ * It can be saved next to the maze and loaded again as long as the maze and lattice match.
+ * The lattice must be checked up front, not lazily, as it is read from several threads.
+ * {@link HierarchicalSolver} builds or loads the abstraction and answers solves with it.
+ */
+public final class ClusterGraph {
+    /** The magic number at the start of an abstraction file, "MZHP" in ASCII. */
+    public static final int MAGIC = 0x4D5A4850;
+
+    /** The format version written by this class. */
+    public static final short VERSION = 1;
+
+    /** The cluster width and height, in lattice positions, used when none is given. */
+    public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+    /** The size of the file header in bytes. */
+    private static final int HEADER_BYTES = 64;
+
+    /** The distance of a position that cannot be reached. */
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    /** Entrance runs at least this long get an entrance at each end instead of one in the middle. */
+    private static final int SPLIT_RUN_LENGTH = 6;
+
+    /** The lattice the abstraction was built on. */
+    private final Lattice lattice;
+
+    /** The partition of the lattice into clusters. */
+    private final Clusters clusters;
+
+    /** The lattice node of each abstract node, in ascending order. */
+    private final int[] nodes;
+
+    /** The first entry of each cluster in clusterMembers; one more entry than there are clusters. */
+    private final int[] clusterStart;
+
+    /** The abstract nodes of each cluster, grouped by cluster. */
+    private final int[] clusterMembers;
+
+    /** The first edge of each abstract node; one more entry than there are nodes. */
+    private final int[] edgeStart;
+
+    /** The abstract node each edge leads to. */
+    private final int[] edgeTarget;
+
+    /** The number of moves along each edge. */
+    private final int[] edgeCost;
+
+    private ClusterGraph(Lattice lattice, int clusterSize, int[] nodes, int[] edgeStart, int[] edgeTarget, int[] edgeCost) {
+        this.lattice = lattice;
+        this.clusters = new Clusters(lattice, clusterSize);
+        this.nodes = nodes;
+        this.edgeStart = edgeStart;
+        this.edgeTarget = edgeTarget;
+        this.edgeCost = edgeCost;
+
+        int count = clusters.count();
+        this.clusterStart = new int[count + 1];
+        for (int node : nodes) {
+            clusterStart[clusters.clusterOf(node) + 1]++;
+        }
+        for (int k = 0; k < count; k++) {
+            clusterStart[k + 1] += clusterStart[k];
+        }
+        this.clusterMembers = new int[nodes.length];
+        int[] fill = Arrays.copyOf(clusterStart, count);
+        for (int id = 0; id < nodes.length; id++) {
+            clusterMembers[fill[clusters.clusterOf(nodes[id])]++] = id;
+        }
+    }
+
+    /**
+     * Builds the abstraction of a lattice, one cluster per parallel task.
+     *
+     * @param lattice The lattice, checked up front.
+     * @param clusterSize The width and height of a cluster in lattice positions.
+     * @return The abstraction.
+     */
+    public static ClusterGraph build(Lattice lattice, int clusterSize) {
+        requireCheckedUpFront(lattice);
+        if (clusterSize < 2) {
+            throw new IllegalArgumentException("Cluster size must be at least 2: " + clusterSize);
+        }
+        Clusters clusters = new Clusters(lattice, clusterSize);
+
+        // Entrances: pairs of open positions facing each other across a cluster border
+        List<int[]> transitions = IntStream.range(0, clusters.count()).parallel()
+                .mapToObj(clusters::findTransitions)
+                .toList();
+        int pairCount = 0;
+        for (int[] pairs : transitions) {
+            pairCount += pairs.length;
+        }
+        int[] all = new int[pairCount];
+        int used = 0;
+        for (int[] pairs : transitions) {
+            System.arraycopy(pairs, 0, all, used, pairs.length);
+            used += pairs.length;
+        }
+        int[] nodes = Arrays.stream(all).sorted().distinct().toArray();
+
+        ClusterGraph partial = new ClusterGraph(lattice, clusterSize, nodes, null, null, null);
+        // Intra-cluster edges: the cost between every pair of entrances of each cluster
+        List<int[]> intra = IntStream.range(0, clusters.count()).parallel()
+                .mapToObj(partial::intraEdges)
+                .toList();
+
+        int[] degree = new int[nodes.length + 1];
+        for (int i = 0; i < all.length; i += 2) {
+            degree[Arrays.binarySearch(nodes, all[i]) + 1]++;
+            degree[Arrays.binarySearch(nodes, all[i + 1]) + 1]++;
+        }
+        for (int[] triples : intra) {
+            for (int i = 0; i < triples.length; i += 3) {
+                degree[triples[i] + 1]++;
+            }
+        }
+        for (int id = 0; id < nodes.length; id++) {
+            degree[id + 1] += degree[id];
+        }
+        int[] edgeStart = degree;
+        int[] edgeTarget = new int[edgeStart[nodes.length]];
+        int[] edgeCost = new int[edgeTarget.length];
+        int[] fill = Arrays.copyOf(edgeStart, nodes.length);
+        for (int i = 0; i < all.length; i += 2) {
+            int a = Arrays.binarySearch(nodes, all[i]);
+            int b = Arrays.binarySearch(nodes, all[i + 1]);
+            edgeTarget[fill[a]] = b;
+            edgeCost[fill[a]++] = 1;
+            edgeTarget[fill[b]] = a;
+            edgeCost[fill[b]++] = 1;
+        }
+        for (int[] triples : intra) {
+            for (int i = 0; i < triples.length; i += 3) {
+                edgeTarget[fill[triples[i]]] = triples[i + 1];
+                edgeCost[fill[triples[i]]++] = triples[i + 2];
+            }
+        }
+        return new ClusterGraph(lattice, clusterSize, nodes, edgeStart, edgeTarget, edgeCost);
+    }
+
+    /**
+     * Gets the file an abstraction of a maze is saved in: the maze's file name with ".hpa" appended.
+     *
+     * @param mazeFile The maze image or grid file.
+     * @return The abstraction file next to it.
+     */
+    public static Path fileFor(Path mazeFile) {
+        return mazeFile.resolveSibling(mazeFile.getFileName() + ".hpa");
+    }
+
+    /**
+     * Loads a saved abstraction if it was built for this maze and lattice,
+     * and otherwise builds it and saves it in its place.
+     *
+     * @param file The abstraction file.
+     * @param lattice The lattice, checked up front.
+     * @param mazeHash The content hash of the maze.
+     * @param clusterSize The width and height of a cluster in lattice positions.
+     * @return The abstraction.
+     * @throws IOException If the file exists but cannot be read, or cannot be written.
+     */
+    public static ClusterGraph loadOrBuild(Path file, Lattice lattice, long mazeHash, int clusterSize) throws IOException {
+        if (Files.exists(file)) {
+            ClusterGraph saved = read(file, lattice, mazeHash, clusterSize);
+            if (saved != null) {
+                return saved;
+            }
+        }
+        ClusterGraph built = build(lattice, clusterSize);
+        built.write(file, mazeHash);
+        return built;
+    }
+
+    /**
+     * Saves the abstraction: a 64-byte big-endian header describing the maze, lattice and graph,
+     * then the abstract nodes and the edges as int arrays.
+     *
+     * @param file The file to write, replacing its contents.
+     * @param mazeHash The content hash of the maze, checked when loading.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path file, long mazeHash) throws IOException {
+        int ints = nodes.length + edgeStart.length + edgeTarget.length * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + ints * Integer.BYTES);
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putLong(mazeHash);
+        putLatticeHeader(buffer, lattice, clusters.size);
+        buffer.putInt(nodes.length)
+                .putInt(edgeTarget.length)
+                .position(HEADER_BYTES);
+        IntBuffer body = buffer.asIntBuffer();
+        body.put(nodes).put(edgeStart).put(edgeTarget).put(edgeCost);
+        buffer.position(0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Loads a saved abstraction.
+     *
+     * @param file The abstraction file.
+     * @param lattice The lattice the abstraction must have been built on, checked up front.
+     * @param mazeHash The content hash the maze must have.
+     * @param clusterSize The cluster size the abstraction must have.
+     * @return The abstraction, or null if it was built for a different maze, lattice or cluster size.
+     * @throws IOException If the file cannot be read or is not an abstraction file.
+     */
+    public static ClusterGraph read(Path file, Lattice lattice, long mazeHash, int clusterSize) throws IOException {
+        requireCheckedUpFront(lattice);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not an abstraction file: " + file);
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported abstraction format version " + version);
+            }
+            buffer.getShort();
+            ByteBuffer expected = ByteBuffer.allocate(HEADER_BYTES);
+            putLatticeHeader(expected, lattice, clusterSize);
+            expected.flip();
+            if (buffer.getLong() != mazeHash || !buffer.slice(buffer.position(), expected.limit()).equals(expected)) {
+                return null;
+            }
+            buffer.position(buffer.position() + expected.limit());
+            int nodeCount = buffer.getInt();
+            int edgeCount = buffer.getInt();
+            long ints = (long) nodeCount * 2 + 1 + (long) edgeCount * 2;
+            if (nodeCount < 0 || edgeCount < 0 || channel.size() != HEADER_BYTES + ints * Integer.BYTES) {
+                throw new IOException("Corrupt abstraction file " + file);
+            }
+            IntBuffer body = buffer.position(HEADER_BYTES).asIntBuffer();
+            int[] nodes = new int[nodeCount];
+            int[] edgeStart = new int[nodeCount + 1];
+            int[] edgeTarget = new int[edgeCount];
+            int[] edgeCost = new int[edgeCount];
+            body.get(nodes).get(edgeStart).get(edgeTarget).get(edgeCost);
+            return new ClusterGraph(lattice, clusterSize, nodes, edgeStart, edgeTarget, edgeCost);
+        }
+    }
+
+    /**
+     * Finds a path from a node to the exit: A* over the entrances, then a breadth-first search
+     * inside each cluster along the way to fill in the lattice positions.
+     * Queries do not modify the abstraction, so they can run on several threads at once.
+     *
+     * @param start The node the agent starts on, used even if the footprint does not fully fit there.
+     * @param exit The exit zone to reach.
+     * @return The path found, or an empty result if the exit cannot be reached.
+     */
+    public SolveResult findPath(int start, ExitZone exit) {
+        long started = System.nanoTime();
+        int count = nodes.length;
+        int startId = count;
+        int goalId = count + 1;
+        int[] local = new int[clusters.size * clusters.size];
+        IntDeque queue = new IntDeque();
+
+        // Distance from each entrance of a cluster holding exit positions to the nearest of them
+        int[] goalCells = exit.openNodes(lattice);
+        int[] goalDistances = new int[count];
+        Arrays.fill(goalDistances, INFINITY);
+        for (int cluster : IntStream.of(goalCells).map(clusters::clusterOf).distinct().toArray()) {
+            clusters.bfs(cluster, cellsIn(goalCells, cluster), local, queue);
+            for (int i = clusterStart[cluster]; i < clusterStart[cluster + 1]; i++) {
+                int id = clusterMembers[i];
+                int distance = local[clusters.localIndex(nodes[id])];
+                if (distance >= 0) {
+                    goalDistances[id] = distance;
+                }
+            }
+        }
+
+        // Distance from the start to the entrances of its cluster, and to the exit if it is in the same cluster.
+        // A start the footprint does not fully fit on searches from its open neighbours instead,
+        // which may lie in the next cluster over.
+        int[] seeds = lattice.isOpen(start) ? new int[] {start} : IntStream.rangeClosed(Lattice.UP, Lattice.LEFT)
+                .map(direction -> lattice.neighbor(start, direction))
+                .filter(neighbor -> neighbor >= 0)
+                .toArray();
+        int seedCost = lattice.isOpen(start) ? 0 : 1;
+        int[] startDistances = new int[count];
+        int[] startSeeds = new int[count];
+        Arrays.fill(startDistances, INFINITY);
+        IntDeque startTargets = new IntDeque();
+        int direct = exit.contains(lattice, start) ? 0 : INFINITY;
+        int directSeed = start;
+        for (int seed : seeds) {
+            int cluster = clusters.clusterOf(seed);
+            clusters.bfs(cluster, new int[] {seed}, local, queue);
+            for (int i = clusterStart[cluster]; i < clusterStart[cluster + 1]; i++) {
+                int id = clusterMembers[i];
+                int distance = local[clusters.localIndex(nodes[id])];
+                if (distance >= 0 && distance + seedCost < startDistances[id]) {
+                    if (startDistances[id] == INFINITY) {
+                        startTargets.addLast(id);
+                    }
+                    startDistances[id] = distance + seedCost;
+                    startSeeds[id] = seed;
+                }
+            }
+            for (int cell : cellsIn(goalCells, cluster)) {
+                int distance = local[clusters.localIndex(cell)];
+                if (distance >= 0 && distance + seedCost < direct) {
+                    direct = distance + seedCost;
+                    directSeed = seed;
+                }
+            }
+        }
+
+        // A* over the entrances, with the start and the exit as two extra nodes
+        int[] distances = new int[count + 2];
+        int[] parents = new int[count + 2];
+        boolean[] closed = new boolean[count + 2];
+        Arrays.fill(distances, INFINITY);
+        LongMinHeap open = new LongMinHeap();
+        distances[startId] = 0;
+        open.add(entry(AStarSolver.heuristic(lattice, start, exit), startId));
+        int expanded = 0;
+        while (!open.isEmpty()) {
+            int current = (int) open.poll();
+            if (closed[current]) {
+                continue;
+            }
+            closed[current] = true;
+            expanded++;
+            if (current == goalId) {
+                break;
+            }
+            if (current == startId) {
+                for (int id : startTargets.toArray()) {
+                    relax(current, id, startDistances[id], distances, parents, open, exit);
+                }
+                relax(current, goalId, direct, distances, parents, open, exit);
+            } else {
+                for (int e = edgeStart[current]; e < edgeStart[current + 1]; e++) {
+                    relax(current, edgeTarget[e], edgeCost[e], distances, parents, open, exit);
+                }
+                relax(current, goalId, goalDistances[current], distances, parents, open, exit);
+            }
+        }
+        if (distances[goalId] >= INFINITY) {
+            return new SolveResult(new int[0], expanded, System.nanoTime() - started);
+        }
+
+        IntDeque route = new IntDeque();
+        for (int id = goalId; id != startId; id = parents[id]) {
+            route.addLast(id);
+        }
+        IntDeque path = new IntDeque();
+        path.addLast(start);
+        int first = route.peekLast();
+        int position = first == goalId ? directSeed : startSeeds[first];
+        if (position != start) {
+            path.addLast(position);
+        }
+        while (!route.isEmpty()) {
+            int next = route.pollLast();
+            int cluster = clusters.clusterOf(position);
+            if (next == goalId) {
+                if (exit.contains(lattice, position)) {
+                    break;
+                }
+                clusters.bfs(cluster, cellsIn(goalCells, cluster), local, queue);
+                position = clusters.walk(position, cluster, local, path);
+            } else if (clusters.clusterOf(nodes[next]) != cluster) {
+                position = nodes[next];
+                path.addLast(position);
+            } else {
+                clusters.bfs(cluster, new int[] {nodes[next]}, local, queue);
+                position = clusters.walk(position, cluster, local, path);
+            }
+        }
+        return new SolveResult(path.toArray(), expanded, System.nanoTime() - started);
+    }
+
+    /**
+     * Gets the lattice the abstraction was built on.
+     *
+     * @return The lattice.
+     */
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    /**
+     * Gets the number of entrances, the nodes of the abstract graph.
+     *
+     * @return The number of abstract nodes.
+     */
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * Gets the number of directed edges of the abstract graph.
+     *
+     * @return The number of edges.
+     */
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    /**
+     * Gets the width and height of a cluster.
+     *
+     * @return The cluster size in lattice positions.
+     */
+    public int getClusterSize() {
+        return clusters.size;
+    }
+
+    /**
+     * Finds the cost between every pair of entrances of a cluster.
+     *
+     * @return The edges as (from, to, cost) triples of abstract node IDs.
+     */
+    private int[] intraEdges(int cluster) {
+        int from = clusterStart[cluster];
+        int to = clusterStart[cluster + 1];
+        int[] local = new int[clusters.size * clusters.size];
+        IntDeque queue = new IntDeque();
+        IntDeque triples = new IntDeque();
+        for (int i = from; i < to; i++) {
+            int source = clusterMembers[i];
+            clusters.bfs(cluster, new int[] {nodes[source]}, local, queue);
+            for (int j = from; j < to; j++) {
+                int target = clusterMembers[j];
+                int distance = local[clusters.localIndex(nodes[target])];
+                if (target != source && distance > 0) {
+                    triples.addLast(source);
+                    triples.addLast(target);
+                    triples.addLast(distance);
+                }
+            }
+        }
+        return triples.toArray();
+    }
+
+    /**
+     * Offers a shorter route to an abstract node during the A* search.
+     */
+    private void relax(int from, int to, int cost, int[] distances, int[] parents, LongMinHeap open, ExitZone exit) {
+        if (cost >= INFINITY) {
+            return;
+        }
+        int distance = distances[from] + cost;
+        if (distance < distances[to]) {
+            distances[to] = distance;
+            parents[to] = from;
+            int estimate = to < nodes.length ? AStarSolver.heuristic(lattice, nodes[to], exit) : 0;
+            open.add(entry(distance + estimate, to));
+        }
+    }
+
+    /**
+     * Picks out the cells that lie in one cluster.
+     */
+    private int[] cellsIn(int[] cells, int cluster) {
+        return IntStream.of(cells).filter(cell -> clusters.clusterOf(cell) == cluster).toArray();
+    }
+
+    /**
+     * Rejects a lazy lattice, since the abstraction's queries read it from several threads.
+     */
+    private static void requireCheckedUpFront(Lattice lattice) {
+        if (lattice.isLazy()) {
+            throw new IllegalArgumentException("The lattice must be checked up front to be shared between threads");
+        }
+    }
+
+    /**
+     * Writes the description of a lattice and cluster size, which a saved abstraction must match.
+     */
+    private static void putLatticeHeader(ByteBuffer buffer, Lattice lattice, int clusterSize) {
+        buffer.putInt(lattice.xOf(0))
+                .putInt(lattice.yOf(0))
+                .putInt(lattice.getStep())
+                .putInt(lattice.getFootprintWidth())
+                .putInt(lattice.getFootprintHeight())
+                .putInt(lattice.getCols())
+                .putInt(lattice.getRows())
+                .putInt(clusterSize);
+    }
+
+    /**
+     * Packs a priority and an abstract node ID into one queue entry.
+     */
+    private static long entry(int priority, int id) {
+        return ((long) priority << 32) | id;
+    }
+
+    /**
+     * The partition of a lattice into square clusters, and searches confined to one cluster.
+     */
+    private static final class Clusters {
+        /** The lattice being partitioned. */
+        private final Lattice lattice;
+
+        /** The width and height of a cluster in lattice positions. */
+        private final int size;
+
+        /** The number of clusters across the lattice. */
+        private final int clusterCols;
+
+        /** The number of clusters down the lattice. */
+        private final int clusterRows;
+
+        Clusters(Lattice lattice, int size) {
+            this.lattice = lattice;
+            this.size = size;
+            this.clusterCols = (lattice.getCols() + size - 1) / size;
+            this.clusterRows = (lattice.getRows() + size - 1) / size;
+        }
+
+        int count() {
+            return clusterCols * clusterRows;
+        }
+
+        int clusterOf(int node) {
+            int cols = lattice.getCols();
+            return (node / cols / size) * clusterCols + (node % cols) / size;
+        }
+
+        int localIndex(int node) {
+            int cols = lattice.getCols();
+            return (node / cols % size) * size + (node % cols) % size;
+        }
+
+        /**
+         * Finds the entrances on the right and bottom borders of a cluster.
+         *
+         * @return The entrances as (inside, outside) pairs of lattice nodes.
+         */
+        int[] findTransitions(int cluster) {
+            int cols = lattice.getCols();
+            int rows = lattice.getRows();
+            int firstCol = cluster % clusterCols * size;
+            int firstRow = cluster / clusterCols * size;
+            int lastCol = Math.min(firstCol + size, cols) - 1;
+            int lastRow = Math.min(firstRow + size, rows) - 1;
+            IntDeque pairs = new IntDeque();
+            if (lastCol + 1 < cols) {
+                scanBorder(firstRow * cols + lastCol, cols, lastRow - firstRow + 1, 1, pairs);
+            }
+            if (lastRow + 1 < rows) {
+                scanBorder(lastRow * cols + firstCol, 1, lastCol - firstCol + 1, cols, pairs);
+            }
+            return pairs.toArray();
+        }
+
+        /**
+         * Splits one border into runs of open pairs and adds one entrance per short run,
+         * or one at each end of a long run.
+         */
+        private void scanBorder(int first, int stride, int length, int across, IntDeque pairs) {
+            int runStart = -1;
+            for (int i = 0; i <= length; i++) {
+                int inside = first + i * stride;
+                boolean open = i < length && lattice.isOpen(inside) && lattice.isOpen(inside + across);
+                if (open && runStart < 0) {
+                    runStart = i;
+                } else if (!open && runStart >= 0) {
+                    int runLength = i - runStart;
+                    if (runLength < SPLIT_RUN_LENGTH) {
+                        int middle = first + (runStart + runLength / 2) * stride;
+                        pairs.addLast(middle);
+                        pairs.addLast(middle + across);
+                    } else {
+                        int head = first + runStart * stride;
+                        int tail = first + (i - 1) * stride;
+                        pairs.addLast(head);
+                        pairs.addLast(head + across);
+                        pairs.addLast(tail);
+                        pairs.addLast(tail + across);
+                    }
+                    runStart = -1;
+                }
+            }
+        }
+
+        /**
+         * Runs a breadth-first search from the sources without leaving a cluster.
+         *
+         * @param local Receives the distance of each position of the cluster, or -1 if unreached.
+         */
+        void bfs(int cluster, int[] sources, int[] local, IntDeque queue) {
+            Arrays.fill(local, -1);
+            queue.clear();
+            for (int source : sources) {
+                local[localIndex(source)] = 0;
+                queue.addLast(source);
+            }
+            while (!queue.isEmpty()) {
+                int current = queue.pollFirst();
+                int next = local[localIndex(current)] + 1;
+                for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                    int neighbor = lattice.neighbor(current, direction);
+                    if (neighbor >= 0 && clusterOf(neighbor) == cluster && local[localIndex(neighbor)] < 0) {
+                        local[localIndex(neighbor)] = next;
+                        queue.addLast(neighbor);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Walks down the distances of a search inside a cluster until a source is reached.
+         *
+         * @param from The position to walk from.
+         * @param path Receives each position after the first.
+         * @return The source reached.
+         */
+        int walk(int from, int cluster, int[] local, IntDeque path) {
+            int current = from;
+            while (local[localIndex(current)] != 0) {
+                int best = -1;
+                for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                    int neighbor = lattice.neighbor(current, direction);
+                    if (neighbor >= 0 && clusterOf(neighbor) == cluster && local[localIndex(neighbor)] >= 0
+                            && (best < 0 || local[localIndex(neighbor)] < local[localIndex(best)])) {
+                        best = neighbor;
+                    }
+                }
+                if (best < 0) {
+                    throw new IllegalStateException("No route inside cluster " + cluster);
+                }
+                current = best;
+                path.addLast(current);
+            }
+            return current;
+        }
+    }
+}
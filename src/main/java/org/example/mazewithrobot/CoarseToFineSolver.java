@@ -0,0 +1,151 @@
+package org.example.mazewithrobot;
+
+/**
+ * Solves a maze in two passes: a breadth-first search on a lattice with positions several steps apart,
+ * then a breadth-first search of the fine lattice restricted to a band around the coarse path.
+ * The coarse pass sees a fraction of the positions, and the fine pass only those along one corridor,
+ * so a fine lattice on a maze with wide corridors costs little more than a coarse one.
+ * Coarse moves {@link Lattice#sweepsMoves() sweep} the footprint, so the coarse path never jumps a wall
+ * and the band always holds a fine path along it. The path is shortest within the band,
+ * which is close to shortest overall.
+ * If a passage is too narrow for the coarse lattice, or the band too narrow for the fine path,
+ * the whole fine lattice is searched instead. That happens when the footprint fits in the corridors
+ * at only some alignments, as on the bundled maze.png, where the coarse pass gives up after a few positions.
+ * Reuses its buffers between solves, so an instance must not be shared between threads.
+ */
+public class CoarseToFineSolver implements MazeSolver {
+    /** The number of fine steps between coarse positions unless set otherwise. */
+    public static final int DEFAULT_FACTOR = 4;
+
+    /** The number of fine steps between coarse positions. */
+    private final int factor;
+
+    /** The solver for the coarse pass. */
+    private final BreadthFirstSolver coarseSolver = new BreadthFirstSolver();
+
+    /** The solver used when the coarse pass does not lead to a path. */
+    private final BreadthFirstSolver fallbackSolver = new BreadthFirstSolver();
+
+    /** The buffers of the fine pass, with {@link SearchWorkspace#closed} holding the band. */
+    private final SearchWorkspace workspace = new SearchWorkspace();
+
+    /** The listener told about the search's progress, or null for none. */
+    private SearchListener listener;
+
+    /**
+     * Constructs a solver whose coarse positions are {@value #DEFAULT_FACTOR} steps apart.
+     */
+    public CoarseToFineSolver() {
+        this(DEFAULT_FACTOR);
+    }
+
+    /**
+     * Constructs a solver with a given distance between coarse positions.
+     *
+     * @param factor The number of fine steps between coarse positions, at least 2.
+     */
+    public CoarseToFineSolver(int factor) {
+        if (factor < 2) {
+            throw new IllegalArgumentException("Factor must be at least 2: " + factor);
+        }
+        this.factor = factor;
+    }
+
+    @Override
+    public SolveResult solve(Lattice lattice, int start, ExitZone exit) {
+        long started = System.nanoTime();
+        Lattice coarse = lattice.coarsen(factor, start);
+        int coarseStep = coarse.getStep();
+        // Coarse positions may all lie just outside the exit zone, so aim a step wider
+        ExitZone coarseExit = new ExitZone(exit.x(), exit.y(), exit.range() + coarseStep);
+        SolveResult coarsePath = coarseSolver.solve(coarse,
+                coarse.nodeAt(lattice.xOf(start), lattice.yOf(start)), coarseExit);
+        int expanded = coarsePath.getNodesExpanded();
+
+        if (coarsePath.isFound()) {
+            workspace.prepare(lattice.size());
+            markBand(lattice, coarse, coarsePath.getPath(), exit);
+            SolveResult fine = searchBand(lattice, start, exit, expanded, started);
+            if (fine.isFound()) {
+                return fine;
+            }
+            expanded = fine.getNodesExpanded();
+        }
+        SolveResult full = fallbackSolver.solve(lattice, start, exit);
+        return new SolveResult(full.getPath(), expanded + full.getNodesExpanded(), System.nanoTime() - started);
+    }
+
+    /**
+     * Marks the fine positions within one coarse step of the coarse path, and those at the exit.
+     *
+     * @param lattice The fine lattice.
+     * @param coarse The coarse lattice.
+     * @param path The coarse path.
+     * @param exit The exit zone.
+     */
+    private void markBand(Lattice lattice, Lattice coarse, int[] path, ExitZone exit) {
+        NodeSet band = workspace.closed;
+        int cols = lattice.getCols();
+        int rows = lattice.getRows();
+        for (int coarseNode : path) {
+            int node = lattice.nodeAt(coarse.xOf(coarseNode), coarse.yOf(coarseNode));
+            int col = node % cols;
+            int row = node / cols;
+            for (int r = Math.max(0, row - factor); r <= Math.min(rows - 1, row + factor); r++) {
+                for (int c = Math.max(0, col - factor); c <= Math.min(cols - 1, col + factor); c++) {
+                    band.add(r * cols + c);
+                }
+            }
+        }
+        for (int node : exit.openNodes(lattice)) {
+            band.add(node);
+        }
+    }
+
+    /**
+     * Runs a breadth-first search of the fine lattice that only enters positions in the band.
+     *
+     * @param lattice The fine lattice.
+     * @param start The start node.
+     * @param exit The exit zone.
+     * @param expanded The number of nodes expanded so far.
+     * @param started The value of System.nanoTime() when the solve started.
+     * @return The path found, or an empty result if the band holds no path.
+     */
+    private SolveResult searchBand(Lattice lattice, int start, ExitZone exit, int expanded, long started) {
+        NodeSet band = workspace.closed;
+        NodeSet visited = workspace.seen;
+        int[] parents = workspace.parents;
+        IntDeque queue = workspace.queue;
+        queue.addLast(start);
+        visited.add(start);
+        if (listener != null) listener.discovered(lattice, start);
+        int goal = -1;
+
+        while (!queue.isEmpty()) {
+            int current = queue.pollFirst();
+            expanded++;
+            if (listener != null) listener.expanded(lattice, current);
+            if (exit.contains(lattice, current)) {
+                goal = current;
+                break;
+            }
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int neighbor = lattice.neighbor(current, direction);
+                if (neighbor >= 0 && band.contains(neighbor) && visited.add(neighbor)) {
+                    parents[neighbor] = current;
+                    queue.addLast(neighbor);
+                    if (listener != null) listener.discovered(lattice, neighbor);
+                }
+            }
+        }
+        return SolveResult.fromParents(parents, start, goal, expanded, started);
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+        coarseSolver.setSearchListener(listener);
+        fallbackSolver.setSearchListener(listener);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.mazewithrobot;
+
+/**
+ * Answers whether an agent's rectangular footprint fits on the path of a maze.
+ */
+public interface CollisionMap {
+
+    /**
+     * Checks if every pixel of a rectangle is on the path.
+     *
+     * @param x The x-coordinate of the top-left corner.
+     * @param y The y-coordinate of the top-left corner.
+     * @param footprintWidth The width of the rectangle in pixels.
+     * @param footprintHeight The height of the rectangle in pixels.
+     * @return True if the rectangle lies inside the maze and contains no blocked pixel, false otherwise.
+     */
+    boolean isClear(int x, int y, int footprintWidth, int footprintHeight);
+
+    /**
+     * Gets the width of the maze.
+     *
+     * @return The width in pixels.
+     */
+    int getWidth();
+
+    /**
+     * Gets the height of the maze.
+     *
+     * @return The height in pixels.
+     */
+    int getHeight();
+
+    /**
+     * Gets the content hash of the maze being checked, as {@link MazeGrid#contentHash()},
+     * so that structures derived from a lattice over it can be cached per maze.
+     *
+     * @return The 64-bit hash of the maze.
+     */
+    long contentHash();
+}
@@ -0,0 +1,58 @@
+package org.example.mazewithrobot;
+
+/**
+ * Solves a maze with the depth-first search the robot and car have always used:
+ * take the first unvisited neighbour in up/right/down/left order, and backtrack at dead ends.
+ * Reuses its buffers between solves, so an instance must not be shared between threads.
+ */
+public class DepthFirstSolver implements MazeSolver {
+    /** The buffers reused between solves. */
+    private final SearchWorkspace workspace = new SearchWorkspace();
+
+    /** The listener told about the search's progress, or null for none. */
+    private SearchListener listener;
+
+    @Override
+    public SolveResult solve(Lattice lattice, int start, ExitZone exit) {
+        long started = System.nanoTime();
+        workspace.prepare(lattice.size());
+        NodeSet visited = workspace.seen;
+        IntDeque path = workspace.queue;
+        path.addLast(start);
+        visited.add(start);
+        if (listener != null) listener.expanded(lattice, start);
+        int expanded = 1;
+        int backtracks = 0;
+
+        while (!path.isEmpty()) {
+            int current = path.peekLast();
+            if (exit.contains(lattice, current)) {
+                break;
+            }
+            int next = -1;
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int neighbor = lattice.neighbor(current, direction);
+                if (neighbor >= 0 && !visited.contains(neighbor)) {
+                    next = neighbor;
+                    break;
+                }
+            }
+            if (next >= 0) {
+                path.addLast(next);
+                visited.add(next);
+                expanded++;
+                if (listener != null) listener.expanded(lattice, next);
+            } else {
+                path.pollLast();
+                backtracks++;
+            }
+        }
+        SolverMetrics.shared().backtracks(backtracks);
+        return new SolveResult(path.toArray(), expanded, System.nanoTime() - started);
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+}
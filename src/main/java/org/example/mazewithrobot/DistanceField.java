@@ -0,0 +1,161 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * The number of moves from every lattice position to the exit, from one breadth-first search
+ * run backwards from the exit zone. From any position the next move of a shortest path is then
+ * a constant-time step to the neighbour with the lower distance, so re-planning after the agent
+ * is moved by hand costs nothing. Distances are stored as shorts when the lattice is small
+ * enough, and as ints otherwise.
+ * Once built, a field only reads its distances and the lattice's geometry, never the lattice's
+ * lazily checked positions, so one field can be shared by every agent through {@link DistanceFieldCache}.
+ */
+public final class DistanceField {
+    /** The distance of a position from which the exit cannot be reached. */
+    public static final int UNREACHABLE = -1;
+
+    /** The lattice the distances refer to. */
+    private final Lattice lattice;
+
+    /** The distances by node ID, if the lattice has fewer nodes than Short.MAX_VALUE; otherwise null. */
+    private final short[] shortDistances;
+
+    /** The distances by node ID, if the lattice is too large for shorts; otherwise null. */
+    private final int[] intDistances;
+
+    /** The number of positions from which the exit can be reached. */
+    private final int reachable;
+
+    /**
+     * Computes the distance field of a lattice by searching backwards from the exit.
+     *
+     * @param lattice The lattice of positions the agent can occupy.
+     * @param exit The exit zone, whose open positions have distance 0.
+     */
+    public DistanceField(Lattice lattice, ExitZone exit) {
+        this.lattice = lattice;
+        int size = lattice.size();
+        if (size < Short.MAX_VALUE) {
+            this.shortDistances = new short[size];
+            this.intDistances = null;
+            Arrays.fill(shortDistances, (short) UNREACHABLE);
+        } else {
+            this.shortDistances = null;
+            this.intDistances = new int[size];
+            Arrays.fill(intDistances, UNREACHABLE);
+        }
+
+        IntDeque queue = new IntDeque();
+        for (int node : exit.openNodes(lattice)) {
+            setDistance(node, 0);
+            queue.addLast(node);
+        }
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int current = queue.pollFirst();
+            count++;
+            int next = distanceTo(current) + 1;
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int neighbor = lattice.neighbor(current, direction);
+                if (neighbor >= 0 && distanceTo(neighbor) == UNREACHABLE) {
+                    setDistance(neighbor, next);
+                    queue.addLast(neighbor);
+                }
+            }
+        }
+        this.reachable = count;
+    }
+
+    /**
+     * Gets the number of moves from a position to the exit.
+     *
+     * @param node The node ID.
+     * @return The number of moves, 0 inside the exit zone, or UNREACHABLE.
+     *         Positions where the footprint does not fit are always UNREACHABLE.
+     */
+    public int distanceTo(int node) {
+        return shortDistances != null ? shortDistances[node] : intDistances[node];
+    }
+
+    /**
+     * Gets the next position on a shortest path to the exit.
+     * This also works from a position where the footprint does not fully fit,
+     * such as a start position squeezed against a wall, by stepping to its closest open neighbour.
+     *
+     * @param node The node ID.
+     * @return The neighbouring node to move to, or -1 if the position is at the exit
+     *         or the exit cannot be reached from it.
+     */
+    public int nextStep(int node) {
+        if (distanceTo(node) == 0) {
+            return -1;
+        }
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            // Positions the footprint does not fit on are unreachable, so the lattice need not be asked
+            int neighbor = lattice.adjacent(node, direction);
+            if (neighbor >= 0) {
+                int distance = distanceTo(neighbor);
+                if (distance != UNREACHABLE && distance < bestDistance) {
+                    best = neighbor;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Follows the field from a position to the exit.
+     *
+     * @param node The node to start from.
+     * @return The nodes from the start to the exit, or an empty array if the exit cannot be reached.
+     */
+    public int[] pathFrom(int node) {
+        if (distanceTo(node) == 0) {
+            return new int[] {node};
+        }
+        int first = nextStep(node);
+        if (first < 0) {
+            return new int[0];
+        }
+        int[] path = new int[distanceTo(first) + 2];
+        path[0] = node;
+        path[1] = first;
+        for (int i = 2; i < path.length; i++) {
+            path[i] = nextStep(path[i - 1]);
+        }
+        return path;
+    }
+
+    /**
+     * Gets the lattice the distances refer to.
+     *
+     * @return The lattice.
+     */
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    /**
+     * Gets the number of positions from which the exit can be reached.
+     *
+     * @return The number of reachable positions.
+     */
+    public int getReachable() {
+        return reachable;
+    }
+
+    /**
+     * Stores the distance of a position.
+     */
+    private void setDistance(int node, int distance) {
+        if (shortDistances != null) {
+            shortDistances[node] = (short) distance;
+        } else {
+            intDistances[node] = distance;
+        }
+    }
+}
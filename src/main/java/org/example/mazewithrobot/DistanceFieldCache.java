@@ -0,0 +1,82 @@
+package org.example.mazewithrobot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of {@link DistanceField}s, keyed by the maze's content, the exit zone,
+ * the agent's footprint and step, and the alignment of the lattice.
+ * Every agent of the same size heading for the same exit shares one field,
+ * so a swarm pays for a single backward search per maze instead of one per agent.
+ */
+public final class DistanceFieldCache {
+    /** The number of fields kept by the shared cache. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The cache used by agents. */
+    private static final DistanceFieldCache SHARED = new DistanceFieldCache(DEFAULT_CAPACITY);
+
+    /** The cached fields in least-recently-used order; guarded by {@code this}. */
+    private final Map<Key, DistanceField> entries;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity The number of fields to keep before evicting the least recently used.
+     */
+    public DistanceFieldCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, DistanceField> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache shared by the whole application.
+     *
+     * @return The shared cache.
+     */
+    public static DistanceFieldCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets the distance field of a lattice, computing it on the given lattice and caching it on first use.
+     * The field is computed outside the lock, so lookups of other fields are not blocked.
+     * On a hit the field returned refers to the lattice it was first computed on,
+     * which has the same positions as the one given.
+     *
+     * @param grid The walkability grid of the maze the lattice was built on.
+     * @param lattice The lattice of positions the agent can occupy.
+     * @param anchorX The x-coordinate of a position on the lattice.
+     * @param anchorY The y-coordinate of a position on the lattice.
+     * @param exit The exit zone.
+     * @return The distance field.
+     */
+    public DistanceField get(MazeGrid grid, Lattice lattice, int anchorX, int anchorY, ExitZone exit) {
+        int step = lattice.getStep();
+        Key key = new Key(grid.contentHash(), grid.getWidth(), grid.getHeight(), exit,
+                lattice.getFootprintWidth(), lattice.getFootprintHeight(), step,
+                Math.floorMod(anchorX, step), Math.floorMod(anchorY, step));
+        synchronized (this) {
+            DistanceField cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DistanceField computed = new DistanceField(lattice, exit);
+        synchronized (this) {
+            DistanceField raced = entries.putIfAbsent(key, computed);
+            return raced != null ? raced : computed;
+        }
+    }
+
+    /**
+     * Identifies a distance field by its maze, exit, footprint, step and lattice alignment.
+     */
+    private record Key(long contentHash, int width, int height, ExitZone exit,
+                       int footprintWidth, int footprintHeight, int step, int originX, int originY) {
+    }
+}
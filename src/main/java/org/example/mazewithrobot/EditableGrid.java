@@ -0,0 +1,129 @@
+package org.example.mazewithrobot;
+
+/**
+ * A walkability grid whose pixels can be opened and closed while agents are in the maze.
+ * It starts as a copy of another grid. Its content hash is recomputed on first use after an edit,
+ * so caches keyed by content see an edited maze as a different maze.
+ * Not thread-safe: it must be edited and read by one thread at a time, such as an agent's chain
+ * of searches and edits; other threads should read a {@link #snapshot} taken after the edits.
+ */
+public final class EditableGrid implements MazeGrid {
+    /** The width of the grid in pixels. */
+    private final int width;
+
+    /** The height of the grid in pixels. */
+    private final int height;
+
+    /** The number of 64-bit words used to store one row. */
+    private final int wordsPerRow;
+
+    /** The packed walkability bits, row by row. */
+    private final long[] bits;
+
+    /** The content hash, valid while hashValid is set. */
+    private long contentHash;
+
+    /** Flag indicating whether contentHash matches the current bits. */
+    private boolean hashValid;
+
+    /**
+     * Constructs an editable copy of a grid.
+     *
+     * @param source The grid to copy.
+     */
+    public EditableGrid(MazeGrid source) {
+        this.width = source.getWidth();
+        this.height = source.getHeight();
+        this.wordsPerRow = WalkabilityGrid.wordsPerRow(width);
+        this.bits = new long[wordsPerRow * height];
+        for (int y = 0; y < height; y++) {
+            for (int index = 0; index < wordsPerRow; index++) {
+                bits[y * wordsPerRow + index] = source.word(y, index);
+            }
+        }
+        this.contentHash = source.contentHash();
+        this.hashValid = true;
+    }
+
+    /**
+     * Opens or closes every pixel of a rectangle; the parts outside the grid are ignored.
+     *
+     * @param x The x-coordinate of the top-left corner.
+     * @param y The y-coordinate of the top-left corner.
+     * @param rectWidth The width of the rectangle in pixels.
+     * @param rectHeight The height of the rectangle in pixels.
+     * @param walkable True to make the pixels path, false to make them wall.
+     */
+    public void setWalkable(int x, int y, int rectWidth, int rectHeight, boolean walkable) {
+        int left = Math.max(0, x);
+        int right = Math.min(width, x + rectWidth) - 1;
+        int top = Math.max(0, y);
+        int bottom = Math.min(height, y + rectHeight) - 1;
+        if (left > right || top > bottom) {
+            return;
+        }
+        for (int row = top; row <= bottom; row++) {
+            for (int index = left >>> 6; index <= right >>> 6; index++) {
+                long mask = -1L;
+                if (index == left >>> 6) {
+                    mask &= -1L << left;
+                }
+                if (index == right >>> 6) {
+                    mask &= -1L >>> (63 - (right & 63));
+                }
+                int word = row * wordsPerRow + index;
+                bits[word] = walkable ? bits[word] | mask : bits[word] & ~mask;
+            }
+        }
+        hashValid = false;
+    }
+
+    /**
+     * Copies the current content into an immutable grid, which any thread may read.
+     * The copy's content hash also becomes this grid's, so it is not computed a second time.
+     *
+     * @return The copy.
+     */
+    public WalkabilityGrid snapshot() {
+        WalkabilityGrid snapshot = new WalkabilityGrid(width, height, bits.clone());
+        contentHash = snapshot.contentHash();
+        hashValid = true;
+        return snapshot;
+    }
+
+    @Override
+    public long word(int y, int index) {
+        return bits[y * wordsPerRow + index];
+    }
+
+    @Override
+    public boolean isWalkable(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    @Override
+    public long contentHash() {
+        if (!hashValid) {
+            long h = WalkabilityGrid.hashSeed(width, height);
+            for (long word : bits) {
+                h = WalkabilityGrid.hashWord(h, word);
+            }
+            contentHash = WalkabilityGrid.hashFinish(h);
+            hashValid = true;
+        }
+        return contentHash;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,358 @@
+package org.example.mazewithrobot;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A structured event log written as JSON lines, one object per event, by a background thread.
+ * Logging an event only puts it in a bounded ring buffer, so agents and solvers never wait on I/O;
+ * if the writer falls behind, new events are dropped and counted rather than blocking.
+ * An event below the log's level costs one branch, and callers building fields for frequent events
+ * should check {@link #isEnabled(Level)} first so the fields are not built at all.
+ * <p>
+ * The shared log writes events at {@code INFO} and above to standard output. The
+ * {@code mazewithrobot.logLevel} system property changes the level, and {@code mazewithrobot.logFile}
+ * names a file to append to instead.
+ */
+public final class EventLog {
+    /** The system property naming the lowest level that is logged. */
+    public static final String LEVEL_PROPERTY = "mazewithrobot.logLevel";
+
+    /** The system property naming the file the shared log appends to. */
+    public static final String FILE_PROPERTY = "mazewithrobot.logFile";
+
+    /** The number of events the ring buffer holds; a power of two. */
+    private static final int CAPACITY = 1 << 14;
+
+    /** How long the writer sleeps when there is nothing to write, in nanoseconds. */
+    private static final long IDLE_NANOS = 10_000_000;
+
+    /** The log used by the whole application. */
+    private static final EventLog SHARED = createShared();
+
+    /**
+     * The severity of an event.
+     */
+    public enum Level {
+        TRACE, DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    /** The lowest level that is logged. */
+    private final Level level;
+
+    /** The events waiting to be written; a slot is null once written. */
+    private final AtomicReferenceArray<Event> ring = new AtomicReferenceArray<>(CAPACITY);
+
+    /** The sequence number of the next event to be logged. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** The sequence number of the next event to be written. */
+    private final AtomicLong head = new AtomicLong();
+
+    /** The number of events dropped because the ring buffer was full. */
+    private final LongAdder dropped = new LongAdder();
+
+    /** Where the events are written; only used by the writer thread. */
+    private final Writer out;
+
+    /** The thread writing the events. */
+    private final Thread writer;
+
+    /**
+     * Constructs a log and starts its writer thread.
+     *
+     * @param level The lowest level to log.
+     * @param out Where to write the events; it is flushed whenever the ring buffer empties.
+     */
+    public EventLog(Level level, Writer out) {
+        this.level = level;
+        this.out = out;
+        this.writer = new Thread(this::drainForever, "event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Gets the log shared by the whole application.
+     *
+     * @return The shared log.
+     */
+    public static EventLog shared() {
+        return SHARED;
+    }
+
+    /**
+     * Checks whether events of a level are logged.
+     *
+     * @param level The level.
+     * @return True if events of that level are written.
+     */
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= this.level.ordinal();
+    }
+
+    /**
+     * Logs a fine-grained event, such as one step of a search.
+     *
+     * @param event The name of the event.
+     * @param fields The event's fields, as alternating names and values.
+     */
+    public void trace(String event, Object... fields) {
+        log(Level.TRACE, event, null, fields);
+    }
+
+    /**
+     * Logs an event useful when looking into a problem.
+     *
+     * @param event The name of the event.
+     * @param fields The event's fields, as alternating names and values.
+     */
+    public void debug(String event, Object... fields) {
+        log(Level.DEBUG, event, null, fields);
+    }
+
+    /**
+     * Logs an event in the normal course of things, such as a finished solve.
+     *
+     * @param event The name of the event.
+     * @param fields The event's fields, as alternating names and values.
+     */
+    public void info(String event, Object... fields) {
+        log(Level.INFO, event, null, fields);
+    }
+
+    /**
+     * Logs something that went wrong but was recovered from.
+     *
+     * @param event The name of the event.
+     * @param fields The event's fields, as alternating names and values.
+     */
+    public void warn(String event, Object... fields) {
+        log(Level.WARN, event, null, fields);
+    }
+
+    /**
+     * Logs a failure, with the exception that caused it.
+     *
+     * @param event The name of the event.
+     * @param error The exception, written with its stack trace.
+     * @param fields The event's fields, as alternating names and values.
+     */
+    public void error(String event, Throwable error, Object... fields) {
+        log(Level.ERROR, event, error, fields);
+    }
+
+    /**
+     * Puts an event in the ring buffer, or drops it if the buffer is full.
+     *
+     * @param level The level of the event.
+     * @param event The name of the event.
+     * @param error The exception that caused it, or null.
+     * @param fields The event's fields, as alternating names and values.
+     */
+    private void log(Level level, String event, Throwable error, Object[] fields) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Event entry = new Event(System.currentTimeMillis(), level, event, Thread.currentThread().getName(),
+                error, fields);
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() >= CAPACITY) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        ring.set((int) sequence & (CAPACITY - 1), entry);
+    }
+
+    /**
+     * Waits until every event logged so far has been written and flushed.
+     *
+     * @param timeoutMillis How long to wait at most, in milliseconds.
+     * @return True if everything was written in time.
+     */
+    public boolean flush(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        LockSupport.unpark(writer);
+        // The writer flushes its output before it goes back to sleep
+        while (head.get() < target || writer.getState() == Thread.State.RUNNABLE) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of events dropped because the writer fell behind.
+     *
+     * @return The number of events dropped.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes events as they arrive, for the life of the log.
+     */
+    private void drainForever() {
+        StringBuilder line = new StringBuilder(256);
+        long reportedDrops = 0;
+        while (true) {
+            Event event = ring.get((int) head.get() & (CAPACITY - 1));
+            try {
+                if (event == null) {
+                    long drops = dropped.sum();
+                    if (drops != reportedDrops) {
+                        write(line, new Event(System.currentTimeMillis(), Level.WARN, "log.dropped",
+                                writer.getName(), null, new Object[] {"count", drops - reportedDrops}));
+                        reportedDrops = drops;
+                    }
+                    out.flush();
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                    continue;
+                }
+                write(line, event);
+            } catch (IOException e) {
+                // Nowhere left to report it; keep draining so producers are not blocked
+            }
+            if (event != null) {
+                ring.set((int) head.get() & (CAPACITY - 1), null);
+                head.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Writes one event as a line of JSON.
+     *
+     * @param line A buffer to build the line in.
+     * @param event The event.
+     * @throws IOException If the line cannot be written.
+     */
+    private void write(StringBuilder line, Event event) throws IOException {
+        line.setLength(0);
+        line.append("{\"time\":\"").append(Instant.ofEpochMilli(event.millis()))
+                .append("\",\"level\":\"").append(event.level())
+                .append("\",\"event\":");
+        appendString(line, event.name());
+        line.append(",\"thread\":");
+        appendString(line, event.thread());
+        Object[] fields = event.fields();
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            line.append(',');
+            appendString(line, String.valueOf(fields[i]));
+            line.append(':');
+            appendValue(line, fields[i + 1]);
+        }
+        if (event.error() != null) {
+            StringWriter trace = new StringWriter();
+            event.error().printStackTrace(new PrintWriter(trace));
+            line.append(",\"error\":");
+            appendString(line, trace.toString());
+        }
+        line.append("}\n");
+        out.append(line);
+    }
+
+    /**
+     * Appends a field value: numbers and booleans as they are, anything else as a string.
+     *
+     * @param line The line being built.
+     * @param value The value.
+     */
+    private static void appendValue(StringBuilder line, Object value) {
+        if (value instanceof Boolean
+                || value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof Double d && Double.isFinite(d) || value instanceof Float f && Float.isFinite(f)) {
+            line.append(value);
+        } else if (value == null) {
+            line.append("null");
+        } else {
+            appendString(line, value.toString());
+        }
+    }
+
+    /**
+     * Appends a string as a quoted JSON string.
+     *
+     * @param line The line being built.
+     * @param value The string.
+     */
+    private static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Creates the shared log from the system properties, writing whatever is left on exit.
+     *
+     * @return The shared log.
+     */
+    private static EventLog createShared() {
+        String levelName = System.getProperty(LEVEL_PROPERTY, Level.INFO.name());
+        Level level;
+        try {
+            level = Level.valueOf(levelName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level " + levelName + ", logging at INFO");
+            level = Level.INFO;
+        }
+        Writer out = null;
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null) {
+            try {
+                out = Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                System.err.println("Could not open the log file " + file + ": " + e.getMessage());
+            }
+        }
+        if (out == null) {
+            out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        }
+        EventLog log = new EventLog(level, out);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> log.flush(1_000), "event-log-flush"));
+        return log;
+    }
+
+    /**
+     * An event waiting to be written.
+     */
+    private record Event(long millis, Level level, String name, String thread, Throwable error, Object[] fields) {
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.mazewithrobot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Locates the openings in the border of a maze and picks the entrance and exit for an agent.
+ */
+public final class ExitFinder {
+    /** The minimum width of an opening in the maze. */
+    public static final int MIN_OPENING_WIDTH = 5;
+
+    /** How many pixels deep into the maze an opening must connect to the path. */
+    private static final int CHECK_DEPTH = 5;
+
+    private ExitFinder() {
+    }
+
+    /**
+     * Finds the entrance and exit of a maze for an agent.
+     * The entrance is the opening closest to the agent's starting position,
+     * and the exit is the remaining opening furthest from it.
+     *
+     * @param grid The walkability grid of the maze.
+     * @param start The agent's starting position.
+     * @return The entrance and exit of the maze.
+     * @throws IllegalStateException If the maze has fewer than two openings.
+     */
+    public static MazeExits locate(MazeGrid grid, Point start) {
+        return choose(MazeMetadataCache.shared().get(grid).openings(), start);
+    }
+
+    /**
+     * Picks the entrance and exit among the openings of a maze.
+     *
+     * @param openings The openings in the border of the maze.
+     * @param start The agent's starting position.
+     * @return The entrance and exit of the maze.
+     * @throws IllegalStateException If there are fewer than two openings.
+     */
+    public static MazeExits choose(List<Point> openings, Point start) {
+        if (openings.size() < 2) {
+            throw new IllegalStateException("Maze must have at least two openings, found: " + openings.size());
+        }
+        List<Point> candidates = new ArrayList<>(openings);
+        Point entrance = findClosestPoint(start, candidates);
+        candidates.remove(entrance);
+        Point exit = findFurthestPoint(start, candidates);
+        return new MazeExits(entrance, exit, openings);
+    }
+
+    /**
+     * Scans all four borders of a maze for openings.
+     * The borders are independent, so they are scanned in parallel.
+     *
+     * @param grid The walkability grid of the maze.
+     * @return The middle points of all openings, in top, bottom, left, right border order.
+     */
+    public static List<Point> findOpenings(MazeGrid grid) {
+        long started = System.nanoTime();
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        List<Supplier<List<Point>>> borders = List.of(
+                () -> findOpeningsOnBorder(grid, 0, width, 0, true),
+                () -> findOpeningsOnBorder(grid, 0, width, height - 1, true),
+                () -> findOpeningsOnBorder(grid, 0, height, 0, false),
+                () -> findOpeningsOnBorder(grid, 0, height, width - 1, false));
+        List<Point> openings = borders.parallelStream()
+                .flatMap(border -> border.get().stream())
+                .toList();
+        SolverMetrics.shared().recordExitDetection(System.nanoTime() - started);
+        return openings;
+    }
+
+    /**
+     * Finds openings on a specified border of the maze.
+     *
+     * @param grid The walkability grid of the maze.
+     * @param start The starting coordinate for the search.
+     * @param end The ending coordinate for the search.
+     * @param fixed The fixed coordinate (for the non-searching dimension).
+     * @param isHorizontal True if searching a horizontal border, false for vertical.
+     * @return A list of Points representing openings on the border.
+     */
+    static List<Point> findOpeningsOnBorder(MazeGrid grid, int start, int end, int fixed, boolean isHorizontal) {
+        List<Point> openings = new ArrayList<>();
+        int openingStart = -1;
+        int openingWidth = 0;
+
+        for (int i = start; i < end; i++) {
+            int x = isHorizontal ? i : fixed;
+            int y = isHorizontal ? fixed : i;
+
+            if (grid.isWalkable(x, y)) {
+                if (openingStart == -1) {
+                    openingStart = i;
+                }
+                openingWidth++;
+            } else {
+                if (openingWidth >= MIN_OPENING_WIDTH && isConnectedToPath(grid, openingStart, fixed, isHorizontal)) {
+                    int openingMiddle = openingStart + openingWidth / 2;
+                    Point opening = isHorizontal ? new Point(openingMiddle, y) : new Point(x, openingMiddle);
+                    openings.add(opening);
+                    traceOpening(opening, openingWidth);
+                }
+                openingStart = -1;
+                openingWidth = 0;
+            }
+        }
+
+        // Check if an opening ends at the border
+        if (openingWidth >= MIN_OPENING_WIDTH && isConnectedToPath(grid, openingStart, fixed, isHorizontal)) {
+            int openingMiddle = openingStart + openingWidth / 2;
+            Point opening = isHorizontal ? new Point(openingMiddle, fixed) : new Point(fixed, openingMiddle);
+            openings.add(opening);
+            traceOpening(opening, openingWidth);
+        }
+
+        return openings;
+    }
+
+    /**
+     * Logs an opening at trace level. Scanned mazes can have hundreds of candidate openings,
+     * so the event is not even built unless trace logging is on.
+     *
+     * @param opening The middle point of the opening.
+     * @param width The width of the opening in pixels.
+     */
+    private static void traceOpening(Point opening, int width) {
+        EventLog log = EventLog.shared();
+        if (log.isEnabled(EventLog.Level.TRACE)) {
+            log.trace("opening", "x", opening.x(), "y", opening.y(), "width", width);
+        }
+    }
+
+    /**
+     * Checks if a potential opening is connected to the maze path.
+     *
+     * @param grid The walkability grid of the maze.
+     * @param start The starting coordinate of the potential opening.
+     * @param fixed The fixed coordinate (for the non-searching dimension).
+     * @param isHorizontal True if checking a horizontal opening, false for vertical.
+     * @return True if the opening is connected to the maze path, false otherwise.
+     */
+    private static boolean isConnectedToPath(MazeGrid grid, int start, int fixed, boolean isHorizontal) {
+        for (int i = 1; i <= CHECK_DEPTH; i++) {
+            int x = isHorizontal ? start : fixed + (fixed == 0 ? i : -i);
+            int y = isHorizontal ? fixed + (fixed == 0 ? i : -i) : start;
+            if (x < 0 || x >= grid.getWidth() || y < 0 || y >= grid.getHeight()) {
+                return false;
+            }
+            if (grid.isWalkable(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the point closest to a reference point from a list of points.
+     *
+     * @param reference The reference point.
+     * @param points The list of points to search.
+     * @return The point closest to the reference point.
+     */
+    private static Point findClosestPoint(Point reference, List<Point> points) {
+        return points.stream()
+                .min(Comparator.comparingDouble(reference::distanceTo))
+                .orElseThrow(() -> new IllegalStateException("No points to compare"));
+    }
+
+    /**
+     * Finds the point furthest from a reference point from a list of points.
+     *
+     * @param reference The reference point.
+     * @param points The list of points to search.
+     * @return The point furthest from the reference point.
+     */
+    private static Point findFurthestPoint(Point reference, List<Point> points) {
+        return points.stream()
+                .max(Comparator.comparingDouble(reference::distanceTo))
+                .orElseThrow(() -> new IllegalStateException("No points to compare"));
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.mazewithrobot;
+
+import java.util.stream.IntStream;
+
+/**
+ * The area around a maze exit in which an agent counts as having left the maze.
+ *
+ * @param x The x-coordinate of the exit opening.
+ * @param y The y-coordinate of the exit opening.
+ * @param range The distance along each axis within which a position is at the exit.
+ */
+public record ExitZone(double x, double y, double range) {
+
+    /**
+     * Checks if a position is at the exit.
+     *
+     * @param px The x-coordinate of the position.
+     * @param py The y-coordinate of the position.
+     * @return True if the position is within range of the exit on both axes, false otherwise.
+     */
+    public boolean contains(double px, double py) {
+        return Math.abs(px - x) < range && Math.abs(py - y) < range;
+    }
+
+    /**
+     * Checks if a lattice node is at the exit.
+     *
+     * @param lattice The lattice the node belongs to.
+     * @param node The node ID.
+     * @return True if the node's position is at the exit, false otherwise.
+     */
+    public boolean contains(Lattice lattice, int node) {
+        return contains(lattice.xOf(node), lattice.yOf(node));
+    }
+
+    /**
+     * Lists the open lattice nodes inside the exit zone.
+     *
+     * @param lattice The lattice to look in.
+     * @return The IDs of the open nodes at the exit.
+     */
+    public int[] openNodes(Lattice lattice) {
+        int step = lattice.getStep();
+        int originX = lattice.xOf(0);
+        int originY = lattice.yOf(0);
+        int minCol = Math.max(0, (int) Math.floor((x - range - originX) / step));
+        int maxCol = Math.min(lattice.getCols() - 1, (int) Math.ceil((x + range - originX) / step));
+        int minRow = Math.max(0, (int) Math.floor((y - range - originY) / step));
+        int maxRow = Math.min(lattice.getRows() - 1, (int) Math.ceil((y + range - originY) / step));
+        return IntStream.rangeClosed(minRow, maxRow)
+                .flatMap(row -> IntStream.rangeClosed(minCol, maxCol).map(col -> row * lattice.getCols() + col))
+                .filter(node -> lattice.isOpen(node) && contains(lattice, node))
+                .toArray();
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.mazewithrobot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Solves a maze stored as a grid file from the command line, without a window,
+ * for mazes too large to load as an image. The grid is memory-mapped with {@link MappedGrid},
+ * so only the rows the search reaches are read from disk; the search itself still needs heap
+ * in proportion to the lattice, as described there. With {@link SolverStrategy#HPA_STAR} the maze's
+ * abstraction is saved next to the grid file, so later runs on the same maze only query it.
+ * <p>
+ * Usage: {@code GridSolveMain <grid file> <start x> <start y> [footprint] [step] [strategy]}
+ */
+public final class GridSolveMain {
+    /** The footprint used when none is given, the robot's size in pixels. */
+    private static final int DEFAULT_FOOTPRINT = 20;
+
+    /** The step used when none is given, in pixels. */
+    private static final int DEFAULT_STEP = 10;
+
+    /** The range within which the agent is considered to have reached the exit. */
+    private static final double EXIT_RANGE = 35;
+
+    private GridSolveMain() {
+    }
+
+    /**
+     * Solves the grid file named on the command line and prints the length of the path and the time taken.
+     *
+     * @param args The grid file, start position, and optionally the footprint, step and solver strategy.
+     * @throws IOException If the grid file cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: GridSolveMain <grid file> <start x> <start y> [footprint] [step] [strategy]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        MappedGrid grid = MappedGrid.open(file);
+        Point start = new Point(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        int footprint = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_FOOTPRINT;
+        int step = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_STEP;
+        SolverStrategy strategy = args.length > 5 ? SolverStrategy.valueOf(args[5]) : SolverStrategy.BFS;
+
+        MazeNavigator navigator = new MazeNavigator(grid, start, footprint, footprint, step, EXIT_RANGE);
+        navigator.setSolver(strategy == SolverStrategy.HPA_STAR
+                ? new HierarchicalSolver(ClusterGraph.fileFor(file)) : strategy.newSolver());
+        Route route = navigator.solve(start.x(), start.y());
+        SolveResult result = route.result();
+        if (route.isFound()) {
+            System.out.printf("%s: %d moves, %d nodes expanded, %.1f ms%n", strategy, route.length() - 1,
+                    result.getNodesExpanded(), result.getElapsedNanos() / 1e6);
+        } else {
+            System.out.printf("%s: no path, %d nodes expanded, %.1f ms%n", strategy,
+                    result.getNodesExpanded(), result.getElapsedNanos() / 1e6);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.mazewithrobot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Solves a maze with HPA*: A* over the entrances of the maze's {@link ClusterGraph}, then
+ * breadth-first searches inside only the clusters along the route found.
+ * The abstraction is built once per maze, footprint and step and shared by every solver and agent,
+ * so after the first solve a query costs a small fraction of a full search on a large maze.
+ * Given a file, the abstraction is loaded from it, or built and saved there, so it also survives restarts.
+ * Paths are within a few steps of the shortest.
+ * Keeps no state of its own between solves, so an instance may be shared between threads.
+ */
+public class HierarchicalSolver implements MazeSolver {
+    /** The abstractions built so far, shared by every instance. */
+    private static final LatticeCache<ClusterGraph> GRAPHS = new LatticeCache<>(8);
+
+    /** The file the abstraction is loaded from and saved to, or null to keep it in memory only. */
+    private final Path file;
+
+    /**
+     * Constructs a solver that keeps abstractions in memory only.
+     */
+    public HierarchicalSolver() {
+        this(null);
+    }
+
+    /**
+     * Constructs a solver that loads and saves the abstraction of its maze in a file,
+     * normally {@link ClusterGraph#fileFor} the maze file.
+     *
+     * @param file The abstraction file, or null to keep abstractions in memory only.
+     */
+    public HierarchicalSolver(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public SolveResult solve(Lattice lattice, int start, ExitZone exit) {
+        return GRAPHS.get(lattice, this::loadOrBuild).findPath(start, exit);
+    }
+
+    /**
+     * Loads the abstraction of a lattice from the file, or builds it and saves it there.
+     * A file that cannot be read or written is reported and the abstraction built in memory instead.
+     *
+     * @param lattice The lattice, checked up front.
+     * @return The abstraction.
+     */
+    private ClusterGraph loadOrBuild(Lattice lattice) {
+        if (file != null) {
+            try {
+                return ClusterGraph.loadOrBuild(file, lattice, lattice.getMazeHash(),
+                        ClusterGraph.DEFAULT_CLUSTER_SIZE);
+            } catch (IOException e) {
+                EventLog.shared().warn("hpa.fileFailed", "file", file, "reason", e.getMessage());
+            }
+        }
+        return ClusterGraph.build(lattice, ClusterGraph.DEFAULT_CLUSTER_SIZE);
+    }
+}
@@ -0,0 +1,241 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * Plans shortest paths to the exit with D* Lite, repairing the previous search when the maze
+ * changes or the agent moves instead of starting over. The search runs backwards from the exit,
+ * so the distances it keeps stay valid as the agent walks along the path; when positions are
+ * opened or closed, only the nodes whose distance to the exit changes are expanded again.
+ * An instance belongs to one lattice and one agent, and must not be shared between threads.
+ */
+public final class IncrementalPlanner {
+    /** The cost of a position from which the exit cannot be reached. */
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    /** The lattice being planned on. */
+    private final Lattice lattice;
+
+    /** The exit zone to reach. */
+    private final ExitZone exit;
+
+    /** The settled number of moves from each node to the exit. */
+    private final int[] g;
+
+    /** The one-step lookahead of g: one more than the best open neighbour's g. */
+    private final int[] rhs;
+
+    /** The nodes whose g and rhs disagree, keyed by (estimate, g) packed into a long. */
+    private final IndexedMinHeap queue;
+
+    /** The agent's current node. */
+    private int start;
+
+    /** The node the agent was on when the keys were last adjusted. */
+    private int last;
+
+    /** How far the heuristic has drifted since the search began, added to every new key. */
+    private int keyModifier;
+
+    /** The number of nodes expanded by the current call to plan(). */
+    private int expanded;
+
+    /**
+     * Constructs a planner and seeds the backward search at the exit.
+     *
+     * @param lattice The lattice of positions the agent can occupy.
+     * @param start The node the agent starts on, used even if the footprint does not fully fit there.
+     * @param exit The exit zone to reach.
+     */
+    public IncrementalPlanner(Lattice lattice, int start, ExitZone exit) {
+        this.lattice = lattice;
+        this.exit = exit;
+        this.start = start;
+        this.last = start;
+        this.g = new int[lattice.size()];
+        this.rhs = new int[lattice.size()];
+        this.queue = new IndexedMinHeap(lattice.size());
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+        for (int goal : exit.openNodes(lattice)) {
+            rhs[goal] = 0;
+            queue.put(goal, key(goal));
+        }
+    }
+
+    /**
+     * Finds a shortest path from the agent's node to the exit, repairing the search as needed.
+     *
+     * @return The path found, or an empty result if the exit cannot be reached.
+     */
+    public SolveResult plan() {
+        long started = System.nanoTime();
+        expanded = 0;
+        computeShortestPath();
+        if (rhs[start] >= INFINITY) {
+            return new SolveResult(new int[0], expanded, System.nanoTime() - started);
+        }
+        IntDeque path = new IntDeque();
+        int node = start;
+        path.addLast(node);
+        while (!isGoal(node)) {
+            node = bestNeighbor(node);
+            if (node < 0 || path.size() > lattice.size()) {
+                // A dead end or a loop in the walk; report no path rather than a broken one
+                return new SolveResult(new int[0], expanded, System.nanoTime() - started);
+            }
+            path.addLast(node);
+        }
+        return new SolveResult(path.toArray(), expanded, System.nanoTime() - started);
+    }
+
+    /**
+     * Moves the agent to a new node, such as the next node of its path.
+     *
+     * @param node The agent's new node.
+     */
+    public void moveTo(int node) {
+        if (node == start) {
+            return;
+        }
+        keyModifier += heuristic(last, node);
+        last = node;
+        int previous = start;
+        start = node;
+        // The start may be a position the footprint does not fit; it has edges only while it is the start
+        updateVertex(previous);
+        updateVertex(node);
+    }
+
+    /**
+     * Takes into account positions that became open or closed, as reported by {@link Lattice#refresh}.
+     *
+     * @param changedNodes The nodes whose openness changed.
+     */
+    public void update(int[] changedNodes) {
+        for (int node : changedNodes) {
+            updateVertex(node);
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int adjacent = lattice.adjacent(node, direction);
+                if (adjacent >= 0) {
+                    updateVertex(adjacent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the lattice being planned on.
+     *
+     * @return The lattice.
+     */
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    /**
+     * Expands nodes until the agent's node has a settled, correct distance to the exit.
+     */
+    private void computeShortestPath() {
+        while (!queue.isEmpty() && (queue.peekKey() < key(start) || rhs[start] != g[start])) {
+            int node = queue.peek();
+            long oldKey = queue.peekKey();
+            long newKey = key(node);
+            if (oldKey < newKey) {
+                queue.put(node, newKey);
+            } else if (g[node] > rhs[node]) {
+                g[node] = rhs[node];
+                queue.remove(node);
+                expanded++;
+                updateNeighbors(node);
+            } else {
+                g[node] = INFINITY;
+                expanded++;
+                updateVertex(node);
+                updateNeighbors(node);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the lookahead of a node and queues it if it is inconsistent.
+     * Exit positions are goals again as soon as they reopen, so their lookahead is reset to 0 here
+     * rather than only when the search is seeded.
+     */
+    private void updateVertex(int node) {
+        rhs[node] = isGoal(node) ? 0 : lookahead(node);
+        if (g[node] != rhs[node]) {
+            queue.put(node, key(node));
+        } else {
+            queue.remove(node);
+        }
+    }
+
+    /**
+     * Updates every position next to a node, since their best route may pass through it.
+     */
+    private void updateNeighbors(int node) {
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            int adjacent = lattice.adjacent(node, direction);
+            if (adjacent >= 0) {
+                updateVertex(adjacent);
+            }
+        }
+    }
+
+    /**
+     * Computes one more than the smallest g among a node's open neighbours.
+     */
+    private int lookahead(int node) {
+        if (node != start && !lattice.isOpen(node)) {
+            return INFINITY;
+        }
+        int best = INFINITY;
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            int neighbor = lattice.neighbor(node, direction);
+            if (neighbor >= 0 && g[neighbor] + 1 < best) {
+                best = g[neighbor] + 1;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the open neighbour of a node that is closest to the exit.
+     */
+    private int bestNeighbor(int node) {
+        int best = -1;
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            int neighbor = lattice.neighbor(node, direction);
+            if (neighbor >= 0 && (best < 0 || g[neighbor] < g[best])) {
+                best = neighbor;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks if a node is an open position inside the exit zone.
+     */
+    private boolean isGoal(int node) {
+        return lattice.isOpen(node) && exit.contains(lattice, node);
+    }
+
+    /**
+     * Computes the queue key of a node: the estimated path length through it, then its distance.
+     * Packing both into one long keeps the lexicographic order D* Lite needs.
+     */
+    private long key(int node) {
+        long distance = Math.min(g[node], rhs[node]);
+        long estimate = Math.min(distance + heuristic(start, node) + keyModifier, Integer.MAX_VALUE);
+        return estimate << 32 | distance;
+    }
+
+    /**
+     * Counts the moves between two nodes if there were no walls.
+     */
+    private int heuristic(int from, int to) {
+        int cols = lattice.getCols();
+        return Math.abs(from % cols - to % cols) + Math.abs(from / cols - to / cols);
+    }
+}
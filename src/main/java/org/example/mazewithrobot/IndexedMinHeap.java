@@ -0,0 +1,170 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap of node IDs ordered by a long key, with each node's position tracked
+ * so its key can be changed or the node removed in logarithmic time.
+ * Incremental planners need this, because repairing a search re-prioritises nodes already queued.
+ */
+final class IndexedMinHeap {
+    /** The queued nodes in heap order. */
+    private int[] nodes;
+
+    /** The key of each queued node, in heap order. */
+    private long[] keys;
+
+    /** The heap index of each node, or -1 if it is not queued. */
+    private final int[] positions;
+
+    /** The number of queued nodes. */
+    private int size;
+
+    /**
+     * Constructs an empty heap for node IDs from 0 to capacity minus one.
+     *
+     * @param capacity The number of node IDs.
+     */
+    IndexedMinHeap(int capacity) {
+        this.nodes = new int[16];
+        this.keys = new long[16];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Checks if a node is queued.
+     *
+     * @param node The node ID.
+     * @return True if the node is in the heap, false otherwise.
+     */
+    boolean contains(int node) {
+        return positions[node] >= 0;
+    }
+
+    /**
+     * Queues a node, or changes its key if it is already queued.
+     *
+     * @param node The node ID.
+     * @param key The node's key.
+     */
+    void put(int node, long key) {
+        int index = positions[node];
+        if (index < 0) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size << 1);
+                keys = Arrays.copyOf(keys, size << 1);
+            }
+            index = size++;
+            set(index, node, key);
+            siftUp(index);
+        } else if (key < keys[index]) {
+            keys[index] = key;
+            siftUp(index);
+        } else {
+            keys[index] = key;
+            siftDown(index);
+        }
+    }
+
+    /**
+     * Removes a node if it is queued.
+     *
+     * @param node The node ID.
+     */
+    void remove(int node) {
+        int index = positions[node];
+        if (index < 0) {
+            return;
+        }
+        positions[node] = -1;
+        size--;
+        if (index == size) {
+            return;
+        }
+        int moved = nodes[size];
+        set(index, moved, keys[size]);
+        siftDown(index);
+        if (positions[moved] == index) {
+            siftUp(index);
+        }
+    }
+
+    /**
+     * Gets the smallest key.
+     *
+     * @return The smallest key, or Long.MAX_VALUE if the heap is empty.
+     */
+    long peekKey() {
+        return size == 0 ? Long.MAX_VALUE : keys[0];
+    }
+
+    /**
+     * Gets the node with the smallest key.
+     *
+     * @return The node ID.
+     */
+    int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return nodes[0];
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return True if no nodes are queued, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Moves an entry towards the root until its parent is not larger.
+     */
+    private void siftUp(int index) {
+        int node = nodes[index];
+        long key = keys[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            set(index, nodes[parent], keys[parent]);
+            index = parent;
+        }
+        set(index, node, key);
+    }
+
+    /**
+     * Moves an entry towards the leaves until neither child is smaller.
+     */
+    private void siftDown(int index) {
+        int node = nodes[index];
+        long key = keys[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            set(index, nodes[child], keys[child]);
+            index = child;
+        }
+        set(index, node, key);
+    }
+
+    /**
+     * Places an entry at a heap index and records its position.
+     */
+    private void set(int index, int node, long key) {
+        nodes[index] = node;
+        keys[index] = key;
+        positions[node] = index;
+    }
+}
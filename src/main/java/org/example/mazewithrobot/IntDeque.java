@@ -0,0 +1,121 @@
+package org.example.mazewithrobot;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A growable ring buffer of primitive ints, usable as a queue or a stack without boxing.
+ */
+final class IntDeque {
+    /** The buffer; its length is always a power of two. */
+    private int[] elements = new int[16];
+
+    /** The index of the first element. */
+    private int head;
+
+    /** The number of elements. */
+    private int size;
+
+    /**
+     * Removes all elements, keeping the buffer for reuse.
+     */
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Appends an element at the back.
+     *
+     * @param value The element to append.
+     */
+    void addLast(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Removes and returns the element at the front.
+     *
+     * @return The first element.
+     */
+    int pollFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes and returns the element at the back.
+     *
+     * @return The last element.
+     */
+    int pollLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        size--;
+        return elements[(head + size) & (elements.length - 1)];
+    }
+
+    /**
+     * Returns the element at the back without removing it.
+     *
+     * @return The last element.
+     */
+    int peekLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return The number of elements.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks if there are no elements.
+     *
+     * @return True if the deque is empty, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the elements from front to back into a new array.
+     *
+     * @return The elements in order.
+     */
+    int[] toArray() {
+        int[] copy = new int[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = elements[(head + i) & (elements.length - 1)];
+        }
+        return copy;
+    }
+
+    /**
+     * Doubles the buffer, unrolling the ring so the front is at index 0.
+     */
+    private void grow() {
+        int[] larger = new int[elements.length << 1];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, larger, 0, firstPart);
+        System.arraycopy(elements, 0, larger, firstPart, head);
+        elements = larger;
+        head = 0;
+    }
+}
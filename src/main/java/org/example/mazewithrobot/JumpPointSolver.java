@@ -0,0 +1,195 @@
+package org.example.mazewithrobot;
+
+/**
+ * Solves a maze with Jump Point Search adapted to the 4-connected lattice.
+ * Among the many equally short paths through open areas, only those that turn from a
+ * horizontal run into a vertical one where a wall forces it are considered. Straight runs
+ * are then scanned without queueing the cells in between, so open corridors cost a few
+ * expansions instead of one per cell. Returns a path as short as the one A* finds.
+ * <p>
+ * Search states are (node, arrival direction) pairs, because the moves allowed after
+ * a node depend on how it was entered. A state packs the node ID and direction into one int,
+ * so lattices of more than {@link #MAX_LATTICE_SIZE} positions are rejected.
+ * Reuses its buffers between solves, so an instance must not be shared between threads.
+ */
+public class JumpPointSolver implements MazeSolver {
+    /** The most lattice positions a search can have, since four states per position must fit in an int. */
+    public static final int MAX_LATTICE_SIZE = 1 << 29;
+
+    /** The buffers reused between solves. */
+    private final SearchWorkspace workspace = new SearchWorkspace();
+
+    @Override
+    public SolveResult solve(Lattice lattice, int start, ExitZone exit) {
+        long started = System.nanoTime();
+        if (lattice.size() > MAX_LATTICE_SIZE) {
+            throw new IllegalArgumentException("Lattice too large for jump point search: " + lattice.size()
+                    + " positions, at most " + MAX_LATTICE_SIZE);
+        }
+        if (exit.contains(lattice, start)) {
+            return new SolveResult(new int[]{start}, 1, System.nanoTime() - started);
+        }
+        workspace.prepare(lattice.size() * 4);
+        int[] parents = workspace.parents;
+        NodeSet closed = workspace.closed;
+        LongMinHeap open = workspace.heap;
+        int expanded = 1;
+        int goalState = -1;
+
+        // The start has no arrival direction, so every direction is tried from it
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            int jumpPoint = jump(lattice, start, direction, exit);
+            if (jumpPoint >= 0) {
+                push(lattice, -1, start, 0, jumpPoint, direction, exit);
+            }
+        }
+
+        while (!open.isEmpty()) {
+            int state = (int) open.poll();
+            if (!closed.add(state)) {
+                continue;
+            }
+            expanded++;
+            int node = state >> 2;
+            int arrival = state & 3;
+            if (exit.contains(lattice, node)) {
+                goalState = state;
+                break;
+            }
+            int cost = workspace.costs[state];
+            if (arrival == Lattice.UP || arrival == Lattice.DOWN) {
+                // A vertical run may continue or turn either way at any point
+                expand(lattice, state, node, cost, arrival, exit);
+                expand(lattice, state, node, cost, Lattice.LEFT, exit);
+                expand(lattice, state, node, cost, Lattice.RIGHT, exit);
+            } else {
+                // A horizontal run continues, and turns only where a wall behind forces it
+                expand(lattice, state, node, cost, arrival, exit);
+                int previous = node - lattice.offset(arrival);
+                if (isForced(lattice, previous, node, Lattice.UP)) {
+                    expand(lattice, state, node, cost, Lattice.UP, exit);
+                }
+                if (isForced(lattice, previous, node, Lattice.DOWN)) {
+                    expand(lattice, state, node, cost, Lattice.DOWN, exit);
+                }
+            }
+        }
+
+        if (goalState < 0) {
+            return new SolveResult(new int[0], expanded, System.nanoTime() - started);
+        }
+        return new SolveResult(unpack(lattice, parents, start, goalState, workspace.costs[goalState]), expanded,
+                System.nanoTime() - started);
+    }
+
+    /**
+     * Jumps from a node in one direction and queues the jump point found, if any.
+     */
+    private void expand(Lattice lattice, int state, int node, int cost, int direction, ExitZone exit) {
+        int jumpPoint = jump(lattice, node, direction, exit);
+        if (jumpPoint >= 0) {
+            push(lattice, state, node, cost, jumpPoint, direction, exit);
+        }
+    }
+
+    /**
+     * Queues a jump point if the run to it is the cheapest way found so far to enter it from that direction.
+     */
+    private void push(Lattice lattice, int parentState, int from, int cost, int jumpPoint, int direction, ExitZone exit) {
+        int state = jumpPoint << 2 | direction;
+        int nextCost = cost + runLength(lattice, from, jumpPoint);
+        if (workspace.seen.add(state) || nextCost < workspace.costs[state]) {
+            workspace.costs[state] = nextCost;
+            workspace.parents[state] = parentState;
+            int priority = nextCost + AStarSolver.heuristic(lattice, jumpPoint, exit);
+            workspace.heap.add(((long) priority << 32) | state);
+        }
+    }
+
+    /**
+     * Scans from a node in one direction until a jump point, a wall or the edge of the lattice.
+     *
+     * @return The jump point, or -1 if the run reaches a dead end.
+     */
+    private int jump(Lattice lattice, int node, int direction, ExitZone exit) {
+        return direction == Lattice.LEFT || direction == Lattice.RIGHT
+                ? jumpHorizontal(lattice, node, direction, exit)
+                : jumpVertical(lattice, node, direction, exit);
+    }
+
+    /**
+     * Runs horizontally, stopping at the exit or where an opening above or below appears
+     * that could not have been reached by turning earlier.
+     */
+    private int jumpHorizontal(Lattice lattice, int node, int direction, ExitZone exit) {
+        int previous = node;
+        int current = lattice.neighbor(node, direction);
+        while (current >= 0) {
+            if (exit.contains(lattice, current)
+                    || isForced(lattice, previous, current, Lattice.UP)
+                    || isForced(lattice, previous, current, Lattice.DOWN)) {
+                return current;
+            }
+            previous = current;
+            current = lattice.neighbor(current, direction);
+        }
+        return -1;
+    }
+
+    /**
+     * Runs vertically, stopping at the exit or wherever a horizontal run leads somewhere.
+     */
+    private int jumpVertical(Lattice lattice, int node, int direction, ExitZone exit) {
+        int current = lattice.neighbor(node, direction);
+        while (current >= 0) {
+            if (exit.contains(lattice, current)
+                    || jumpHorizontal(lattice, current, Lattice.LEFT, exit) >= 0
+                    || jumpHorizontal(lattice, current, Lattice.RIGHT, exit) >= 0) {
+                return current;
+            }
+            current = lattice.neighbor(current, direction);
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if turning vertically at a node is forced, i.e. the node entered horizontally has
+     * an open neighbour in that direction while the node before it does not.
+     */
+    private boolean isForced(Lattice lattice, int previous, int node, int vertical) {
+        return lattice.neighbor(node, vertical) >= 0 && lattice.neighbor(previous, vertical) < 0;
+    }
+
+    /**
+     * Gets the number of lattice steps between two nodes on the same row or column.
+     */
+    private int runLength(Lattice lattice, int from, int to) {
+        int diff = Math.abs(to - from);
+        int cols = lattice.getCols();
+        return diff < cols && from / cols == to / cols ? diff : diff / cols;
+    }
+
+    /**
+     * Expands the chain of jump points ending in the goal state into every lattice node along it.
+     */
+    private int[] unpack(Lattice lattice, int[] parents, int start, int goalState, int length) {
+        int[] path = new int[length + 1];
+        int index = length;
+        for (int state = goalState; state >= 0; state = parents[state]) {
+            int node = state >> 2;
+            int back = -lattice.offset(state & 3);
+            int parentState = parents[state];
+            int from = parentState >= 0 ? parentState >> 2 : start;
+            for (int current = node; current != from; current += back) {
+                path[index--] = current;
+            }
+        }
+        path[0] = start;
+        return path;
+    }
+
+    @Override
+    public boolean findsShortestPaths() {
+        return true;
+    }
+}
@@ -0,0 +1,348 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * A maze's lattice compressed into a weighted graph of its junctions and dead ends.
+ * Most open positions of a maze lie in corridors, with exactly two open neighbours;
+ * each corridor becomes a single edge weighted by its length, so a search only visits
+ * the positions where the way forward branches or ends. Corridor positions are not stored:
+ * an edge keeps the direction it leaves its junction in, and a found path is expanded back
+ * into lattice positions by following the corridor, which has only one way on.
+ * <p>
+ * Queries allocate their own buffers sized by the number of junctions, so the graph can be
+ * shared between threads as long as its lattice was checked up front.
+ */
+public final class JunctionGraph {
+    /** The distance of a junction that cannot be reached. */
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    /** The lattice the graph was built from. */
+    private final Lattice lattice;
+
+    /** The lattice node of each junction, in ascending order. */
+    private final int[] junctions;
+
+    /** The first edge of each junction; one more entry than there are junctions. */
+    private final int[] edgeStart;
+
+    /** The junction each edge leads to. */
+    private final int[] edgeTarget;
+
+    /** The number of moves along each edge. */
+    private final int[] edgeCost;
+
+    /** The direction each edge leaves its junction in. */
+    private final byte[] edgeDirection;
+
+    private JunctionGraph(Lattice lattice, int[] junctions, int[] edgeStart, int[] edgeTarget,
+                          int[] edgeCost, byte[] edgeDirection) {
+        this.lattice = lattice;
+        this.junctions = junctions;
+        this.edgeStart = edgeStart;
+        this.edgeTarget = edgeTarget;
+        this.edgeCost = edgeCost;
+        this.edgeDirection = edgeDirection;
+    }
+
+    /**
+     * Builds the junction graph of a lattice by following every corridor out of every junction.
+     * Corridors that loop back to the junction they left are dropped, as no shortest path uses them.
+     *
+     * @param lattice The lattice to compress; every position is checked.
+     * @return The junction graph.
+     */
+    public static JunctionGraph build(Lattice lattice) {
+        IntDeque found = new IntDeque();
+        for (int node = 0; node < lattice.size(); node++) {
+            if (isJunction(lattice, node)) {
+                found.addLast(node);
+            }
+        }
+        int[] junctions = found.toArray();
+        int[] edgeStart = new int[junctions.length + 1];
+        IntDeque targets = new IntDeque();
+        IntDeque costs = new IntDeque();
+        IntDeque directions = new IntDeque();
+        for (int id = 0; id < junctions.length; id++) {
+            int junction = junctions[id];
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int previous = junction;
+                int current = lattice.neighbor(junction, direction);
+                if (current < 0) {
+                    continue;
+                }
+                int length = 1;
+                while (!isJunction(lattice, current)) {
+                    int next = onward(lattice, previous, current);
+                    previous = current;
+                    current = next;
+                    length++;
+                }
+                if (current != junction) {
+                    targets.addLast(Arrays.binarySearch(junctions, current));
+                    costs.addLast(length);
+                    directions.addLast(direction);
+                }
+            }
+            edgeStart[id + 1] = targets.size();
+        }
+        int[] directionValues = directions.toArray();
+        byte[] edgeDirection = new byte[directionValues.length];
+        for (int i = 0; i < edgeDirection.length; i++) {
+            edgeDirection[i] = (byte) directionValues[i];
+        }
+        return new JunctionGraph(lattice, junctions, edgeStart, targets.toArray(), costs.toArray(), edgeDirection);
+    }
+
+    /**
+     * Finds a shortest path from a node to the exit with Dijkstra's algorithm over the junctions.
+     * The start and the exit positions usually lie inside corridors, so they are first connected
+     * to the junctions at both ends of their corridors.
+     *
+     * @param start The node the agent starts on, used even if the footprint does not fully fit there.
+     * @param exit The exit zone to reach.
+     * @return The path found, expanded back into lattice positions, or an empty result
+     *         if the exit cannot be reached.
+     */
+    public SolveResult findPath(int start, ExitZone exit) {
+        long started = System.nanoTime();
+        if (exit.contains(lattice, start)) {
+            return new SolveResult(new int[] {start}, 1, System.nanoTime() - started);
+        }
+        int count = junctions.length;
+        int goalId = count;
+        int[] distances = new int[count + 1];
+        int[] parents = new int[count + 1];
+        int[] vias = new int[count + 1];
+        Arrays.fill(distances, INFINITY);
+        LongMinHeap open = new LongMinHeap();
+
+        // Connect each junction whose corridor holds exit positions to the nearest of them
+        int[] goalCosts = new int[count];
+        int[] goalFirst = new int[count];
+        Arrays.fill(goalCosts, INFINITY);
+        for (int goal : exit.openNodes(lattice)) {
+            int id = Arrays.binarySearch(junctions, goal);
+            if (id >= 0) {
+                goalCosts[id] = 0;
+                goalFirst[id] = -1;
+                continue;
+            }
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int previous = goal;
+                int current = lattice.neighbor(goal, direction);
+                int length = 1;
+                while (current >= 0 && current != goal && !isJunction(lattice, current)) {
+                    int next = onward(lattice, previous, current);
+                    previous = current;
+                    current = next;
+                    length++;
+                }
+                if (current >= 0 && current != goal) {
+                    id = Arrays.binarySearch(junctions, current);
+                    if (length < goalCosts[id]) {
+                        goalCosts[id] = length;
+                        goalFirst[id] = previous;
+                    }
+                }
+            }
+        }
+
+        // Connect the start to the junctions at the ends of its corridor, or straight to the exit.
+        // A start the footprint does not fully fit on leaves through its open neighbours.
+        int[] seeds = new int[4];
+        int seedCount = 0;
+        if (lattice.isOpen(start)) {
+            seeds[seedCount++] = start;
+        } else {
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int neighbor = lattice.neighbor(start, direction);
+                if (neighbor >= 0) {
+                    seeds[seedCount++] = neighbor;
+                }
+            }
+        }
+        int seedCost = lattice.isOpen(start) ? 0 : 1;
+        for (int seed = 0; seed < seedCount; seed++) {
+            int node = seeds[seed];
+            if (exit.contains(lattice, node)) {
+                offer(goalId, seedCost, -1 - seed, -1, distances, parents, vias, open);
+                continue;
+            }
+            int id = Arrays.binarySearch(junctions, node);
+            if (id >= 0) {
+                offer(id, seedCost, -1 - seed, -1, distances, parents, vias, open);
+                continue;
+            }
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int first = lattice.neighbor(node, direction);
+                int previous = node;
+                int current = first;
+                int length = seedCost + 1;
+                while (current >= 0 && current != node && !exit.contains(lattice, current)
+                        && !isJunction(lattice, current)) {
+                    int next = onward(lattice, previous, current);
+                    previous = current;
+                    current = next;
+                    length++;
+                }
+                if (current < 0 || current == node) {
+                    continue;
+                }
+                int target = exit.contains(lattice, current) ? goalId : Arrays.binarySearch(junctions, current);
+                offer(target, length, -1 - seed, first, distances, parents, vias, open);
+            }
+        }
+
+        boolean[] settled = new boolean[count + 1];
+        int expanded = 0;
+        while (!open.isEmpty()) {
+            int current = (int) open.poll();
+            if (settled[current]) {
+                continue;
+            }
+            settled[current] = true;
+            expanded++;
+            if (current == goalId) {
+                break;
+            }
+            for (int e = edgeStart[current]; e < edgeStart[current + 1]; e++) {
+                offer(edgeTarget[e], distances[current] + edgeCost[e], current, e, distances, parents, vias, open);
+            }
+            if (goalCosts[current] < INFINITY) {
+                offer(goalId, distances[current] + goalCosts[current], current, goalFirst[current],
+                        distances, parents, vias, open);
+            }
+        }
+        if (distances[goalId] >= INFINITY) {
+            return new SolveResult(new int[0], expanded, System.nanoTime() - started);
+        }
+
+        IntDeque hops = new IntDeque();
+        int first = goalId;
+        while (parents[first] >= 0) {
+            hops.addLast(first);
+            first = parents[first];
+        }
+        hops.addLast(first);
+        IntDeque path = new IntDeque();
+        path.addLast(start);
+        int position = seeds[-1 - parents[first]];
+        if (position != start) {
+            path.addLast(position);
+        }
+        int from = -1;
+        while (!hops.isEmpty()) {
+            int hop = hops.pollLast();
+            int firstStep;
+            if (hop == goalId || from < 0) {
+                firstStep = vias[hop];
+            } else {
+                firstStep = lattice.neighbor(junctions[from], edgeDirection[vias[hop]]);
+            }
+            if (firstStep >= 0) {
+                position = follow(position, firstStep, hop == goalId ? exit : null, path);
+            }
+            from = hop;
+        }
+        return new SolveResult(path.toArray(), expanded, System.nanoTime() - started);
+    }
+
+    /**
+     * Gets the lattice the graph was built from.
+     *
+     * @return The lattice.
+     */
+    public Lattice getLattice() {
+        return lattice;
+    }
+
+    /**
+     * Gets the number of junctions and dead ends, the nodes of the graph.
+     *
+     * @return The number of junctions.
+     */
+    public int getJunctionCount() {
+        return junctions.length;
+    }
+
+    /**
+     * Gets the number of directed edges of the graph, each one a corridor.
+     *
+     * @return The number of edges.
+     */
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    /**
+     * Follows a corridor into the path until it reaches a junction, or the exit if one is given.
+     *
+     * @param previous The position the corridor is entered from.
+     * @param first The first position of the corridor.
+     * @param exit The exit zone to stop in, or null to stop only at a junction.
+     * @param path Receives each position of the corridor.
+     * @return The position the corridor ends at.
+     */
+    private int follow(int previous, int first, ExitZone exit, IntDeque path) {
+        int current = first;
+        path.addLast(current);
+        while (!isJunction(lattice, current) && (exit == null || !exit.contains(lattice, current))) {
+            int next = onward(lattice, previous, current);
+            previous = current;
+            current = next;
+            path.addLast(current);
+        }
+        return current;
+    }
+
+    /**
+     * Records a shorter route to a junction, or to the exit, during the search.
+     *
+     * @param via The edge taken from a junction, or the first position of the corridor taken.
+     */
+    private static void offer(int id, int distance, int parent, int via, int[] distances, int[] parents,
+                              int[] vias, LongMinHeap open) {
+        if (distance < distances[id]) {
+            distances[id] = distance;
+            parents[id] = parent;
+            vias[id] = via;
+            open.add(((long) distance << 32) | id);
+        }
+    }
+
+    /**
+     * Checks if an open position is a junction or dead end: anything but a corridor position
+     * with exactly two open neighbours.
+     */
+    private static boolean isJunction(Lattice lattice, int node) {
+        if (!lattice.isOpen(node)) {
+            return false;
+        }
+        int neighbors = 0;
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            if (lattice.neighbor(node, direction) >= 0) {
+                neighbors++;
+            }
+        }
+        return neighbors != 2;
+    }
+
+    /**
+     * Gets the next position along a corridor.
+     *
+     * @param previous The position the corridor was entered from.
+     * @param current A corridor position.
+     * @return The open neighbour of the current position that is not the previous one.
+     */
+    private static int onward(Lattice lattice, int previous, int current) {
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            int neighbor = lattice.neighbor(current, direction);
+            if (neighbor >= 0 && neighbor != previous) {
+                return neighbor;
+            }
+        }
+        throw new IllegalStateException("Corridor position " + current + " has no way on");
+    }
+}
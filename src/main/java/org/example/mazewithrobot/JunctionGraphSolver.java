@@ -0,0 +1,26 @@
+package org.example.mazewithrobot;
+
+/**
+ * Solves a maze with Dijkstra's algorithm on its {@link JunctionGraph}, which always finds
+ * a shortest path on the lattice while visiting only junctions and dead ends.
+ * The graph is built on the first solve of a maze for a footprint, step and alignment,
+ * which checks every position, and shared by every later solve of the same positions from any
+ * agent or thread, however its lattice was built; a maze solved only once is better served by
+ * breadth-first search. It also pays off only where corridors are about one position wide, as at the
+ * {@link LatticeResolution automatic step}; in open areas nearly every position is a junction.
+ * Keeps no state of its own between solves, so an instance may be shared between threads.
+ */
+public class JunctionGraphSolver implements MazeSolver {
+    /** The graphs built so far, shared by every instance. */
+    private static final LatticeCache<JunctionGraph> GRAPHS = new LatticeCache<>(8);
+
+    @Override
+    public SolveResult solve(Lattice lattice, int start, ExitZone exit) {
+        return GRAPHS.get(lattice, JunctionGraph::build).findPath(start, exit);
+    }
+
+    @Override
+    public boolean findsShortestPaths() {
+        return true;
+    }
+}
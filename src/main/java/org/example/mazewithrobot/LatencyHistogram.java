@@ -0,0 +1,147 @@
+package org.example.mazewithrobot;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations in log-linear buckets, in the style of HdrHistogram:
+ * each power of two is split into eight equal buckets, so every recorded value is known
+ * to within 12.5% in constant memory, however many values are recorded.
+ * Each bucket is a striped {@link LongAdder}, so threads recording at once do not contend.
+ */
+public final class LatencyHistogram {
+    /** The number of bits of a value kept below its highest set bit. */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /** The number of buckets each power of two is split into. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** The values below which every value has a bucket of its own. */
+    private static final int EXACT_VALUES = SUB_BUCKETS * 2;
+
+    /** The number of buckets, enough for any non-negative long. */
+    private static final int BUCKETS = EXACT_VALUES + (Long.SIZE - 1 - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    /** The number of values recorded in each bucket. */
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    /** The number of values recorded. */
+    private final LongAdder count = new LongAdder();
+
+    /** The sum of the values recorded. */
+    private final LongAdder total = new LongAdder();
+
+    /** The largest value recorded. */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructs an empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds; negative durations are recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)].increment();
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Summarises the values recorded so far.
+     * Recording may go on meanwhile, so the figures are only consistent with each other to within
+     * the values recorded while the snapshot was taken.
+     *
+     * @return The count, mean, percentiles and maximum.
+     */
+    public LatencySnapshot snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        long recorded = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+            recorded += snapshot[i];
+        }
+        if (recorded == 0) {
+            return new LatencySnapshot(0, 0, 0, 0, 0, 0, 0);
+        }
+        long largest = max.get();
+        return new LatencySnapshot(recorded, total.sum() / Math.max(1, count.sum()),
+                percentile(snapshot, recorded, 0.5, largest), percentile(snapshot, recorded, 0.9, largest),
+                percentile(snapshot, recorded, 0.99, largest), percentile(snapshot, recorded, 0.999, largest),
+                largest);
+    }
+
+    /**
+     * Forgets every value recorded so far.
+     */
+    public void reset() {
+        for (LongAdder bucket : counts) {
+            bucket.reset();
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    /**
+     * Finds the value below or at which a fraction of the recorded values lie.
+     *
+     * @param snapshot The counts of each bucket.
+     * @param recorded The sum of the counts.
+     * @param fraction The fraction, from 0 to 1.
+     * @param largest The largest value recorded, which no percentile exceeds.
+     * @return The highest value in the bucket the percentile falls in.
+     */
+    private static long percentile(long[] snapshot, long recorded, double fraction, long largest) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(highestValueIn(i), largest);
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Gets the bucket a value is counted in.
+     *
+     * @param value The non-negative value.
+     * @return The index of its bucket.
+     */
+    static int bucketOf(long value) {
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return EXACT_VALUES + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the highest value counted in a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The highest value it holds.
+     */
+    static long highestValueIn(int bucket) {
+        if (bucket < EXACT_VALUES) {
+            return bucket;
+        }
+        int shift = (bucket - EXACT_VALUES) / SUB_BUCKETS + 1;
+        long subBucket = (bucket - EXACT_VALUES) % SUB_BUCKETS;
+        long lowest = (SUB_BUCKETS + subBucket) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.mazewithrobot;
+
+/**
+ * A summary of the durations recorded by a {@link LatencyHistogram}.
+ * Percentiles are the highest value of the bucket they fall in, so they overstate by at most 12.5%.
+ *
+ * @param count The number of durations recorded.
+ * @param meanNanos The mean duration in nanoseconds.
+ * @param p50Nanos The median duration in nanoseconds.
+ * @param p90Nanos The 90th percentile in nanoseconds.
+ * @param p99Nanos The 99th percentile in nanoseconds.
+ * @param p999Nanos The 99.9th percentile in nanoseconds.
+ * @param maxNanos The longest duration in nanoseconds.
+ */
+public record LatencySnapshot(long count, long meanNanos, long p50Nanos, long p90Nanos, long p99Nanos,
+                              long p999Nanos, long maxNanos) {
+}
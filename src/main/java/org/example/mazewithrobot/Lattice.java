@@ -0,0 +1,406 @@
+package org.example.mazewithrobot;
+
+import java.util.BitSet;
+
+/**
+ * The grid of positions an agent can occupy while solving a maze.
+ * Positions are spaced {@code step} pixels apart and aligned with an anchor position
+ * (normally the agent's start), exactly like the STEP_SIZE moves of the robot and car.
+ * Each position is identified by an int node ID, {@code row * cols + col}, and is open
+ * if the agent's whole footprint fits on the path there; so a lattice has fewer than 2^31 positions.
+ * A lazy lattice checks each position the first time it is asked about, so solving a huge maze
+ * only touches the region explored; it caches the answers, and so must not be shared between threads.
+ */
+public final class Lattice {
+    /** Direction index for moving up. */
+    public static final int UP = 0;
+
+    /** Direction index for moving right. */
+    public static final int RIGHT = 1;
+
+    /** Direction index for moving down. */
+    public static final int DOWN = 2;
+
+    /** Direction index for moving left. */
+    public static final int LEFT = 3;
+
+    /** The column offsets of the four directions, in up/right/down/left order. */
+    private static final int[] DX = {0, 1, 0, -1};
+
+    /** The row offsets of the four directions, in up/right/down/left order. */
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    /** The x-coordinate of the position in column 0. */
+    private final int originX;
+
+    /** The y-coordinate of the position in row 0. */
+    private final int originY;
+
+    /** The distance between neighbouring positions in pixels. */
+    private final int step;
+
+    /** The number of columns. */
+    private final int cols;
+
+    /** The number of rows. */
+    private final int rows;
+
+    /** The open positions, indexed by node ID. */
+    private final BitSet open;
+
+    /** The positions checked so far, indexed by node ID, or null if every position was checked up front. */
+    private final BitSet checked;
+
+    /** The collision checks used to test positions. */
+    private final CollisionMap collisions;
+
+    /** The width of the agent's footprint in pixels. */
+    private final int footprintWidth;
+
+    /** The height of the agent's footprint in pixels. */
+    private final int footprintHeight;
+
+    /** True if a move between neighbours needs the whole area the footprint sweeps to be clear. */
+    private final boolean sweepsMoves;
+
+    /**
+     * Builds the lattice for an agent footprint over a maze, checking every position up front.
+     *
+     * @param collisions The collision checks of the maze.
+     * @param anchorX The x-coordinate of a position that lies on the lattice.
+     * @param anchorY The y-coordinate of a position that lies on the lattice.
+     * @param step The distance between neighbouring positions in pixels.
+     * @param footprintWidth The width of the agent's footprint in pixels.
+     * @param footprintHeight The height of the agent's footprint in pixels.
+     */
+    public Lattice(CollisionMap collisions, int anchorX, int anchorY, int step, int footprintWidth, int footprintHeight) {
+        this(collisions, anchorX, anchorY, step, footprintWidth, footprintHeight, false);
+    }
+
+    /**
+     * Builds the lattice for an agent footprint over a maze.
+     *
+     * @param collisions The collision checks of the maze.
+     * @param anchorX The x-coordinate of a position that lies on the lattice.
+     * @param anchorY The y-coordinate of a position that lies on the lattice.
+     * @param step The distance between neighbouring positions in pixels.
+     * @param footprintWidth The width of the agent's footprint in pixels.
+     * @param footprintHeight The height of the agent's footprint in pixels.
+     * @param lazy True to check positions on first use, false to check them all now.
+     */
+    public Lattice(CollisionMap collisions, int anchorX, int anchorY, int step, int footprintWidth, int footprintHeight,
+                   boolean lazy) {
+        this(collisions, anchorX, anchorY, step, footprintWidth, footprintHeight, lazy, false);
+    }
+
+    /**
+     * Builds the lattice for an agent footprint over a maze, optionally checking the area swept by each move.
+     */
+    private Lattice(CollisionMap collisions, int anchorX, int anchorY, int step, int footprintWidth,
+                    int footprintHeight, boolean lazy, boolean sweepsMoves) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        }
+        this.step = step;
+        this.originX = Math.floorMod(anchorX, step);
+        this.originY = Math.floorMod(anchorY, step);
+        this.cols = Math.max(0, (collisions.getWidth() - 1 - originX) / step + 1);
+        this.rows = Math.max(0, (collisions.getHeight() - 1 - originY) / step + 1);
+        if ((long) cols * rows > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Lattice too large: " + cols + "x" + rows);
+        }
+        this.collisions = collisions;
+        this.footprintWidth = footprintWidth;
+        this.footprintHeight = footprintHeight;
+        this.sweepsMoves = sweepsMoves;
+        this.open = new BitSet(lazy ? 0 : cols * rows);
+        this.checked = lazy ? new BitSet() : null;
+        if (lazy) {
+            return;
+        }
+        for (int row = 0; row < rows; row++) {
+            int y = originY + row * step;
+            for (int col = 0; col < cols; col++) {
+                if (collisions.isClear(originX + col * step, y, footprintWidth, footprintHeight)) {
+                    open.set(row * cols + col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the node at the given pixel position.
+     *
+     * @param x The x-coordinate of the position.
+     * @param y The y-coordinate of the position.
+     * @return The node ID, or -1 if the position is not on the lattice.
+     */
+    public int nodeAt(int x, int y) {
+        int dx = x - originX;
+        int dy = y - originY;
+        if (dx < 0 || dy < 0 || dx % step != 0 || dy % step != 0) {
+            return -1;
+        }
+        int col = dx / step;
+        int row = dy / step;
+        if (col >= cols || row >= rows) {
+            return -1;
+        }
+        return row * cols + col;
+    }
+
+    /**
+     * Gets the neighbour of a node in the given direction.
+     *
+     * @param node The node to move from.
+     * @param direction One of UP, RIGHT, DOWN or LEFT.
+     * @return The neighbouring node ID, or -1 if it is off the lattice, not open,
+     *         or on a lattice that {@link #sweepsMoves() sweeps moves} cannot be reached in a straight move.
+     */
+    public int neighbor(int node, int direction) {
+        int col = node % cols + DX[direction];
+        int row = node / cols + DY[direction];
+        if (col < 0 || col >= cols || row < 0 || row >= rows) {
+            return -1;
+        }
+        int next = row * cols + col;
+        if (!isOpen(next)) {
+            return -1;
+        }
+        if (sweepsMoves && !collisions.isClear(Math.min(xOf(node), xOf(next)), Math.min(yOf(node), yOf(next)),
+                footprintWidth + Math.abs(DX[direction]) * step, footprintHeight + Math.abs(DY[direction]) * step)) {
+            return -1;
+        }
+        return next;
+    }
+
+    /**
+     * Gets the position next to a node in the given direction, whether or not it is open.
+     *
+     * @param node The node to move from.
+     * @param direction One of UP, RIGHT, DOWN or LEFT.
+     * @return The adjacent node ID, or -1 if it is off the lattice.
+     */
+    public int adjacent(int node, int direction) {
+        int col = node % cols + DX[direction];
+        int row = node / cols + DY[direction];
+        if (col < 0 || col >= cols || row < 0 || row >= rows) {
+            return -1;
+        }
+        return row * cols + col;
+    }
+
+    /**
+     * Re-checks the positions whose footprint overlaps a rectangle of the maze that was edited.
+     * Positions a lazy lattice has not checked yet are left to be checked on first use.
+     *
+     * @param x The x-coordinate of the edited rectangle's top-left corner.
+     * @param y The y-coordinate of the edited rectangle's top-left corner.
+     * @param rectWidth The width of the edited rectangle in pixels.
+     * @param rectHeight The height of the edited rectangle in pixels.
+     * @return The nodes that became open or closed.
+     */
+    public int[] refresh(int x, int y, int rectWidth, int rectHeight) {
+        int minCol = Math.max(0, Math.floorDiv(x - footprintWidth - originX, step) + 1);
+        int maxCol = Math.min(cols - 1, Math.floorDiv(x + rectWidth - 1 - originX, step));
+        int minRow = Math.max(0, Math.floorDiv(y - footprintHeight - originY, step) + 1);
+        int maxRow = Math.min(rows - 1, Math.floorDiv(y + rectHeight - 1 - originY, step));
+        IntDeque changed = new IntDeque();
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                int node = row * cols + col;
+                if (checked != null && !checked.get(node)) {
+                    continue;
+                }
+                boolean clear = collisions.isClear(xOf(node), yOf(node), footprintWidth, footprintHeight);
+                if (clear != open.get(node)) {
+                    open.set(node, clear);
+                    changed.addLast(node);
+                }
+            }
+        }
+        return changed.toArray();
+    }
+
+    /**
+     * Gets the difference in node ID between a node and its neighbour in the given direction.
+     *
+     * @param direction One of UP, RIGHT, DOWN or LEFT.
+     * @return The amount to add to a node ID to move one step in that direction.
+     */
+    public int offset(int direction) {
+        return DY[direction] * cols + DX[direction];
+    }
+
+    /**
+     * Gets the direction of a move between two neighbouring nodes.
+     *
+     * @param from The node moved from.
+     * @param to The node moved to.
+     * @return One of UP, RIGHT, DOWN or LEFT.
+     */
+    public int directionBetween(int from, int to) {
+        int diff = to - from;
+        if (diff == 1) return RIGHT;
+        if (diff == -1) return LEFT;
+        return diff > 0 ? DOWN : UP;
+    }
+
+    /**
+     * Checks if the agent's footprint fits at a node.
+     *
+     * @param node The node ID.
+     * @return True if the node is open, false otherwise.
+     */
+    public boolean isOpen(int node) {
+        if (checked != null && !checked.get(node)) {
+            checked.set(node);
+            if (collisions.isClear(xOf(node), yOf(node), footprintWidth, footprintHeight)) {
+                open.set(node);
+            }
+        }
+        return open.get(node);
+    }
+
+    /**
+     * Gets the x-coordinate of a node.
+     *
+     * @param node The node ID.
+     * @return The x-coordinate in pixels.
+     */
+    public int xOf(int node) {
+        return originX + (node % cols) * step;
+    }
+
+    /**
+     * Gets the y-coordinate of a node.
+     *
+     * @param node The node ID.
+     * @return The y-coordinate in pixels.
+     */
+    public int yOf(int node) {
+        return originY + (node / cols) * step;
+    }
+
+    /**
+     * Gets the number of nodes on the lattice.
+     *
+     * @return The number of columns times the number of rows.
+     */
+    public int size() {
+        return cols * rows;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the width of the footprint the lattice was built for.
+     *
+     * @return The width in pixels.
+     */
+    public int getFootprintWidth() {
+        return footprintWidth;
+    }
+
+    /**
+     * Gets the height of the footprint the lattice was built for.
+     *
+     * @return The height in pixels.
+     */
+    public int getFootprintHeight() {
+        return footprintHeight;
+    }
+
+    /**
+     * Checks if positions are checked on first use rather than up front.
+     * Lazy lattices cache their answers and so must not be shared between threads.
+     *
+     * @return True if the lattice is lazy, false otherwise.
+     */
+    public boolean isLazy() {
+        return checked != null;
+    }
+
+    /**
+     * Gets a lattice with the same positions, all of them checked, so that it can be shared between threads.
+     *
+     * @return This lattice if its positions were checked up front, or a new one that is.
+     */
+    public Lattice checkedUpFront() {
+        return checked == null ? this
+                : new Lattice(collisions, originX, originY, step, footprintWidth, footprintHeight, false, sweepsMoves);
+    }
+
+    /**
+     * Checks if moves between neighbours need the whole area the footprint sweeps to be clear,
+     * and not only the footprint at both ends. Only matters when positions are further apart than
+     * the footprint is wide, so that a move could otherwise jump over a thin wall.
+     *
+     * @return True for lattices made by {@link #coarsen}, false otherwise.
+     */
+    public boolean sweepsMoves() {
+        return sweepsMoves;
+    }
+
+    /**
+     * Gets the content hash of the maze the lattice was built over.
+     *
+     * @return The 64-bit hash of the maze.
+     */
+    public long getMazeHash() {
+        return collisions.contentHash();
+    }
+
+    /**
+     * Gets the distance between neighbouring positions.
+     *
+     * @return The step in pixels.
+     */
+    public int getStep() {
+        return step;
+    }
+
+    /**
+     * Checks if the agent's footprint can move in a straight line from one position to another,
+     * through the pixels between them and not only the lattice positions.
+     *
+     * @param from The node to move from.
+     * @param to The node to move to.
+     * @return True if the straight move is clear, false otherwise.
+     */
+    public boolean hasLineOfSight(int from, int to) {
+        return LineOfSight.isClear(collisions, xOf(from), yOf(from), xOf(to), yOf(to),
+                footprintWidth, footprintHeight);
+    }
+
+    /**
+     * Builds a lazy lattice over the same maze and footprint with positions several steps apart,
+     * aligned with one of this lattice's positions so that every coarse position is also one of these.
+     * Its moves {@link #sweepsMoves() sweep} the footprint, so a coarse move never jumps a wall
+     * and every coarse path is also a path of straight moves on this lattice.
+     *
+     * @param factor The number of steps of this lattice between coarse positions.
+     * @param anchor A node of this lattice that lies on the coarse lattice.
+     * @return The coarse lattice.
+     */
+    public Lattice coarsen(int factor, int anchor) {
+        return new Lattice(collisions, xOf(anchor), yOf(anchor), step * factor, footprintWidth, footprintHeight,
+                true, true);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.mazewithrobot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of structures derived from a lattice, such as a solver's graph of it,
+ * keyed by what the lattice's positions depend on: the maze's content, the footprint, the step
+ * and the alignment. Agents build a new lattice for every solve, so keying on the lattice object
+ * would derive the structure again each time; this way it is derived once per maze and agent size.
+ * Structures are derived from a lattice checked up front, so they can be shared between threads.
+ *
+ * @param <V> The type of the derived structures.
+ */
+final class LatticeCache<V> {
+    /** The cached structures in least-recently-used order; guarded by {@code this}. */
+    private final Map<Key, V> entries;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity The number of structures to keep before evicting the least recently used.
+     */
+    LatticeCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the structure derived from a lattice, deriving and caching it on first use.
+     * The structure is derived outside the lock, so lookups of other lattices are not blocked.
+     *
+     * @param lattice A lattice with the positions to derive from, lazy or not.
+     * @param derive Derives the structure from a lattice with the same positions, checked up front.
+     * @return The structure.
+     */
+    V get(Lattice lattice, Function<Lattice, V> derive) {
+        Key key = new Key(lattice.getMazeHash(), lattice.xOf(0), lattice.yOf(0), lattice.getCols(), lattice.getRows(),
+                lattice.getStep(), lattice.getFootprintWidth(), lattice.getFootprintHeight(), lattice.sweepsMoves());
+        synchronized (this) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        V computed = derive.apply(lattice.checkedUpFront());
+        synchronized (this) {
+            V raced = entries.putIfAbsent(key, computed);
+            return raced != null ? raced : computed;
+        }
+    }
+
+    /**
+     * Identifies the positions of a lattice.
+     */
+    private record Key(long mazeHash, int originX, int originY, int cols, int rows,
+                       int step, int footprintWidth, int footprintHeight, boolean sweepsMoves) {
+    }
+}
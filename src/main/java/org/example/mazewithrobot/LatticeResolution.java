@@ -0,0 +1,157 @@
+package org.example.mazewithrobot;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses the distance between lattice positions for a maze from the width of its corridors.
+ * A lattice is only as good as its step: a step wider than a corridor's slack (its width less the
+ * agent's footprint) can leave no position that fits through it, while a step much smaller than the
+ * slack multiplies the positions a search has to visit for nothing. The exit zone limits the step the
+ * same way, since an exit in the border leaves the agent less room than the zone's full width.
+ * The step is never wider than the footprint either, since the lattice only checks where a move ends:
+ * with a wider step, a move between two corridors could hop over the thin wall between them.
+ * <p>
+ * The narrowest corridor is measured from the runs of path pixels along every row and column that are
+ * bounded by wall on both sides, so a cross-section of a corridor is one run. A width counts once it is
+ * seen in at least {@link ExitFinder#MIN_OPENING_WIDTH} runs, so specks of path inside walls and single
+ * stray rows are not mistaken for corridors.
+ */
+public final class LatticeResolution {
+    /** The widths measured so far, keyed by maze. */
+    private static final Map<Key, Integer> WIDTHS = new ConcurrentHashMap<>();
+
+    private LatticeResolution() {
+    }
+
+    /**
+     * Picks the largest step at which an agent's footprint still has a position in every corridor
+     * and in the exit zone, and still sweeps every pixel it crosses between neighbouring positions.
+     *
+     * @param grid The walkability grid of the maze.
+     * @param footprintWidth The width of the agent's footprint in pixels.
+     * @param footprintHeight The height of the agent's footprint in pixels.
+     * @param exitRange The range within which the agent is considered to have reached the exit.
+     * @return The step in pixels, at least 1.
+     */
+    public static int automaticStep(MazeGrid grid, int footprintWidth, int footprintHeight, double exitRange) {
+        int footprint = Math.max(footprintWidth, footprintHeight);
+        int corridorSlack = minimumCorridorWidth(grid) - footprint + 1;
+        // Positions less than the range from an exit in the border whose footprint still fits inside the maze
+        int exitSlack = (int) Math.ceil(exitRange) - footprint + 1;
+        int sweep = Math.min(footprintWidth, footprintHeight);
+        return Math.max(1, Math.min(sweep, Math.min(corridorSlack, exitSlack)));
+    }
+
+    /**
+     * Gets the width of the narrowest corridor of a maze, measuring it on first use.
+     *
+     * @param grid The walkability grid of the maze.
+     * @return The width in pixels, or the larger side of the maze if it has no bounded corridor.
+     */
+    public static int minimumCorridorWidth(MazeGrid grid) {
+        return WIDTHS.computeIfAbsent(new Key(grid.contentHash(), grid.getWidth(), grid.getHeight()),
+                key -> measure(grid));
+    }
+
+    /**
+     * Measures the narrowest corridor of a maze.
+     * Rows are scanned word by word; columns are followed by looking only at the pixels that change
+     * from one row to the next.
+     *
+     * @param grid The walkability grid of the maze.
+     * @return The width in pixels, or the larger side of the maze if it has no bounded corridor.
+     */
+    static int measure(MazeGrid grid) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int longest = Math.max(width, height);
+        // The number of bounded runs of each length, rows and columns together
+        int[] runs = new int[longest + 1];
+        int words = WalkabilityGrid.wordsPerRow(width);
+        long[] row = new long[words];
+        long[] previous = new long[words];
+        // The row each column's current run of path started on, or -1 if it started at the top border
+        int[] columnStart = new int[width];
+
+        for (int y = 0; y < height; y++) {
+            for (int index = 0; index < words; index++) {
+                row[index] = grid.word(y, index);
+            }
+            countRowRuns(row, width, runs);
+            for (int index = 0; index < words; index++) {
+                long changed = y == 0 ? row[index] : row[index] ^ previous[index];
+                while (changed != 0) {
+                    int bit = Long.numberOfTrailingZeros(changed);
+                    changed &= changed - 1;
+                    int x = index * Long.SIZE + bit;
+                    if ((row[index] >>> bit & 1) != 0) {
+                        columnStart[x] = y == 0 ? -1 : y;
+                    } else if (columnStart[x] >= 0) {
+                        runs[y - columnStart[x]]++;
+                    }
+                }
+            }
+            long[] swap = previous;
+            previous = row;
+            row = swap;
+        }
+
+        int seen = 0;
+        for (int length = ExitFinder.MIN_OPENING_WIDTH; length <= longest; length++) {
+            seen += runs[length];
+            if (seen >= ExitFinder.MIN_OPENING_WIDTH) {
+                return length;
+            }
+        }
+        return longest;
+    }
+
+    /**
+     * Counts the runs of path in one row that have wall at both ends.
+     *
+     * @param row The packed row.
+     * @param width The width of the row in pixels.
+     * @param runs The counts of runs by length, added to.
+     */
+    private static void countRowRuns(long[] row, int width, int[] runs) {
+        int x = nextBit(row, width, 0, true);
+        while (x < width) {
+            int end = nextBit(row, width, x, false);
+            if (x > 0 && end < width) {
+                runs[end - x]++;
+            }
+            x = nextBit(row, width, end, true);
+        }
+    }
+
+    /**
+     * Finds the next pixel of a row that is path, or that is wall.
+     *
+     * @param row The packed row.
+     * @param width The width of the row in pixels.
+     * @param from The pixel to start looking at.
+     * @param walkable True to look for path, false to look for wall.
+     * @return The x-coordinate of the pixel found, or the width if there is none.
+     */
+    private static int nextBit(long[] row, int width, int from, boolean walkable) {
+        int index = from / Long.SIZE;
+        if (index >= row.length) {
+            return width;
+        }
+        long word = (walkable ? row[index] : ~row[index]) & -1L << from;
+        while (word == 0) {
+            if (++index == row.length) {
+                return width;
+            }
+            word = walkable ? row[index] : ~row[index];
+        }
+        return Math.min(width, index * Long.SIZE + Long.numberOfTrailingZeros(word));
+    }
+
+    /**
+     * Identifies a maze by its content.
+     */
+    private record Key(long contentHash, int width, int height) {
+    }
+}
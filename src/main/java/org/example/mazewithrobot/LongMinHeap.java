@@ -0,0 +1,83 @@
+package org.example.mazewithrobot;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A growable binary min-heap of primitive longs.
+ * Solvers pack a priority into the high bits and a node or state ID into the low bits,
+ * so the heap orders entries by priority without any per-entry objects.
+ */
+final class LongMinHeap {
+    /** The heap-ordered entries. */
+    private long[] heap = new long[64];
+
+    /** The number of entries. */
+    private int size;
+
+    /**
+     * Removes all entries, keeping the buffer for reuse.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param value The entry to add.
+     */
+    void add(long value) {
+        if (size == heap.length) {
+            long[] larger = new long[heap.length << 1];
+            System.arraycopy(heap, 0, larger, 0, size);
+            heap = larger;
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    /**
+     * Removes and returns the smallest entry.
+     *
+     * @return The smallest entry.
+     */
+    long poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        long smallest = heap[0];
+        long last = heap[--size];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = last;
+        return smallest;
+    }
+
+    /**
+     * Checks if there are no entries.
+     *
+     * @return True if the heap is empty, false otherwise.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,268 @@
+package org.example.mazewithrobot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A walkability grid read straight from a memory-mapped file, for mazes whose pixels do not fit in the heap.
+ * The operating system pages the bits in as the solver touches them, so the maze itself costs memory
+ * only for the region being explored.
+ * The file is mapped in chunks of whole rows, since one mapping cannot exceed 2 GB.
+ * <p>
+ * The search does not shrink with it: solvers keep their state in arrays over the whole lattice,
+ * about 9 bytes of heap per lattice position, and node IDs are ints, so a lattice has fewer than 2^31
+ * positions. At a 10-pixel step that allows mazes up to about 460,000 pixels square, given some 20 GB of heap;
+ * a 100,000 by 100,000 cell maze has far more positions than that and cannot be solved.
+ * {@link GridSolveMain} solves a grid file from the command line.
+ * <p>
+ * A grid file is a 32-byte big-endian header followed by the packed rows,
+ * in the same layout as {@link WalkabilityGrid}:
+ * <pre>
+ * int   magic "MZGR"
+ * short version
+ * short reserved, 0
+ * int   width, height
+ * long  content hash
+ * long  reserved, 0
+ * long[height][(width + 63) / 64] rows
+ * </pre>
+ */
+public final class MappedGrid implements MazeGrid {
+    /** The magic number at the start of a grid file, "MZGR" in ASCII. */
+    public static final int MAGIC = 0x4D5A4752;
+
+    /** The format version written by this class. */
+    public static final short VERSION = 1;
+
+    /** The size of the file header in bytes. */
+    static final int HEADER_BYTES = 32;
+
+    /** The maximum size of one mapped chunk in bytes. */
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    /** The width of the grid in pixels. */
+    private final int width;
+
+    /** The height of the grid in pixels. */
+    private final int height;
+
+    /** The number of 64-bit words used to store one row. */
+    private final int wordsPerRow;
+
+    /** The number of rows in each mapped chunk. */
+    private final int rowsPerChunk;
+
+    /** The mapped chunks of rows. */
+    private final MappedByteBuffer[] chunks;
+
+    /** The content hash stored in the file. */
+    private final long contentHash;
+
+    private MappedGrid(int width, int height, long contentHash, int rowsPerChunk, MappedByteBuffer[] chunks) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = WalkabilityGrid.wordsPerRow(width);
+        this.contentHash = contentHash;
+        this.rowsPerChunk = rowsPerChunk;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Maps a grid file for reading.
+     *
+     * @param file The grid file.
+     * @return The mapped grid.
+     * @throws IOException If the file cannot be read or is not a grid file.
+     */
+    public static MappedGrid open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a grid file: " + file);
+            }
+            short version = header.getShort(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported grid format version " + version);
+            }
+            int width = header.getInt(8);
+            int height = header.getInt(12);
+            long contentHash = header.getLong(16);
+            long rowBytes = (long) WalkabilityGrid.wordsPerRow(width) * Long.BYTES;
+            if (width <= 0 || height <= 0 || channel.size() != HEADER_BYTES + rowBytes * height) {
+                throw new IOException("Corrupt grid file " + file + ": " + width + "x" + height
+                        + ", " + channel.size() + " bytes");
+            }
+
+            int rowsPerChunk = (int) Math.max(1, Math.min(height, MAX_CHUNK_BYTES / rowBytes));
+            MappedByteBuffer[] chunks = new MappedByteBuffer[(height + rowsPerChunk - 1) / rowsPerChunk];
+            for (int i = 0; i < chunks.length; i++) {
+                int rows = Math.min(rowsPerChunk, height - i * rowsPerChunk);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + i * (long) rowsPerChunk * rowBytes, rows * rowBytes);
+            }
+            // The mappings stay valid after the channel is closed
+            return new MappedGrid(width, height, contentHash, rowsPerChunk, chunks);
+        }
+    }
+
+    /**
+     * Writes any grid to a grid file, row by row.
+     *
+     * @param file The file to write, replacing its contents.
+     * @param grid The grid to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, MazeGrid grid) throws IOException {
+        long[] row = new long[WalkabilityGrid.wordsPerRow(grid.getWidth())];
+        try (Writer writer = new Writer(file, grid.getWidth(), grid.getHeight())) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                for (int index = 0; index < row.length; index++) {
+                    row[index] = grid.word(y, index);
+                }
+                writer.writeRow(row);
+            }
+        }
+    }
+
+    @Override
+    public long word(int y, int index) {
+        int chunk = y / rowsPerChunk;
+        int row = y - chunk * rowsPerChunk;
+        return chunks[chunk].getLong((row * wordsPerRow + index) << 3);
+    }
+
+    @Override
+    public long contentHash() {
+        return contentHash;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Streams a grid file to disk one row at a time, so a maze never has to fit in memory whole.
+     * The content hash is computed along the way and written into the header on close.
+     */
+    public static final class Writer implements Closeable {
+        /** The size of the write buffer in bytes. */
+        private static final int BUFFER_BYTES = 1 << 16;
+
+        /** The channel of the file being written. */
+        private final FileChannel channel;
+
+        /** The buffer rows are collected in before being written. */
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        /** The width of the grid in pixels. */
+        private final int width;
+
+        /** The height of the grid in pixels. */
+        private final int height;
+
+        /** The number of 64-bit words in one row. */
+        private final int wordsPerRow;
+
+        /** The number of rows written so far. */
+        private int rowsWritten;
+
+        /** The content hash of the rows written so far. */
+        private long hash;
+
+        /**
+         * Creates a grid file and prepares to write its rows.
+         *
+         * @param file The file to write, replacing its contents.
+         * @param width The width of the grid in pixels.
+         * @param height The height of the grid in pixels.
+         * @throws IOException If the file cannot be created.
+         */
+        public Writer(Path file, int width, int height) throws IOException {
+            if (width <= 0 || height <= 0) {
+                throw new IllegalArgumentException("Grid must not be empty: " + width + "x" + height);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.width = width;
+            this.height = height;
+            this.wordsPerRow = WalkabilityGrid.wordsPerRow(width);
+            this.hash = WalkabilityGrid.hashSeed(width, height);
+            // Room for the header, which is filled in on close
+            buffer.put(new byte[HEADER_BYTES]);
+        }
+
+        /**
+         * Writes the next row.
+         *
+         * @param words The packed row, at least {@code (width + 63) / 64} words; bits past the width must be clear.
+         * @throws IOException If the file cannot be written.
+         */
+        public void writeRow(long[] words) throws IOException {
+            if (rowsWritten == height) {
+                throw new IllegalStateException("All " + height + " rows have been written");
+            }
+            for (int index = 0; index < wordsPerRow; index++) {
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+                buffer.putLong(words[index]);
+                hash = WalkabilityGrid.hashWord(hash, words[index]);
+            }
+            rowsWritten++;
+        }
+
+        /**
+         * Finishes the file by writing the header.
+         *
+         * @throws IOException If the file cannot be written, or not every row was written.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+                if (rowsWritten != height) {
+                    throw new IOException("Only " + rowsWritten + " of " + height + " rows were written");
+                }
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC)
+                        .putShort(VERSION)
+                        .putShort((short) 0)
+                        .putInt(width)
+                        .putInt(height)
+                        .putLong(WalkabilityGrid.hashFinish(hash))
+                        .putLong(0)
+                        .flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            } finally {
+                channel.close();
+            }
+        }
+
+        /**
+         * Writes the buffered bytes to the file.
+         */
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -1,5 +1,23 @@
 package org.example.mazewithrobot;
 
-public class Maze2Car {
+import javafx.scene.image.Image;
 
+/**
+ * A car placed at the entrance of the second maze.
+ */
+public class Maze2Car extends Car {
+    /** The starting x-coordinate at the entrance of maze2.png. */
+    public static final double START_X = 10;
+
+    /** The starting y-coordinate at the entrance of maze2.png. */
+    public static final double START_Y = 260;
+
+    /**
+     * Constructs a car at the entrance of the second maze.
+     *
+     * @param mazeImage The Image object of maze2.png.
+     */
+    public Maze2Car(Image mazeImage) {
+        super(START_X, START_Y, mazeImage);
+    }
 }
@@ -14,11 +14,10 @@ import javafx.scene.control.Button;
 public class Maze2Main extends Application {
 
 
-    private Car car;
+    private Maze2Car car;
     private Image mazeImage;
     private ImageView mazeView;
     private boolean isSolving = false;
-    private static final int STEP_SIZE = 10;
 
     @Override
     public void start(Stage primaryStage) {
@@ -26,11 +25,12 @@ public class Maze2Main extends Application {
         mazeView = new ImageView(mazeImage);
 
 
-        car = new Car(10, 260, mazeImage);
+        car = new Maze2Car(mazeImage);
+        car.setSmoothPaths(true);
 
 
         Pane mazePane = new Pane();
-        mazePane.getChildren().addAll(mazeView, car.getBody(), car.getRoof(), car.getWheel1(), car.getWheel2(), car.getHeadlight());
+        mazePane.getChildren().addAll(mazeView, car.getNode());
 
 
         Button solveButton = new Button("Solve Maze");
@@ -50,10 +50,10 @@ public class Maze2Main extends Application {
         scene.setOnKeyPressed(event -> {
             if (!isSolving) {
                 switch (event.getCode()) {
-                    case UP:    car.move(0, -STEP_SIZE); break;
-                    case DOWN:  car.move(0, STEP_SIZE); break;
-                    case LEFT:  car.move(-STEP_SIZE, 0); break;
-                    case RIGHT: car.move(STEP_SIZE, 0); break;
+                    case UP:    car.move(0, -car.getStepSize()); break;
+                    case DOWN:  car.move(0, car.getStepSize()); break;
+                    case LEFT:  car.move(-car.getStepSize(), 0); break;
+                    case RIGHT: car.move(car.getStepSize(), 0); break;
                 }
             }
             event.consume();
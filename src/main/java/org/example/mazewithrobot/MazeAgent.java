@@ -0,0 +1,386 @@
+package org.example.mazewithrobot;
+
+import javafx.scene.image.Image;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Base class for anything that moves through a maze on screen.
+ * Movement, collision checks and solving are delegated to a shared {@link MazeNavigator};
+ * subclasses only decide how the agent is drawn.
+ * Searches and maze edits run off the FX thread, one at a time per agent, and solved routes
+ * are played back by the shared {@link AgentAnimator}. Apart from that, agents are used on the FX thread.
+ */
+public abstract class MazeAgent {
+    /** The size of each step the agent takes unless set otherwise. */
+    protected static final int STEP_SIZE = 10;
+
+    /**
+     * The system property giving the step of every new agent in pixels,
+     * or {@code auto} to derive it from the narrowest corridor of the agent's maze.
+     */
+    public static final String STEP_PROPERTY = "mazewithrobot.step";
+
+    /** The speed at which a solved path is replayed unless set otherwise (in steps per second). */
+    protected static final double SOLVE_SPEED = 10;
+
+    /** The range within which the agent is considered to have reached the exit. */
+    protected static final int EXIT_RANGE = 35;
+
+    /** The navigation engine for this agent. */
+    private final MazeNavigator navigator;
+
+    /** The current x-coordinate of the agent. */
+    private double x;
+
+    /** The current y-coordinate of the agent. */
+    private double y;
+
+    /** Flag indicating whether the agent is currently solving or replaying a solved path. */
+    private boolean isSolving;
+
+    /** The number of plans made so far, so the animator can drop routes that have been replaced. */
+    private int plans;
+
+    /** The speed at which solved paths are replayed, in steps per second. */
+    private double solveSpeed = SOLVE_SPEED;
+
+    /** The searches and edits of this agent, chained so they run one at a time off the FX thread. */
+    private CompletableFuture<Void> searches = CompletableFuture.completedFuture(null);
+
+    /** Flag indicating whether the agent has been moved by hand since its last solve. */
+    private boolean movedByHand;
+
+    /** Flag indicating whether solved paths are smoothed into straight legs before they are replayed. */
+    private volatile boolean smoothPaths;
+
+    /**
+     * Constructs a new agent at a starting position in a maze.
+     *
+     * @param x The starting x-coordinate.
+     * @param y The starting y-coordinate.
+     * @param mazeImage The Image object of the maze.
+     * @param footprintWidth The width of the agent's collision footprint in pixels.
+     * @param footprintHeight The height of the agent's collision footprint in pixels.
+     */
+    protected MazeAgent(double x, double y, Image mazeImage, int footprintWidth, int footprintHeight) {
+        this(x, y, MazeImages.gridOf(mazeImage, (int) x, (int) y), footprintWidth, footprintHeight);
+    }
+
+    /**
+     * Constructs a new agent at a starting position in a maze whose grid has already been built,
+     * so many agents can share one grid.
+     *
+     * @param x The starting x-coordinate.
+     * @param y The starting y-coordinate.
+     * @param grid The walkability grid of the maze.
+     * @param footprintWidth The width of the agent's collision footprint in pixels.
+     * @param footprintHeight The height of the agent's collision footprint in pixels.
+     */
+    protected MazeAgent(double x, double y, MazeGrid grid, int footprintWidth, int footprintHeight) {
+        this.x = x;
+        this.y = y;
+        this.navigator = new MazeNavigator(grid, new Point(x, y), footprintWidth, footprintHeight, STEP_SIZE, EXIT_RANGE);
+        applyStepProperty();
+    }
+
+    /**
+     * Applies the step named by the {@value #STEP_PROPERTY} system property, if set.
+     * Called from the constructor, so it must not call methods a subclass can override.
+     */
+    private void applyStepProperty() {
+        String step = System.getProperty(STEP_PROPERTY);
+        if ("auto".equals(step)) {
+            changeStep(automaticStep());
+        } else if (step != null) {
+            changeStep(Integer.parseInt(step));
+        }
+    }
+
+    /**
+     * Moves the agent by the specified delta values if the move is valid.
+     * The agent cannot be moved by hand while it is solving.
+     *
+     * @param deltaX The change in x-coordinate.
+     * @param deltaY The change in y-coordinate.
+     */
+    public void move(int deltaX, int deltaY) {
+        if (isSolving) return;
+        double newX = x + deltaX;
+        double newY = y + deltaY;
+        if (navigator.isValidMove(newX, newY)) {
+            moveTo(newX, newY);
+            movedByHand = true;
+            SolverMetrics.shared().step();
+        }
+    }
+
+    /**
+     * Initiates the maze-solving process.
+     * The whole path to the exit is computed up front by the solver, off the FX thread,
+     * then replayed by the shared animator at the agent's solve speed.
+     * After the agent has been moved by hand, and if the chosen solver finds shortest paths anyway,
+     * the shortest path is read off the maze's distance field instead of searching again;
+     * other solvers always search, so the path is the one they would find.
+     */
+    public void solveMaze() {
+        if (isSolving) return;
+        isSolving = true;
+        boolean replan = movedByHand && navigator.getSolver().findsShortestPaths();
+        movedByHand = false;
+        double startX = x;
+        double startY = y;
+        plan(() -> {
+            Route route = replan ? navigator.replan(startX, startY) : navigator.solve(startX, startY);
+            SolveResult result = route.result();
+            EventLog.shared().info("solved", "x", startX, "y", startY, "micros", result.getElapsedNanos() / 1_000,
+                    "nodesExpanded", result.getNodesExpanded(), "length", route.length(), "found", route.isFound());
+            return route;
+        });
+    }
+
+    /**
+     * Runs a search after this agent's earlier searches and edits, and publishes its route to the animator.
+     *
+     * @param search The search, run off the FX thread.
+     */
+    private void plan(Supplier<Route> search) {
+        int plan = ++plans;
+        AgentAnimator animator = AgentAnimator.shared();
+        searches = searches.thenRunAsync(() -> {
+            Route route = null;
+            try {
+                route = search.get();
+                if (smoothPaths && route != null && route.isFound()) {
+                    route = PathSmoother.smooth(route);
+                }
+            } catch (RuntimeException e) {
+                EventLog.shared().error("search.failed", e);
+            }
+            animator.publish(this, plan, route, navigator.getEditCount());
+        });
+    }
+
+    /**
+     * Counts a step each time the agent reaches a position of its route,
+     * and checks whether the route still holds.
+     * If the maze has been edited since it was planned, the rest of the route is re-planned
+     * incrementally from here.
+     *
+     * @param plannedEdits The navigator's edit count the route was planned against.
+     * @return True to go on, false if a new plan has been requested.
+     */
+    boolean continueReplay(int plannedEdits) {
+        SolverMetrics.shared().step();
+        if (plannedEdits == navigator.getEditCount()) {
+            return true;
+        }
+        double fromX = x;
+        double fromY = y;
+        plan(() -> {
+            Route route = navigator.planIncrementally(fromX, fromY);
+            if (!route.isFound()) {
+                EventLog.shared().info("exit.cutOff", "x", fromX, "y", fromY);
+            }
+            return route;
+        });
+        return false;
+    }
+
+    /**
+     * Called by the animator when the agent has played back the whole of its route.
+     *
+     * @param found True if the route reached the exit.
+     */
+    void replayFinished(boolean found) {
+        isSolving = false;
+        if (found) {
+            Point exit = navigator.getExits().exit();
+            EventLog.shared().info("exit.reached", "x", x, "y", y, "distance", new Point(x, y).distanceTo(exit));
+        }
+    }
+
+    /**
+     * Opens or closes a rectangle of the maze for this agent.
+     * The edit is applied off the FX thread, in order with the agent's searches;
+     * an agent replaying a route re-plans around the change at its next step.
+     *
+     * @param x The x-coordinate of the rectangle's top-left corner.
+     * @param y The y-coordinate of the rectangle's top-left corner.
+     * @param width The width of the rectangle in pixels.
+     * @param height The height of the rectangle in pixels.
+     * @param walkable True to make the rectangle path, false to make it wall.
+     */
+    public void setWalkable(int x, int y, int width, int height, boolean walkable) {
+        searches = searches.thenRunAsync(() -> navigator.setWalkable(x, y, width, height, walkable));
+    }
+
+    /**
+     * Moves the agent to a specific position and redraws it.
+     *
+     * @param newX The x-coordinate to move to.
+     * @param newY The y-coordinate to move to.
+     */
+    private void moveTo(double newX, double newY) {
+        place(newX, newY);
+        updatePosition();
+    }
+
+    /**
+     * Sets the agent's position without redrawing it, so the animator can redraw once per frame.
+     *
+     * @param newX The x-coordinate to move to.
+     * @param newY The y-coordinate to move to.
+     */
+    void place(double newX, double newY) {
+        x = newX;
+        y = newY;
+    }
+
+    /**
+     * Turns the agent to face the direction of its next move during replay.
+     * Agents that do not show a heading can ignore this.
+     *
+     * @param direction One of Lattice.UP, RIGHT, DOWN or LEFT.
+     */
+    protected void face(int direction) {
+    }
+
+    /**
+     * Turns the agent to face the angle of its next move during replay, which is any angle
+     * once paths are smoothed. Unless overridden, the agent faces the nearest of the four directions.
+     *
+     * @param angle The angle in degrees, clockwise from facing right, as on screen.
+     */
+    protected void turnTo(double angle) {
+        int[] nearest = {Lattice.RIGHT, Lattice.DOWN, Lattice.LEFT, Lattice.UP};
+        face(nearest[Math.floorMod(Math.round(angle / 90), 4)]);
+    }
+
+    /**
+     * Updates the agent's position in the UI.
+     */
+    protected abstract void updatePosition();
+
+    /**
+     * Sets the distance the agent moves with each step, by hand or replaying a solved path,
+     * which is also the resolution at which it plans.
+     * The replay speed is scaled so the agent still covers the same number of pixels per second.
+     *
+     * @param stepSize The step in pixels.
+     */
+    public void setStepSize(int stepSize) {
+        changeStep(stepSize);
+    }
+
+    /**
+     * Sets the step to the largest at which the agent's footprint still has a position
+     * in every corridor of the maze, measured from the narrowest corridor, and at the exit.
+     */
+    public void useAutomaticStepSize() {
+        setStepSize(automaticStep());
+    }
+
+    /**
+     * Changes the step and scales the replay speed to match, as described for {@link #setStepSize}.
+     */
+    private void changeStep(int stepSize) {
+        int previous = navigator.getStep();
+        navigator.setStep(stepSize);
+        solveSpeed = solveSpeed * previous / stepSize;
+    }
+
+    /**
+     * Gets the step chosen by {@link #useAutomaticStepSize} for this agent's maze and footprint.
+     */
+    private int automaticStep() {
+        return LatticeResolution.automaticStep(navigator.getGrid(),
+                navigator.getFootprintWidth(), navigator.getFootprintHeight(), EXIT_RANGE);
+    }
+
+    /**
+     * Gets the distance the agent moves with each step.
+     *
+     * @return The step in pixels.
+     */
+    public int getStepSize() {
+        return navigator.getStep();
+    }
+
+    /**
+     * Sets whether solved paths are smoothed into straight legs between waypoints before they are replayed,
+     * so the agent cuts corners at any angle instead of following the staircase of lattice moves.
+     *
+     * @param smoothPaths True to smooth paths from the next solve on.
+     */
+    public void setSmoothPaths(boolean smoothPaths) {
+        this.smoothPaths = smoothPaths;
+    }
+
+    /**
+     * Sets the speed at which solved paths are replayed.
+     *
+     * @param stepsPerSecond The number of lattice steps moved per second.
+     */
+    public void setSolveSpeed(double stepsPerSecond) {
+        if (!(stepsPerSecond > 0)) {
+            throw new IllegalArgumentException("Speed must be positive: " + stepsPerSecond);
+        }
+        this.solveSpeed = stepsPerSecond;
+    }
+
+    /**
+     * Gets the speed at which solved paths are replayed.
+     *
+     * @return The number of lattice steps moved per second.
+     */
+    public double getSolveSpeed() {
+        return solveSpeed;
+    }
+
+    /**
+     * Sets the algorithm used to solve the maze.
+     *
+     * @param solver The solver to use from the next call to solveMaze() on.
+     */
+    public void setSolver(MazeSolver solver) {
+        navigator.setSolver(solver);
+    }
+
+    /**
+     * Sets the algorithm used to solve the maze from one of the built-in strategies.
+     *
+     * @param strategy The strategy to use from the next call to solveMaze() on.
+     */
+    public void setSolverStrategy(SolverStrategy strategy) {
+        navigator.setSolver(strategy.newSolver());
+    }
+
+    /**
+     * Gets the navigation engine of this agent.
+     *
+     * @return The navigator.
+     */
+    public MazeNavigator getNavigator() {
+        return navigator;
+    }
+
+    /**
+     * Gets the current x-coordinate of the agent.
+     *
+     * @return The current x-coordinate.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Gets the current y-coordinate of the agent.
+     *
+     * @return The current y-coordinate.
+     */
+    public double getY() {
+        return y;
+    }
+}
@@ -0,0 +1,444 @@
+package org.example.mazewithrobot;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Draws a maze and any number of agents into one {@link WritableImage}, for far more agents
+ * than scene-graph nodes can handle. The image is kept in an ARGB buffer divided into tiles;
+ * each frame, only the tiles an agent left or entered, or whose overlay changed, are redrawn
+ * from the maze and overlay layers, and each row of dirty tiles is written to the image with
+ * one bulk {@link PixelWriter#setPixels} call.
+ * <p>
+ * The optional overlay shows which positions searches have reached (the frontier) and
+ * expanded (visited). Searches report to it from their own threads; the events are buffered
+ * and a fixed number are drawn per frame, so the overlay replays the searches as they spread.
+ * The canvas itself must only be used on the FX thread.
+ */
+public class MazeCanvas {
+    /** The width and height of a tile in pixels. */
+    private static final int TILE = 32;
+
+    /** The colour of positions searches have reached but not expanded. */
+    private static final int FRONTIER = 0xFFFFA500;
+
+    /** The colour of positions searches have expanded. */
+    private static final int VISITED = 0xFF6495ED;
+
+    /** The event kind of a discovered position. */
+    private static final int DISCOVERED_EVENT = 1;
+
+    /** The event kind of an expanded position. */
+    private static final int EXPANDED_EVENT = 2;
+
+    /** The width of the maze in pixels. */
+    private final int width;
+
+    /** The height of the maze in pixels. */
+    private final int height;
+
+    /** The pixels of the maze image. */
+    private final int[] background;
+
+    /** The overlay colour of each pixel, blended with the maze, or 0 where there is none. */
+    private final int[] overlay;
+
+    /** The pixels as last drawn: maze, overlay and agents. */
+    private final int[] frame;
+
+    /** The image the frame is written to. */
+    private final WritableImage image;
+
+    /** The node that shows the image. */
+    private final ImageView view;
+
+    /** The number of tiles across the image. */
+    private final int tilesX;
+
+    /** The number of tiles down the image. */
+    private final int tilesY;
+
+    /** The tiles to redraw this frame, indexed by {@code tileY * tilesX + tileX}. */
+    private final BitSet dirty;
+
+    /** The agents drawn on the canvas. */
+    private final List<Sprite> sprites = new ArrayList<>();
+
+    /** The overlay events reported by searches and not drawn yet; guarded by the canvas. */
+    private long[] events = new long[1024];
+
+    /** The number of buffered overlay events. */
+    private int eventCount;
+
+    /** The index of the first buffered overlay event not drawn yet. */
+    private int eventStart;
+
+    /** The number of overlay events drawn per frame. */
+    private int overlayEventsPerFrame = 2000;
+
+    /** Flag indicating whether the overlay is shown. */
+    private boolean overlayVisible = true;
+
+    /** The timer that redraws the canvas once per frame. */
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            render();
+        }
+    };
+
+    /**
+     * Constructs a canvas showing a maze.
+     *
+     * @param mazeImage The Image object of the maze.
+     */
+    public MazeCanvas(Image mazeImage) {
+        this.width = (int) mazeImage.getWidth();
+        this.height = (int) mazeImage.getHeight();
+        this.background = MazeImages.readArgb(mazeImage);
+        this.overlay = new int[background.length];
+        this.frame = background.clone();
+        this.image = new WritableImage(width, height);
+        this.view = new ImageView(image);
+        this.tilesX = (width + TILE - 1) / TILE;
+        this.tilesY = (height + TILE - 1) / TILE;
+        this.dirty = new BitSet(tilesX * tilesY);
+        dirty.set(0, tilesX * tilesY);
+    }
+
+    /**
+     * Adds an agent drawn as a solid square the size of its footprint.
+     *
+     * @param agent The agent, normally a {@link CanvasAgent}.
+     * @param argb The colour of the square.
+     */
+    public void addAgent(MazeAgent agent, int argb) {
+        int spriteWidth = agent.getNavigator().getFootprintWidth();
+        int spriteHeight = agent.getNavigator().getFootprintHeight();
+        int[] pixels = new int[spriteWidth * spriteHeight];
+        Arrays.fill(pixels, argb);
+        sprites.add(new Sprite(agent, pixels, spriteWidth, spriteHeight));
+    }
+
+    /**
+     * Adds an agent drawn as an image, with its top-left corner at the agent's position.
+     * Fully transparent pixels of the image are not drawn.
+     *
+     * @param agent The agent, normally a {@link CanvasAgent}.
+     * @param sprite The image to draw the agent with.
+     */
+    public void addAgent(MazeAgent agent, Image sprite) {
+        sprites.add(new Sprite(agent, MazeImages.readArgb(sprite), (int) sprite.getWidth(), (int) sprite.getHeight()));
+    }
+
+    /**
+     * Creates a listener that draws a search's progress on the overlay.
+     * The listener may be shared by the navigators of many agents.
+     *
+     * @return The overlay listener.
+     */
+    public SearchListener overlayListener() {
+        return new SearchListener() {
+            @Override
+            public void discovered(Lattice lattice, int node) {
+                record(DISCOVERED_EVENT, lattice, node);
+            }
+
+            @Override
+            public void expanded(Lattice lattice, int node) {
+                record(EXPANDED_EVENT, lattice, node);
+            }
+        };
+    }
+
+    /**
+     * Starts redrawing the canvas every frame.
+     */
+    public void start() {
+        timer.start();
+    }
+
+    /**
+     * Stops redrawing the canvas.
+     */
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Shows or hides the overlay of search progress.
+     *
+     * @param visible True to show the overlay.
+     */
+    public void setOverlayVisible(boolean visible) {
+        if (visible != overlayVisible) {
+            overlayVisible = visible;
+            dirty.set(0, tilesX * tilesY);
+        }
+    }
+
+    /**
+     * Checks if the overlay of search progress is shown.
+     *
+     * @return True if the overlay is shown.
+     */
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    /**
+     * Clears the overlay of search progress, including events not drawn yet.
+     */
+    public void clearOverlay() {
+        synchronized (this) {
+            eventStart = 0;
+            eventCount = 0;
+        }
+        Arrays.fill(overlay, 0);
+        dirty.set(0, tilesX * tilesY);
+    }
+
+    /**
+     * Sets how many overlay events are drawn per frame; more makes the overlay catch up faster.
+     *
+     * @param events The number of events per frame.
+     */
+    public void setOverlayEventsPerFrame(int events) {
+        if (events <= 0) {
+            throw new IllegalArgumentException("Events per frame must be positive: " + events);
+        }
+        this.overlayEventsPerFrame = events;
+    }
+
+    /**
+     * Draws whatever changed since the last frame.
+     */
+    public void render() {
+        drawOverlayEvents();
+        for (Sprite sprite : sprites) {
+            int x = (int) Math.round(sprite.agent.getX());
+            int y = (int) Math.round(sprite.agent.getY());
+            if (x != sprite.drawnX || y != sprite.drawnY) {
+                if (sprite.drawnX != Integer.MIN_VALUE) {
+                    markDirty(sprite.drawnX, sprite.drawnY, sprite.width, sprite.height);
+                }
+                markDirty(x, y, sprite.width, sprite.height);
+                sprite.drawnX = x;
+                sprite.drawnY = y;
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+        for (int tile = dirty.nextSetBit(0); tile >= 0; tile = dirty.nextSetBit(tile + 1)) {
+            restoreTile(tile);
+        }
+        for (Sprite sprite : sprites) {
+            drawSprite(sprite);
+        }
+        flush();
+    }
+
+    /**
+     * Gets the node that shows the canvas.
+     *
+     * @return The image view.
+     */
+    public ImageView getView() {
+        return view;
+    }
+
+    /**
+     * Buffers an overlay event from a search thread.
+     */
+    private void record(int kind, Lattice lattice, int node) {
+        // Mark a square one step wide at the centre of the footprint
+        int size = Math.min(lattice.getStep(), 0xFF);
+        int x = lattice.xOf(node) + lattice.getFootprintWidth() / 2 - size / 2;
+        int y = lattice.yOf(node) + lattice.getFootprintHeight() / 2 - size / 2;
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return;
+        }
+        long event = (long) kind << 62 | (long) size << 54 | (long) x << 27 | y;
+        synchronized (this) {
+            if (eventCount == events.length) {
+                if (eventStart > 0) {
+                    System.arraycopy(events, eventStart, events, 0, eventCount - eventStart);
+                    eventCount -= eventStart;
+                    eventStart = 0;
+                } else {
+                    events = Arrays.copyOf(events, events.length * 2);
+                }
+            }
+            events[eventCount++] = event;
+        }
+    }
+
+    /**
+     * Draws up to the per-frame number of buffered overlay events into the overlay layer.
+     */
+    private void drawOverlayEvents() {
+        long[] batch;
+        synchronized (this) {
+            int count = Math.min(overlayEventsPerFrame, eventCount - eventStart);
+            if (count == 0) {
+                return;
+            }
+            batch = Arrays.copyOfRange(events, eventStart, eventStart + count);
+            eventStart += count;
+            if (eventStart == eventCount) {
+                eventStart = 0;
+                eventCount = 0;
+            }
+        }
+        for (long event : batch) {
+            int kind = (int) (event >>> 62);
+            int size = (int) (event >>> 54) & 0xFF;
+            int x = (int) (event >>> 27) & 0x7FFFFFF;
+            int y = (int) event & 0x7FFFFFF;
+            int colour = kind == EXPANDED_EVENT ? VISITED : FRONTIER;
+            int right = Math.min(width, x + size);
+            int bottom = Math.min(height, y + size);
+            for (int row = y; row < bottom; row++) {
+                for (int i = row * width + x; i < row * width + right; i++) {
+                    // A visited position stays visited when it is reached again by another search
+                    if (kind == EXPANDED_EVENT || overlay[i] == 0) {
+                        overlay[i] = blend(background[i], colour);
+                    }
+                }
+            }
+            if (overlayVisible) {
+                markDirty(x, y, right - x, bottom - y);
+            }
+        }
+    }
+
+    /**
+     * Marks the tiles a rectangle touches as needing to be redrawn.
+     */
+    private void markDirty(int x, int y, int w, int h) {
+        int fromX = Math.max(0, x) / TILE;
+        int fromY = Math.max(0, y) / TILE;
+        int toX = Math.min(width - 1, x + w - 1) / TILE;
+        int toY = Math.min(height - 1, y + h - 1) / TILE;
+        for (int tileY = fromY; tileY <= toY; tileY++) {
+            if (fromX <= toX) {
+                dirty.set(tileY * tilesX + fromX, tileY * tilesX + toX + 1);
+            }
+        }
+    }
+
+    /**
+     * Redraws a tile's maze and overlay layers into the frame.
+     */
+    private void restoreTile(int tile) {
+        int x = tile % tilesX * TILE;
+        int y = tile / tilesX * TILE;
+        int right = Math.min(width, x + TILE);
+        int bottom = Math.min(height, y + TILE);
+        for (int row = y; row < bottom; row++) {
+            int from = row * width + x;
+            int to = row * width + right;
+            if (overlayVisible) {
+                for (int i = from; i < to; i++) {
+                    frame[i] = overlay[i] != 0 ? overlay[i] : background[i];
+                }
+            } else {
+                System.arraycopy(background, from, frame, from, to - from);
+            }
+        }
+    }
+
+    /**
+     * Draws the parts of a sprite that lie on dirty tiles into the frame.
+     */
+    private void drawSprite(Sprite sprite) {
+        int left = Math.max(0, sprite.drawnX);
+        int top = Math.max(0, sprite.drawnY);
+        int right = Math.min(width, sprite.drawnX + sprite.width);
+        int bottom = Math.min(height, sprite.drawnY + sprite.height);
+        for (int row = top; row < bottom; row++) {
+            int tileRow = row / TILE * tilesX;
+            for (int col = left; col < right; col++) {
+                if (!dirty.get(tileRow + col / TILE)) {
+                    // Skip to the next tile
+                    col = (col / TILE + 1) * TILE - 1;
+                    continue;
+                }
+                int pixel = sprite.pixels[(row - sprite.drawnY) * sprite.width + (col - sprite.drawnX)];
+                if (pixel >>> 24 != 0) {
+                    frame[row * width + col] = pixel;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes each horizontal run of dirty tiles to the image in one call, then clears the dirty tiles.
+     */
+    private void flush() {
+        PixelWriter writer = image.getPixelWriter();
+        for (int tileY = 0; tileY < tilesY; tileY++) {
+            int rowStart = tileY * tilesX;
+            int run = dirty.nextSetBit(rowStart);
+            while (run >= 0 && run < rowStart + tilesX) {
+                int runEnd = Math.min(dirty.nextClearBit(run), rowStart + tilesX);
+                int x = (run - rowStart) * TILE;
+                int y = tileY * TILE;
+                int w = Math.min(width, (runEnd - rowStart) * TILE) - x;
+                int h = Math.min(height, y + TILE) - y;
+                writer.setPixels(x, y, w, h, PixelFormat.getIntArgbInstance(), frame, y * width + x, width);
+                run = dirty.nextSetBit(runEnd);
+            }
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Mixes an overlay colour half and half into a maze pixel.
+     */
+    private static int blend(int pixel, int colour) {
+        int rb = ((pixel & 0xFF00FF) + (colour & 0xFF00FF)) >>> 1 & 0xFF00FF;
+        int g = ((pixel & 0xFF00) + (colour & 0xFF00)) >>> 1 & 0xFF00;
+        return 0xFF000000 | rb | g;
+    }
+
+    /**
+     * An agent and the pixels it is drawn with.
+     */
+    private static final class Sprite {
+        /** The agent drawn. */
+        private final MazeAgent agent;
+
+        /** The ARGB pixels of the sprite. */
+        private final int[] pixels;
+
+        /** The width of the sprite in pixels. */
+        private final int width;
+
+        /** The height of the sprite in pixels. */
+        private final int height;
+
+        /** The x-coordinate the sprite was last drawn at, or Integer.MIN_VALUE before it is first drawn. */
+        private int drawnX = Integer.MIN_VALUE;
+
+        /** The y-coordinate the sprite was last drawn at. */
+        private int drawnY;
+
+        Sprite(MazeAgent agent, int[] pixels, int width, int height) {
+            this.agent = agent;
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
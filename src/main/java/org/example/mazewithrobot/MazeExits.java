@@ -0,0 +1,13 @@
+package org.example.mazewithrobot;
+
+import java.util.List;
+
+/**
+ * The openings of a maze, and which of them an agent enters by and leaves through.
+ *
+ * @param entrance The opening closest to the agent's starting position.
+ * @param exit The opening furthest from the agent's starting position.
+ * @param openings All openings found in the border of the maze.
+ */
+public record MazeExits(Point entrance, Point exit, List<Point> openings) {
+}
@@ -0,0 +1,514 @@
+package org.example.mazewithrobot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Generates perfect mazes of any size from a seed, for load testing the solvers.
+ * The maze is carved on a grid of cells, and then drawn band by band straight into a PNG or a grid file:
+ * all pixel rows of a wall or of a row of corridors are the same, so each band is drawn once and written
+ * as many times as it is tall. No image of the whole maze is ever held in memory.
+ * The PNG is black and white at one bit per pixel and loads like the bundled mazes.
+ * <p>
+ * The finished maze takes two bits per cell. While carving, the recursive backtracker and Wilson's algorithm
+ * take about three more bits per cell, so they can carve billions of cells, but Kruskal's algorithm
+ * shuffles every wall and keeps a set for every cell, about 12 bytes per cell in all, so on the largest mazes
+ * it needs a heap of several gigabytes and it cannot carve more than about a billion cells.
+ * {@link MazeGeneratorMain} generates a maze file from the command line.
+ * <p>
+ * Corridors are 30 pixels wide and walls 10 by default, so the robot's and car's footprints fit
+ * on the usual 10-pixel lattice. The entrance is on the left border and the exit on the right
+ * border, both in the middle row of cells.
+ */
+public final class MazeGenerator {
+    /** The algorithms a maze can be carved with. */
+    public enum Algorithm {
+        /** Depth-first carving from the first cell; long winding corridors with few branches. */
+        RECURSIVE_BACKTRACKER,
+
+        /** Knocks down walls in random order unless they join already connected cells; many short dead ends. */
+        KRUSKAL,
+
+        /** Loop-erased random walks; every perfect maze is equally likely. Slow to start on large grids. */
+        WILSON
+    }
+
+    /** The ARGB colour of the path. */
+    public static final int PATH = 0xFFFFFFFF;
+
+    /** The ARGB colour of the walls. */
+    public static final int WALL = 0xFF000000;
+
+    /** The corridor width used when none is given, in pixels. */
+    public static final int DEFAULT_CORRIDOR = 30;
+
+    /** The wall thickness used when none is given, in pixels. */
+    public static final int DEFAULT_WALL_THICKNESS = 10;
+
+    /** The size of each compressed PNG data chunk in bytes. */
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    /** The eight-byte signature at the start of every PNG file. */
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /** The number of cells across the maze. */
+    private final int cols;
+
+    /** The number of cells down the maze. */
+    private final int rows;
+
+    /** The width of a corridor in pixels. */
+    private final int corridor;
+
+    /** The thickness of a wall in pixels. */
+    private final int wallThickness;
+
+    /** The cells joined to the cell on their right, indexed by {@code row * cols + col}. */
+    private final BitSet east;
+
+    /** The cells joined to the cell below them, indexed by {@code row * cols + col}. */
+    private final BitSet south;
+
+    /**
+     * Carves a maze with the default corridor width and wall thickness.
+     *
+     * @param algorithm The algorithm to carve with.
+     * @param cols The number of cells across the maze.
+     * @param rows The number of cells down the maze.
+     * @param seed The seed of the random generator; the same seed always gives the same maze.
+     */
+    public MazeGenerator(Algorithm algorithm, int cols, int rows, long seed) {
+        this(algorithm, cols, rows, DEFAULT_CORRIDOR, DEFAULT_WALL_THICKNESS, seed);
+    }
+
+    /**
+     * Carves a maze.
+     *
+     * @param algorithm The algorithm to carve with.
+     * @param cols The number of cells across the maze.
+     * @param rows The number of cells down the maze.
+     * @param corridor The width of a corridor in pixels.
+     * @param wallThickness The thickness of a wall in pixels.
+     * @param seed The seed of the random generator; the same seed always gives the same maze.
+     */
+    public MazeGenerator(Algorithm algorithm, int cols, int rows, int corridor, int wallThickness, long seed) {
+        if (cols < 2 || rows < 2) {
+            throw new IllegalArgumentException("Maze must be at least 2x2 cells: " + cols + "x" + rows);
+        }
+        if (corridor <= 0 || wallThickness <= 0) {
+            throw new IllegalArgumentException("Corridor and wall must be at least 1 pixel: "
+                    + corridor + ", " + wallThickness);
+        }
+        if ((long) cols * rows > Integer.MAX_VALUE
+                || (long) Math.max(cols, rows) * (corridor + wallThickness) + wallThickness > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze too large: " + cols + "x" + rows + " cells");
+        }
+        this.cols = cols;
+        this.rows = rows;
+        this.corridor = corridor;
+        this.wallThickness = wallThickness;
+        this.east = new BitSet(cols * rows);
+        this.south = new BitSet(cols * rows);
+        Random random = new Random(seed);
+        switch (algorithm) {
+            case RECURSIVE_BACKTRACKER -> carveBacktracker(random);
+            case KRUSKAL -> carveKruskal(random);
+            case WILSON -> carveWilson(random);
+        }
+    }
+
+    /**
+     * Gets the number of cells that fit along a side of about the given length.
+     *
+     * @param pixels The length in pixels.
+     * @return The number of cells with the default corridor width and wall thickness.
+     */
+    public static int cellsFor(int pixels) {
+        return (pixels - DEFAULT_WALL_THICKNESS) / (DEFAULT_CORRIDOR + DEFAULT_WALL_THICKNESS);
+    }
+
+    /**
+     * Writes the maze as a one-bit black and white PNG, compressing each band of rows as it is drawn.
+     *
+     * @param file The file to write, replacing its contents.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writePng(Path file) throws IOException {
+        int width = getWidth();
+        int height = getHeight();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), CHUNK_BYTES))) {
+            out.write(PNG_SIGNATURE);
+            byte[] header = new byte[13];
+            writeInt(header, 0, width);
+            writeInt(header, 4, height);
+            header[8] = 1; // Bit depth
+            header[9] = 0; // Greyscale; compression, filter and interlace methods are all 0
+            writeChunk(out, "IHDR", header, header.length);
+
+            long[] words = new long[WalkabilityGrid.wordsPerRow(width)];
+            // Each scanline is a filter type byte followed by 8 pixels per byte, leftmost in the high bit
+            byte[] scanline = new byte[1 + (width + 7) / 8];
+            byte[] chunk = new byte[CHUNK_BYTES];
+            int used = 0;
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                for (int y = 0; y < height; y++) {
+                    if (startsBand(y)) {
+                        drawRow(y, words);
+                        for (int i = 1; i < scanline.length; i++) {
+                            int bits = (int) (words[(i - 1) >>> 3] >>> (((i - 1) & 7) * 8)) & 0xFF;
+                            scanline[i] = (byte) (Integer.reverse(bits) >>> 24);
+                        }
+                    }
+                    deflater.setInput(scanline);
+                    while (!deflater.needsInput()) {
+                        used += deflater.deflate(chunk, used, chunk.length - used);
+                        if (used == chunk.length) {
+                            writeChunk(out, "IDAT", chunk, used);
+                            used = 0;
+                        }
+                    }
+                }
+                deflater.finish();
+                while (!deflater.finished()) {
+                    used += deflater.deflate(chunk, used, chunk.length - used);
+                    if (used == chunk.length || deflater.finished()) {
+                        writeChunk(out, "IDAT", chunk, used);
+                        used = 0;
+                    }
+                }
+            } finally {
+                deflater.end();
+            }
+            writeChunk(out, "IEND", chunk, 0);
+        }
+    }
+
+    /**
+     * Writes the maze as a grid file that {@link MappedGrid} can map, one row at a time.
+     *
+     * @param file The file to write, replacing its contents.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeGrid(Path file) throws IOException {
+        long[] words = new long[WalkabilityGrid.wordsPerRow(getWidth())];
+        try (MappedGrid.Writer writer = new MappedGrid.Writer(file, getWidth(), getHeight())) {
+            for (int y = 0; y < getHeight(); y++) {
+                if (startsBand(y)) {
+                    drawRow(y, words);
+                }
+                writer.writeRow(words);
+            }
+        }
+    }
+
+    /**
+     * Draws the maze into an in-memory grid, for mazes small enough to fit on the heap.
+     *
+     * @return The walkability grid of the maze.
+     */
+    public WalkabilityGrid toGrid() {
+        int wordsPerRow = WalkabilityGrid.wordsPerRow(getWidth());
+        long[] bits = new long[wordsPerRow * getHeight()];
+        long[] words = new long[wordsPerRow];
+        for (int y = 0; y < getHeight(); y++) {
+            if (startsBand(y)) {
+                drawRow(y, words);
+            }
+            System.arraycopy(words, 0, bits, y * wordsPerRow, wordsPerRow);
+        }
+        return new WalkabilityGrid(getWidth(), getHeight(), bits);
+    }
+
+    /**
+     * Draws one pixel row of the maze as packed walkability bits, in the layout of {@link WalkabilityGrid}.
+     *
+     * @param y The row to draw.
+     * @param words Receives the packed row; at least {@code (width + 63) / 64} words.
+     */
+    public void drawRow(int y, long[] words) {
+        int wordsPerRow = WalkabilityGrid.wordsPerRow(getWidth());
+        for (int i = 0; i < wordsPerRow; i++) {
+            words[i] = 0;
+        }
+        int cell = corridor + wallThickness;
+        int band = y / cell;
+        boolean wallRow = y % cell < wallThickness;
+        if (wallRow) {
+            // The wall above cell row `band`, open below each cell of the row above that is joined downwards
+            if (band == 0 || band == rows) {
+                return;
+            }
+            for (int col = 0; col < cols; col++) {
+                if (south.get((band - 1) * cols + col)) {
+                    setRange(words, col * cell + wallThickness, corridor);
+                }
+            }
+            return;
+        }
+        for (int col = 0; col < cols; col++) {
+            int length = east.get(band * cols + col) ? cell : corridor;
+            setRange(words, col * cell + wallThickness, length);
+        }
+        if (band == rows / 2) {
+            setRange(words, 0, wallThickness);
+            setRange(words, getWidth() - wallThickness, wallThickness);
+        }
+    }
+
+    /**
+     * Checks if a row starts a new band of identical rows: a wall between two rows of cells,
+     * or the corridors of a row of cells. Rows within a band need not be drawn again.
+     */
+    private boolean startsBand(int y) {
+        int offset = y % (corridor + wallThickness);
+        return offset == 0 || offset == wallThickness;
+    }
+
+    /**
+     * Gets the position just inside the entrance, where an agent starts.
+     *
+     * @return The top-left corner of the entrance cell's corridor.
+     */
+    public Point getStart() {
+        return new Point(wallThickness, rows / 2 * (corridor + wallThickness) + wallThickness);
+    }
+
+    /**
+     * Gets the width of the maze.
+     *
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return cols * (corridor + wallThickness) + wallThickness;
+    }
+
+    /**
+     * Gets the height of the maze.
+     *
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        return rows * (corridor + wallThickness) + wallThickness;
+    }
+
+    /**
+     * Carves with an iterative depth-first search that knocks through to a random unvisited neighbour.
+     * Instead of a stack of cells, each cell remembers the direction it was entered from in two bits,
+     * which is enough to walk back along the search.
+     */
+    private void carveBacktracker(Random random) {
+        BitSet visited = new BitSet(cols * rows);
+        long[] entered = newDirections();
+        int[] candidates = new int[4];
+        int cell = 0;
+        visited.set(0);
+        while (true) {
+            int count = 0;
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int next = neighbor(cell, direction);
+                if (next >= 0 && !visited.get(next)) {
+                    candidates[count++] = direction;
+                }
+            }
+            if (count == 0) {
+                if (cell == 0) {
+                    return;
+                }
+                cell = neighbor(cell, opposite(direction(entered, cell)));
+                continue;
+            }
+            int direction = candidates[random.nextInt(count)];
+            int next = neighbor(cell, direction);
+            join(cell, next);
+            visited.set(next);
+            setDirection(entered, next, direction);
+            cell = next;
+        }
+    }
+
+    /**
+     * Carves with Kruskal's algorithm: every inner wall in shuffled order,
+     * knocked down unless the cells on either side are already connected.
+     */
+    private void carveKruskal(Random random) {
+        int cells = cols * rows;
+        if ((long) (cols - 1) * rows + (long) cols * (rows - 1) > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Maze too large for Kruskal's algorithm: " + cols + "x" + rows
+                    + " cells; use " + Algorithm.RECURSIVE_BACKTRACKER + " or " + Algorithm.WILSON);
+        }
+        // Wall 2 * cell is the one on the cell's right, 2 * cell + 1 the one below it
+        int[] walls = new int[(cols - 1) * rows + cols * (rows - 1)];
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (cell % cols < cols - 1) {
+                walls[count++] = 2 * cell;
+            }
+            if (cell / cols < rows - 1) {
+                walls[count++] = 2 * cell + 1;
+            }
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = walls[i];
+            walls[i] = walls[j];
+            walls[j] = swap;
+        }
+        int[] parents = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            parents[cell] = cell;
+        }
+        for (int wall : walls) {
+            int cell = wall >>> 1;
+            int other = (wall & 1) == 0 ? cell + 1 : cell + cols;
+            int a = root(parents, cell);
+            int b = root(parents, other);
+            if (a != b) {
+                parents[a] = b;
+                join(cell, other);
+            }
+        }
+    }
+
+    /**
+     * Carves with Wilson's algorithm: from each cell not yet in the maze, a random walk until
+     * it meets the maze, with loops erased by remembering only the last way out of each cell.
+     */
+    private void carveWilson(Random random) {
+        int cells = cols * rows;
+        BitSet inMaze = new BitSet(cells);
+        long[] exits = newDirections();
+        inMaze.set(random.nextInt(cells));
+        for (int first = inMaze.nextClearBit(0); first < cells; first = inMaze.nextClearBit(first + 1)) {
+            int cell = first;
+            while (!inMaze.get(cell)) {
+                int direction;
+                int next;
+                do {
+                    direction = random.nextInt(4);
+                    next = neighbor(cell, direction);
+                } while (next < 0);
+                setDirection(exits, cell, direction);
+                cell = next;
+            }
+            for (cell = first; !inMaze.get(cell); cell = neighbor(cell, direction(exits, cell))) {
+                inMaze.set(cell);
+                join(cell, neighbor(cell, direction(exits, cell)));
+            }
+        }
+    }
+
+    /**
+     * Gets the cell next to a cell in one of the four lattice directions.
+     *
+     * @return The neighbouring cell, or -1 if it is outside the maze.
+     */
+    private int neighbor(int cell, int direction) {
+        int col = cell % cols;
+        int row = cell / cols;
+        return switch (direction) {
+            case Lattice.UP -> row > 0 ? cell - cols : -1;
+            case Lattice.RIGHT -> col < cols - 1 ? cell + 1 : -1;
+            case Lattice.DOWN -> row < rows - 1 ? cell + cols : -1;
+            default -> col > 0 ? cell - 1 : -1;
+        };
+    }
+
+    /**
+     * Allocates a lattice direction for every cell, packed at two bits per cell.
+     */
+    private long[] newDirections() {
+        return new long[(int) (((long) cols * rows + 31) >>> 5)];
+    }
+
+    /**
+     * Gets the direction stored for a cell in packed directions.
+     */
+    private static int direction(long[] directions, int cell) {
+        return (int) (directions[cell >>> 5] >>> ((cell & 31) << 1)) & 3;
+    }
+
+    /**
+     * Stores the direction of a cell in packed directions.
+     */
+    private static void setDirection(long[] directions, int cell, int direction) {
+        int shift = (cell & 31) << 1;
+        directions[cell >>> 5] = directions[cell >>> 5] & ~(3L << shift) | (long) direction << shift;
+    }
+
+    /**
+     * Gets the lattice direction opposite a direction.
+     */
+    private static int opposite(int direction) {
+        return (direction + 2) & 3;
+    }
+
+    /**
+     * Knocks down the wall between two neighbouring cells.
+     */
+    private void join(int a, int b) {
+        int first = Math.min(a, b);
+        if (Math.abs(a - b) == 1) {
+            east.set(first);
+        } else {
+            south.set(first);
+        }
+    }
+
+    /**
+     * Finds the representative of a cell's connected set, halving the path along the way.
+     */
+    private static int root(int[] parents, int cell) {
+        while (parents[cell] != cell) {
+            parents[cell] = parents[parents[cell]];
+            cell = parents[cell];
+        }
+        return cell;
+    }
+
+    /**
+     * Marks a run of pixels in a packed row as walkable.
+     */
+    private static void setRange(long[] words, int from, int length) {
+        int to = from + length;
+        while (from < to) {
+            int index = from >>> 6;
+            int end = Math.min(to, (index + 1) << 6);
+            long mask = end - from == 64 ? -1L : ((1L << (end - from)) - 1) << from;
+            words[index] |= mask;
+            from = end;
+        }
+    }
+
+    /**
+     * Writes one PNG chunk: its length, type, data and the CRC of the type and data.
+     */
+    private static void writeChunk(DataOutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Stores a big-endian int in a byte array.
+     */
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
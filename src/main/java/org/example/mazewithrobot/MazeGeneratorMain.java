@@ -0,0 +1,50 @@
+package org.example.mazewithrobot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Generates a maze from the command line with {@link MazeGenerator}, for soak tests on mazes of any size.
+ * A file ending in {@code .png} is written as a one-bit PNG that the app can load;
+ * any other file is written as a grid file for {@link GridSolveMain}. The start position
+ * to solve from is printed once the file is written.
+ * <p>
+ * Usage: {@code MazeGeneratorMain <algorithm> <cols> <rows> <seed> <output file> [corridor] [wall]}
+ */
+public final class MazeGeneratorMain {
+    private MazeGeneratorMain() {
+    }
+
+    /**
+     * Generates the maze described on the command line and writes it to the file named there.
+     *
+     * @param args The algorithm, size in cells, seed and output file, and optionally the corridor width
+     *             and wall thickness in pixels.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.err.println("Usage: MazeGeneratorMain <algorithm> <cols> <rows> <seed> <output file>"
+                    + " [corridor] [wall]");
+            System.exit(2);
+        }
+        MazeGenerator.Algorithm algorithm = MazeGenerator.Algorithm.valueOf(args[0]);
+        int cols = Integer.parseInt(args[1]);
+        int rows = Integer.parseInt(args[2]);
+        long seed = Long.parseLong(args[3]);
+        Path file = Path.of(args[4]);
+        int corridor = args.length > 5 ? Integer.parseInt(args[5]) : MazeGenerator.DEFAULT_CORRIDOR;
+        int wall = args.length > 6 ? Integer.parseInt(args[6]) : MazeGenerator.DEFAULT_WALL_THICKNESS;
+
+        long started = System.nanoTime();
+        MazeGenerator generator = new MazeGenerator(algorithm, cols, rows, corridor, wall, seed);
+        if (file.getFileName().toString().endsWith(".png")) {
+            generator.writePng(file);
+        } else {
+            generator.writeGrid(file);
+        }
+        Point start = generator.getStart();
+        System.out.printf("%s: %dx%d px, start %d %d, %.1f ms%n", file, generator.getWidth(), generator.getHeight(),
+                (int) start.x(), (int) start.y(), (System.nanoTime() - started) / 1e6);
+    }
+}
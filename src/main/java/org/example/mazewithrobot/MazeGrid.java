@@ -0,0 +1,82 @@
+package org.example.mazewithrobot;
+
+/**
+ * A one-bit-per-pixel walkability map of a maze, stored row by row in 64-bit words.
+ * Each row starts on a fresh word, and bit {@code x & 63} of word {@code x >>> 6} is pixel x.
+ * Implementations may keep the bits on the heap or read them from a file on demand.
+ */
+public interface MazeGrid {
+
+    /**
+     * Gets one word of packed walkability bits.
+     *
+     * @param y The row, from 0 to the height minus one.
+     * @param index The index of the word within the row, from 0 to {@code (width + 63) / 64 - 1}.
+     * @return The 64 bits of pixels {@code index * 64} to {@code index * 64 + 63}, set where walkable.
+     */
+    long word(int y, int index);
+
+    /**
+     * Gets the width of the grid.
+     *
+     * @return The width in pixels.
+     */
+    int getWidth();
+
+    /**
+     * Gets the height of the grid.
+     *
+     * @return The height in pixels.
+     */
+    int getHeight();
+
+    /**
+     * Gets a hash of the grid's content.
+     * Two mazes that agree on every walkable pixel have the same hash,
+     * whatever the backend they are stored in.
+     *
+     * @return The 64-bit content hash.
+     */
+    long contentHash();
+
+    /**
+     * Checks if the pixel at the given coordinates is walkable.
+     *
+     * @param x The x-coordinate of the pixel.
+     * @param y The y-coordinate of the pixel.
+     * @return True if the pixel is inside the grid and on the path, false otherwise.
+     */
+    default boolean isWalkable(int x, int y) {
+        if (x < 0 || x >= getWidth() || y < 0 || y >= getHeight()) {
+            return false;
+        }
+        return (word(y, x >>> 6) & (1L << x)) != 0;
+    }
+
+    /**
+     * Checks if a horizontal run of pixels inside the grid is all walkable, a word at a time.
+     *
+     * @param x The x-coordinate of the first pixel.
+     * @param y The row of the run.
+     * @param length The number of pixels, at least 1.
+     * @return True if every pixel in the run is on the path, false otherwise.
+     */
+    default boolean isRunWalkable(int x, int y, int length) {
+        int last = x + length - 1;
+        int firstWord = x >>> 6;
+        int lastWord = last >>> 6;
+        for (int index = firstWord; index <= lastWord; index++) {
+            long mask = -1L;
+            if (index == firstWord) {
+                mask &= -1L << x;
+            }
+            if (index == lastWord) {
+                mask &= -1L >>> (63 - (last & 63));
+            }
+            if ((word(y, index) & mask) != mask) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.mazewithrobot;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Converts JavaFX maze images into the structures used for navigation.
+ */
+public final class MazeImages {
+    /**
+     * The grids already built from each image, by path colour; guarded by the map itself.
+     * Images compare by identity and are held weakly, so a grid is dropped along with its image.
+     */
+    private static final Map<Image, Map<Integer, WalkabilityGrid>> GRIDS = new WeakHashMap<>();
+
+    private MazeImages() {
+    }
+
+    /**
+     * Gets the walkability grid of a maze image, rasterizing it only the first time the image is seen
+     * with that path colour. Every agent made on the same image then shares one grid, and a new agent
+     * starts without reading a pixel beyond the sample, or hashing the maze again to find its metadata.
+     *
+     * @param mazeImage The Image object of the maze.
+     * @param sampleX The x-coordinate of a pixel known to be on the path.
+     * @param sampleY The y-coordinate of a pixel known to be on the path.
+     * @return The walkability grid of the maze.
+     */
+    public static WalkabilityGrid gridOf(Image mazeImage, int sampleX, int sampleY) {
+        int pathArgb = mazeImage.getPixelReader().getArgb(sampleX, sampleY);
+        synchronized (GRIDS) {
+            WalkabilityGrid cached = GRIDS.getOrDefault(mazeImage, Map.of()).get(pathArgb);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        WalkabilityGrid grid = toGrid(mazeImage, sampleX, sampleY);
+        synchronized (GRIDS) {
+            Map<Integer, WalkabilityGrid> byColour = GRIDS.computeIfAbsent(mazeImage, image -> new HashMap<>());
+            WalkabilityGrid raced = byColour.putIfAbsent(pathArgb, grid);
+            return raced != null ? raced : grid;
+        }
+    }
+
+    /**
+     * Rasterizes a maze image into a walkability grid.
+     * The path colour is taken from the pixel at the given sample position,
+     * which is normally the agent's starting position.
+     * All pixels are read in a single bulk call.
+     *
+     * @param mazeImage The Image object of the maze.
+     * @param sampleX The x-coordinate of a pixel known to be on the path.
+     * @param sampleY The y-coordinate of a pixel known to be on the path.
+     * @return The walkability grid of the maze.
+     */
+    public static WalkabilityGrid toGrid(Image mazeImage, int sampleX, int sampleY) {
+        long started = System.nanoTime();
+        int width = (int) mazeImage.getWidth();
+        int height = (int) mazeImage.getHeight();
+        int[] argb = readArgb(mazeImage);
+        WalkabilityGrid grid = WalkabilityGrid.fromArgb(argb, width, height, argb[sampleY * width + sampleX]);
+        SolverMetrics.shared().recordGridBuild(System.nanoTime() - started);
+        return grid;
+    }
+
+    /**
+     * Reads all pixels of an image as ARGB values in row-major order.
+     *
+     * @param image The image to read.
+     * @return The pixels of the image.
+     */
+    public static int[] readArgb(Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] argb = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argb, 0, width);
+        return argb;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.mazewithrobot;
+
+import java.util.List;
+
+/**
+ * Everything derived once from a maze that does not depend on the agent:
+ * the walkability grid, its footprint collision checks and the openings in its border.
+ *
+ * @param grid The walkability grid of the maze.
+ * @param collisions The footprint collision checks of the maze.
+ * @param openings The middle points of all openings in the border.
+ */
+public record MazeMetadata(MazeGrid grid, CollisionMap collisions, List<Point> openings) {
+    /**
+     * The largest maze, in pixels, that gets a summed-area table (128 MB);
+     * larger mazes check footprints by scanning the grid instead.
+     */
+    static final long MAX_TABLE_PIXELS = 1L << 25;
+
+    /**
+     * Derives the metadata of a maze from its grid.
+     *
+     * @param grid The walkability grid of the maze.
+     * @return The metadata.
+     */
+    public static MazeMetadata of(MazeGrid grid) {
+        long pixels = (long) (grid.getWidth() + 1) * (grid.getHeight() + 1);
+        CollisionMap collisions = pixels <= MAX_TABLE_PIXELS ? new ClearanceGrid(grid) : new ScanningCollisionMap(grid);
+        return new MazeMetadata(grid, collisions, List.copyOf(ExitFinder.findOpenings(grid)));
+    }
+
+    /**
+     * Picks the entrance and exit for an agent starting at the given position.
+     *
+     * @param start The agent's starting position.
+     * @return The entrance and exit of the maze.
+     */
+    public MazeExits exitsFor(Point start) {
+        return ExitFinder.choose(openings, start);
+    }
+}
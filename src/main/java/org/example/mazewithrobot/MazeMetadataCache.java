@@ -0,0 +1,73 @@
+package org.example.mazewithrobot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of {@link MazeMetadata}, keyed by the content hash of the maze.
+ * Opening a second window on the same maze, or adding another agent to it,
+ * reuses the clearance table and openings instead of recomputing them.
+ */
+public final class MazeMetadataCache {
+    /** The number of mazes kept by the shared cache. */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /** The cache used by agents and batch solvers. */
+    private static final MazeMetadataCache SHARED = new MazeMetadataCache(DEFAULT_CAPACITY);
+
+    /** The cached metadata in least-recently-used order; guarded by {@code this}. */
+    private final Map<Key, MazeMetadata> entries;
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity The number of mazes to keep before evicting the least recently used.
+     */
+    public MazeMetadataCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, MazeMetadata> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache shared by the whole application.
+     *
+     * @return The shared cache.
+     */
+    public static MazeMetadataCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets the metadata of a maze, deriving and caching it on first use.
+     * The metadata is derived outside the lock, so lookups of other mazes are not blocked.
+     *
+     * @param grid The walkability grid of the maze.
+     * @return The metadata of the maze.
+     */
+    public MazeMetadata get(MazeGrid grid) {
+        Key key = new Key(grid.contentHash(), grid.getWidth(), grid.getHeight());
+        synchronized (this) {
+            MazeMetadata cached = entries.get(key);
+            if (cached != null) {
+                SolverMetrics.shared().metadataCacheLookup(true);
+                return cached;
+            }
+        }
+        SolverMetrics.shared().metadataCacheLookup(false);
+        MazeMetadata computed = MazeMetadata.of(grid);
+        synchronized (this) {
+            MazeMetadata raced = entries.putIfAbsent(key, computed);
+            return raced != null ? raced : computed;
+        }
+    }
+
+    /**
+     * Identifies a maze by its content.
+     */
+    private record Key(long contentHash, int width, int height) {
+    }
+}
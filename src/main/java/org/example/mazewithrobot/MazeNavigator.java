@@ -0,0 +1,430 @@
+package org.example.mazewithrobot;
+
+/**
+ * The navigation engine shared by every agent type: the maze grids, the exit,
+ * footprint collision checks and the solver. It has no JavaFX dependency;
+ * agents only add rendering on top of it.
+ */
+public class MazeNavigator {
+    /**
+     * The walkability grid of the maze, replaced by an immutable snapshot after each edit;
+     * volatile because edits publish it off the FX thread, while hand moves read it on the FX thread.
+     */
+    private volatile MazeGrid grid;
+
+    /** The footprint collision checks of {@link #grid}; volatile for the same reason as the grid. */
+    private volatile CollisionMap collisions;
+
+    /**
+     * This navigator's own copy of the grid once the maze is edited, or null until then.
+     * It is edited in place, so only the thread that edits the maze reads it.
+     */
+    private EditableGrid editableGrid;
+
+    /**
+     * The footprint collision checks of the editable grid, which always see the latest edits,
+     * or null until the maze is edited; used by the incremental planner's lattice.
+     */
+    private CollisionMap editableCollisions;
+
+    /**
+     * The planner that repairs its search when the maze is edited, or null until first needed.
+     * Like the editable grid, it is only used by the thread that edits the maze.
+     */
+    private IncrementalPlanner planner;
+
+    /** The number of edits made to the maze, read by agents on the FX thread. */
+    private volatile int editCount;
+
+    /**
+     * The name the solve times of this maze are recorded under, taken from the maze as it was
+     * before any edits, so an edited maze is neither hashed again for each solve nor counted as another maze.
+     */
+    private final String mazeName;
+
+    /** The entrance and exit of the maze for this agent. */
+    private final MazeExits exits;
+
+    /**
+     * The distance between lattice positions in pixels. This and the other settings are volatile
+     * because agents change them on the FX thread while solves run off it.
+     */
+    private volatile int step;
+
+    /** The range within which the agent is considered to have reached the exit. */
+    private final double exitRange;
+
+    /** The width of the agent's collision footprint in pixels. */
+    private volatile int footprintWidth;
+
+    /** The height of the agent's collision footprint in pixels. */
+    private volatile int footprintHeight;
+
+    /** The algorithm used to compute paths to the exit. */
+    private volatile MazeSolver solver = new DepthFirstSolver();
+
+    /** The listener told about the progress of every search, or null for none. */
+    private volatile SearchListener searchListener;
+
+    /** The cache of paths already solved, or null to always search. */
+    private volatile SolveCache solveCache = SolveCache.shared();
+
+    /**
+     * The distances to the exit for the current footprint, or null until first needed;
+     * shared with other agents through the {@link DistanceFieldCache} unless the maze has been edited.
+     * Only used by the thread that solves.
+     */
+    private DistanceField distanceField;
+
+    /**
+     * Constructs a navigator for an agent in a maze,
+     * reusing the maze's metadata from the shared cache if it has been seen before.
+     *
+     * @param grid The walkability grid of the maze.
+     * @param start The agent's starting position, used to tell the entrance from the exit.
+     * @param footprintWidth The width of the agent's collision footprint in pixels.
+     * @param footprintHeight The height of the agent's collision footprint in pixels.
+     * @param step The distance between lattice positions in pixels.
+     * @param exitRange The range within which the agent is considered to have reached the exit.
+     */
+    public MazeNavigator(MazeGrid grid, Point start, int footprintWidth, int footprintHeight,
+                         int step, double exitRange) {
+        this(MazeMetadataCache.shared().get(grid), start, footprintWidth, footprintHeight, step, exitRange);
+    }
+
+    /**
+     * Constructs a navigator for an agent in a maze.
+     *
+     * @param maze The metadata of the maze.
+     * @param start The agent's starting position, used to tell the entrance from the exit.
+     * @param footprintWidth The width of the agent's collision footprint in pixels.
+     * @param footprintHeight The height of the agent's collision footprint in pixels.
+     * @param step The distance between lattice positions in pixels.
+     * @param exitRange The range within which the agent is considered to have reached the exit.
+     */
+    public MazeNavigator(MazeMetadata maze, Point start, int footprintWidth, int footprintHeight,
+                         int step, double exitRange) {
+        this.grid = maze.grid();
+        this.collisions = maze.collisions();
+        this.mazeName = SolverMetrics.mazeName(maze.grid());
+        this.exits = maze.exitsFor(start);
+        this.footprintWidth = footprintWidth;
+        this.footprintHeight = footprintHeight;
+        this.step = step;
+        this.exitRange = exitRange;
+    }
+
+    /**
+     * Checks if the agent's whole footprint fits at the specified coordinates.
+     *
+     * @param x The x-coordinate of the footprint's top-left corner.
+     * @param y The y-coordinate of the footprint's top-left corner.
+     * @return True if the move is valid, false otherwise.
+     */
+    public boolean isValidMove(double x, double y) {
+        SolverMetrics.shared().validMoveCheck();
+        return collisions.isClear((int) x, (int) y, footprintWidth, footprintHeight);
+    }
+
+    /**
+     * Solves the maze from a position with the current solver.
+     * A path already solved from the same position is taken from the solve cache,
+     * with no nodes expanded; otherwise the found path is added to it.
+     * The lattice is built lazily, so only the positions the solver reaches are checked.
+     *
+     * @param x The x-coordinate to solve from.
+     * @param y The y-coordinate to solve from.
+     * @return The route to the exit, which is empty if the exit cannot be reached.
+     */
+    public Route solve(double x, double y) {
+        int startX = (int) x;
+        int startY = (int) y;
+        // The settings are read once, as the FX thread may change them during the solve;
+        // the lattice keeps the step and footprint
+        MazeSolver solver = this.solver;
+        SolveCache solveCache = this.solveCache;
+        Lattice lattice = newLattice(collisions, startX, startY);
+        ExitZone exit = getExitZone();
+        String solverName = SolveCache.solverName(solver);
+        // Any-angle paths cannot be stored as moves between neighbours
+        SolveCache cache = solver.isAnyAngle() ? null : solveCache;
+        if (cache != null) {
+            long started = System.nanoTime();
+            SolvedPath cached = cache.get(lattice.getMazeHash(), startX, startY,
+                    lattice.getFootprintWidth(), lattice.getFootprintHeight(), lattice.getStep(), solverName);
+            if (cached != null) {
+                int[] path = cached.toNodes(lattice);
+                // A path that no longer fits the maze is a miss, and one solved for a smaller
+                // exit range may stop short of this one
+                if (path != null && exit.contains(lattice, path[path.length - 1])) {
+                    return record(new Route(lattice, new SolveResult(path, 0, System.nanoTime() - started)),
+                            solverName);
+                }
+            }
+        }
+        Route route = record(new Route(lattice, solver.solve(lattice, lattice.nodeAt(startX, startY), exit)),
+                solverName);
+        if (cache != null && route.isFound()) {
+            cache.put(SolvedPath.of(route, lattice.getMazeHash(), exits.exit(),
+                    lattice.getFootprintWidth(), lattice.getFootprintHeight()), solverName);
+        }
+        return route;
+    }
+
+    /**
+     * Finds a shortest route to the exit by following the maze's distance field.
+     * The field is computed by one backward search on first use and kept for as long as
+     * the footprint and the alignment of the positions stay the same, so re-planning after
+     * the agent has been moved by hand is a walk down the field with no search at all.
+     * Until the maze is edited, the field comes from the shared {@link DistanceFieldCache},
+     * so agents of the same size in the same maze search only once between them.
+     *
+     * @param x The x-coordinate to plan from.
+     * @param y The y-coordinate to plan from.
+     * @return The route to the exit, which is empty if the exit cannot be reached.
+     */
+    public Route replan(double x, double y) {
+        long started = System.nanoTime();
+        int startX = (int) x;
+        int startY = (int) y;
+        int expanded = 0;
+        if (distanceField == null || !fits(distanceField.getLattice(), startX, startY)) {
+            Lattice lattice = newLattice(collisions, startX, startY);
+            distanceField = editableGrid == null
+                    ? DistanceFieldCache.shared().get(grid, lattice, startX, startY, getExitZone())
+                    : new DistanceField(lattice, getExitZone());
+            // A field found in the cache was computed on another lattice, by another search
+            if (distanceField.getLattice() == lattice) {
+                expanded = distanceField.getReachable();
+            }
+        }
+        Lattice lattice = distanceField.getLattice();
+        int[] path = distanceField.pathFrom(lattice.nodeAt(startX, startY));
+        return record(new Route(lattice, new SolveResult(path, expanded, System.nanoTime() - started)),
+                DistanceField.class.getSimpleName());
+    }
+
+    /**
+     * Finds a shortest route to the exit with the incremental planner, which keeps its search
+     * between calls and only repairs the parts invalidated by maze edits and by the agent moving.
+     * The first call makes the maze editable for this navigator.
+     *
+     * @param x The x-coordinate to plan from.
+     * @param y The y-coordinate to plan from.
+     * @return The route to the exit, which is empty if the exit cannot be reached.
+     */
+    public Route planIncrementally(double x, double y) {
+        makeEditable();
+        int startX = (int) x;
+        int startY = (int) y;
+        if (planner == null || !fits(planner.getLattice(), startX, startY)) {
+            Lattice lattice = newLattice(editableCollisions, startX, startY);
+            planner = new IncrementalPlanner(lattice, lattice.nodeAt(startX, startY), getExitZone());
+        } else {
+            planner.moveTo(planner.getLattice().nodeAt(startX, startY));
+        }
+        return record(new Route(planner.getLattice(), planner.plan()), IncrementalPlanner.class.getSimpleName());
+    }
+
+    /**
+     * Builds a lazy lattice anchored at a position with the current step and footprint.
+     */
+    private Lattice newLattice(CollisionMap collisions, int anchorX, int anchorY) {
+        return new Lattice(collisions, anchorX, anchorY, step, footprintWidth, footprintHeight, true);
+    }
+
+    /**
+     * Checks if a lattice kept from an earlier plan has the current step and footprint and a position at a point,
+     * so the plan can go on from there.
+     */
+    private boolean fits(Lattice lattice, int x, int y) {
+        return lattice.getStep() == step && lattice.getFootprintWidth() == footprintWidth
+                && lattice.getFootprintHeight() == footprintHeight && lattice.nodeAt(x, y) >= 0;
+    }
+
+    /**
+     * Records a solve in the shared metrics.
+     *
+     * @param route The route found.
+     * @param solverName The name of the solver that found it.
+     * @return The route, for chaining.
+     */
+    private Route record(Route route, String solverName) {
+        SolverMetrics.shared().recordSolve(mazeName, solverName, route.result());
+        return route;
+    }
+
+    /**
+     * Opens or closes a rectangle of the maze while the agent is in it.
+     * The edit is private to this navigator; the shared maze image and metadata are not changed.
+     * The incremental planner is told which positions changed, so its next plan only repairs those.
+     *
+     * @param x The x-coordinate of the rectangle's top-left corner.
+     * @param y The y-coordinate of the rectangle's top-left corner.
+     * @param width The width of the rectangle in pixels.
+     * @param height The height of the rectangle in pixels.
+     * @param walkable True to make the rectangle path, false to make it wall.
+     */
+    public void setWalkable(int x, int y, int width, int height, boolean walkable) {
+        makeEditable();
+        editableGrid.setWalkable(x, y, width, height, walkable);
+        publishEdits();
+        distanceField = null;
+        if (planner != null) {
+            planner.update(planner.getLattice().refresh(x, y, width, height));
+        }
+        editCount++;
+    }
+
+    /**
+     * Gets the number of edits made to the maze, so agents can tell when to re-plan.
+     *
+     * @return The number of calls to setWalkable so far.
+     */
+    public int getEditCount() {
+        return editCount;
+    }
+
+    /**
+     * Switches this navigator to its own editable copy of the grid,
+     * with footprint checks that read the copy directly and so always see the latest edits.
+     */
+    private void makeEditable() {
+        if (editableGrid != null) {
+            return;
+        }
+        editableGrid = new EditableGrid(grid);
+        editableCollisions = new ScanningCollisionMap(editableGrid);
+        distanceField = null;
+    }
+
+    /**
+     * Publishes a snapshot of the editable grid for solves and hand moves,
+     * so other threads never read the bits while they are being edited.
+     * Copying the grid costs a pass over the maze, once per edit rather than once per check.
+     */
+    private void publishEdits() {
+        WalkabilityGrid snapshot = editableGrid.snapshot();
+        collisions = new ScanningCollisionMap(snapshot);
+        grid = snapshot;
+    }
+
+    /**
+     * Gets the zone around the exit in which the agent has left the maze.
+     *
+     * @return The exit zone.
+     */
+    public ExitZone getExitZone() {
+        return new ExitZone(exits.exit().x(), exits.exit().y(), exitRange);
+    }
+
+    /**
+     * Sets the collision footprint used for every move and solve.
+     * Like the step, it takes effect from the next solve.
+     *
+     * @param footprintWidth The width of the footprint in pixels.
+     * @param footprintHeight The height of the footprint in pixels.
+     */
+    public void setFootprint(int footprintWidth, int footprintHeight) {
+        this.footprintWidth = footprintWidth;
+        this.footprintHeight = footprintHeight;
+    }
+
+    /**
+     * Sets the distance between lattice positions, the resolution at which every solve plans.
+     * It may be called while a solve is running; the solve keeps the old step, and plans kept
+     * from earlier solves are dropped by the next one, on the thread that solves.
+     *
+     * @param step The step in pixels.
+     */
+    public void setStep(int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Step must be positive: " + step);
+        }
+        this.step = step;
+    }
+
+    /**
+     * Gets the distance between lattice positions.
+     *
+     * @return The step in pixels.
+     */
+    public int getStep() {
+        return step;
+    }
+
+    /**
+     * Sets the algorithm used to solve the maze.
+     *
+     * @param solver The solver to use from the next solve on.
+     */
+    public void setSolver(MazeSolver solver) {
+        this.solver = solver;
+        solver.setSearchListener(searchListener);
+    }
+
+    /**
+     * Gets the algorithm used to solve the maze.
+     *
+     * @return The current solver.
+     */
+    public MazeSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Sets a listener told about the positions each solve explores.
+     * Paths taken from the solve cache involve no search, so nothing is reported for them.
+     *
+     * @param listener The listener, or null for none.
+     */
+    public void setSearchListener(SearchListener listener) {
+        this.searchListener = listener;
+        solver.setSearchListener(listener);
+    }
+
+    /**
+     * Sets the cache solved paths are looked up in and added to.
+     *
+     * @param solveCache The cache to use, or null to always search.
+     */
+    public void setSolveCache(SolveCache solveCache) {
+        this.solveCache = solveCache;
+    }
+
+    /**
+     * Gets the walkability grid of the maze.
+     *
+     * @return The walkability grid.
+     */
+    public MazeGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Gets the entrance and exit of the maze.
+     *
+     * @return The entrance and exit.
+     */
+    public MazeExits getExits() {
+        return exits;
+    }
+
+    /**
+     * Gets the width of the collision footprint.
+     *
+     * @return The width in pixels.
+     */
+    public int getFootprintWidth() {
+        return footprintWidth;
+    }
+
+    /**
+     * Gets the height of the collision footprint.
+     *
+     * @return The height in pixels.
+     */
+    public int getFootprintHeight() {
+        return footprintHeight;
+    }
+}
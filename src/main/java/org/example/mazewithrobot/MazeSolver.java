@@ -0,0 +1,50 @@
+package org.example.mazewithrobot;
+
+/**
+ * A maze-solving algorithm that runs headless, without JavaFX, as fast as the CPU allows.
+ * Agents replay the returned path as an animation; batch jobs can use it directly.
+ */
+public interface MazeSolver {
+
+    /**
+     * Finds a path from the start node to the exit.
+     * The start node is used even if the agent's footprint does not fully fit there.
+     * Consecutive nodes of the path are neighbours unless the solver {@link #isAnyAngle() is any-angle}.
+     *
+     * @param lattice The lattice of positions the agent can occupy.
+     * @param start The node the agent starts on.
+     * @param exit The exit zone to reach.
+     * @return The path found, or an empty result if the exit cannot be reached.
+     */
+    SolveResult solve(Lattice lattice, int start, ExitZone exit);
+
+    /**
+     * Sets a listener told about each node the search reaches and expands.
+     * Solvers that cannot report their progress ignore it.
+     *
+     * @param listener The listener, or null for none.
+     */
+    default void setSearchListener(SearchListener listener) {
+    }
+
+    /**
+     * Checks whether consecutive nodes of the paths found can be any distance apart,
+     * joined by straight moves, rather than neighbours on the lattice.
+     * Such paths cannot be stored as moves between neighbours, so they are not cached.
+     *
+     * @return True for an any-angle solver, false otherwise.
+     */
+    default boolean isAnyAngle() {
+        return false;
+    }
+
+    /**
+     * Checks whether the paths found are always shortest on the lattice, so that any other
+     * shortest path, such as one read off a {@link DistanceField}, is as good as searching again.
+     *
+     * @return True for a solver that finds shortest paths, false otherwise.
+     */
+    default boolean findsShortestPaths() {
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * A set of node IDs packed one bit per node into a reusable {@code long[]}.
+ */
+final class NodeSet {
+    /** The packed membership bits. */
+    private long[] words = new long[0];
+
+    /**
+     * Empties the set and makes room for node IDs below the given capacity.
+     * Only allocates when the capacity grows beyond what was used before.
+     *
+     * @param capacity One more than the largest node ID that will be added.
+     */
+    void reset(int capacity) {
+        int needed = (capacity + 63) >>> 6;
+        if (words.length < needed) {
+            words = new long[needed];
+        } else {
+            Arrays.fill(words, 0, needed, 0L);
+        }
+    }
+
+    /**
+     * Adds a node to the set.
+     *
+     * @param node The node ID.
+     * @return True if the node was not in the set before, false otherwise.
+     */
+    boolean add(int node) {
+        int index = node >>> 6;
+        long bit = 1L << node;
+        if ((words[index] & bit) != 0) {
+            return false;
+        }
+        words[index] |= bit;
+        return true;
+    }
+
+    /**
+     * Checks if a node is in the set.
+     *
+     * @param node The node ID.
+     * @return True if the node has been added, false otherwise.
+     */
+    boolean contains(int node) {
+        return (words[node >>> 6] & (1L << node)) != 0;
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.mazewithrobot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes solved paths in a versioned binary format over NIO channels.
+ * A file is a sequence of records, each a 48-byte big-endian header followed by the packed moves:
+ * <pre>
+ * int   magic "MZPT"
+ * short version
+ * short reserved, 0
+ * long  maze content hash
+ * int   start x, start y, exit x, exit y
+ * int   footprint width, footprint height, step
+ * int   move count
+ * byte[(moveCount + 3) / 4] moves, 2 bits each
+ * </pre>
+ */
+public final class PathFile {
+    /** The magic number at the start of every record, "MZPT" in ASCII. */
+    public static final int MAGIC = 0x4D5A5054;
+
+    /** The format version written by this class. */
+    public static final short VERSION = 1;
+
+    /** The size of a record header in bytes. */
+    static final int HEADER_BYTES = 48;
+
+    /** The offset of the move count within a record header. */
+    private static final int MOVE_COUNT_OFFSET = 44;
+
+    /** The size of the buffer used when writing many records. */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private PathFile() {
+    }
+
+    /**
+     * Writes paths to a file, replacing its contents.
+     *
+     * @param file The file to write.
+     * @param paths The paths to write, in order.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeAll(Path file, Iterable<SolvedPath> paths) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            for (SolvedPath path : paths) {
+                int size = recordSize(path);
+                if (buffer.remaining() < size) {
+                    drain(channel, buffer);
+                }
+                if (size > buffer.capacity()) {
+                    write(channel, path);
+                } else {
+                    encode(buffer, path);
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads every path in a file.
+     * The file is memory-mapped, so it must be smaller than 2 GB.
+     *
+     * @param file The file to read.
+     * @return The paths, in file order.
+     * @throws IOException If the file cannot be read or is not a path file.
+     */
+    public static List<SolvedPath> readAll(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            List<SolvedPath> paths = new ArrayList<>();
+            while (buffer.hasRemaining()) {
+                if (buffer.remaining() < HEADER_BYTES) {
+                    throw new EOFException("Truncated path record in " + file);
+                }
+                paths.add(decode(buffer));
+            }
+            return paths;
+        }
+    }
+
+    /**
+     * Writes one path record to a channel.
+     *
+     * @param channel The channel to write to.
+     * @param path The path to write.
+     * @throws IOException If the channel cannot be written.
+     */
+    public static void write(WritableByteChannel channel, SolvedPath path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(recordSize(path));
+        encode(buffer, path);
+        drain(channel, buffer);
+    }
+
+    /**
+     * Reads the next path record from a channel.
+     *
+     * @param channel The channel to read from.
+     * @return The path, or null if the channel is at its end.
+     * @throws IOException If the channel cannot be read, ends part-way through a record,
+     *                     or does not hold a path record.
+     */
+    public static SolvedPath read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (!fill(channel, header)) {
+            return null;
+        }
+        int moveCount = header.getInt(MOVE_COUNT_OFFSET);
+        if (moveCount < 0) {
+            throw new IOException("Corrupt path record: " + moveCount + " moves");
+        }
+        // Grow the record as its moves arrive, so a corrupt move count cannot allocate
+        // much more than the bytes actually there before the record is found truncated
+        int size = HEADER_BYTES + SolvedPath.packedLength(moveCount);
+        ByteBuffer record = ByteBuffer.allocate(Math.min(size, HEADER_BYTES + BUFFER_BYTES));
+        record.put(header.flip());
+        while (true) {
+            if (record.hasRemaining() && !fill(channel, record)) {
+                throw new EOFException("Truncated path record");
+            }
+            if (record.capacity() == size) {
+                return decode(record.flip());
+            }
+            record = ByteBuffer.allocate((int) Math.min(size, 2L * record.capacity())).put(record.flip());
+        }
+    }
+
+    /**
+     * Gets the size of a path's record in bytes.
+     */
+    private static int recordSize(SolvedPath path) {
+        return HEADER_BYTES + path.getPackedMoves().length;
+    }
+
+    /**
+     * Puts a path record into a buffer.
+     */
+    private static void encode(ByteBuffer buffer, SolvedPath path) {
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putLong(path.getMazeHash())
+                .putInt(path.getStartX())
+                .putInt(path.getStartY())
+                .putInt(path.getExitX())
+                .putInt(path.getExitY())
+                .putInt(path.getFootprintWidth())
+                .putInt(path.getFootprintHeight())
+                .putInt(path.getStep())
+                .putInt(path.getMoveCount())
+                .put(path.getPackedMoves());
+    }
+
+    /**
+     * Takes a path record from a buffer, checking its magic number and version.
+     */
+    private static SolvedPath decode(ByteBuffer buffer) throws IOException {
+        int magic = buffer.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("Not a path record: magic " + Integer.toHexString(magic));
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported path format version " + version);
+        }
+        buffer.getShort();
+        long mazeHash = buffer.getLong();
+        int startX = buffer.getInt();
+        int startY = buffer.getInt();
+        int exitX = buffer.getInt();
+        int exitY = buffer.getInt();
+        int footprintWidth = buffer.getInt();
+        int footprintHeight = buffer.getInt();
+        int step = buffer.getInt();
+        int moveCount = buffer.getInt();
+        int length = SolvedPath.packedLength(moveCount);
+        if (moveCount < 0 || buffer.remaining() < length) {
+            throw new EOFException("Truncated path record: " + moveCount + " moves");
+        }
+        byte[] moves = new byte[length];
+        buffer.get(moves);
+        return new SolvedPath(mazeHash, startX, startY, exitX, exitY,
+                footprintWidth, footprintHeight, step, moveCount, moves);
+    }
+
+    /**
+     * Reads from a channel until the buffer is full.
+     *
+     * @return False if the channel ended before any byte was read, true otherwise.
+     * @throws EOFException If the channel ended part-way through.
+     */
+    private static boolean fill(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() == start) {
+                    return false;
+                }
+                throw new EOFException("Truncated path record");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes everything in a buffer to a channel and clears it.
+     */
+    private static void drain(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
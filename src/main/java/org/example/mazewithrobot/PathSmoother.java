@@ -0,0 +1,50 @@
+package org.example.mazewithrobot;
+
+import java.util.Arrays;
+
+/**
+ * Turns a staircase of lattice moves into the few straight legs an agent actually needs,
+ * by string pulling: from each waypoint the route runs straight to the furthest later position
+ * the agent's footprint can reach in a straight line, which becomes the next waypoint.
+ * Agents replay fewer, longer moves, turning to any angle, and check the maze once per leg.
+ */
+public final class PathSmoother {
+
+    private PathSmoother() {
+    }
+
+    /**
+     * Reduces a route to its waypoints.
+     * Consecutive positions of the route are always kept reachable from each other,
+     * so a route that starts where the footprint does not quite fit is still followed.
+     *
+     * @param route The route to smooth.
+     * @return A route over the same lattice through the waypoints only, from the start to the exit,
+     *         or the route itself if it has no corners to cut.
+     */
+    public static Route smooth(Route route) {
+        if (route.length() < 3) {
+            return route;
+        }
+        long started = System.nanoTime();
+        Lattice lattice = route.lattice();
+        int[] path = route.result().getPath();
+        int[] waypoints = new int[path.length];
+        int count = 0;
+        int anchor = 0;
+        waypoints[count++] = path[0];
+        for (int next = 2; next < path.length; next++) {
+            if (!lattice.hasLineOfSight(path[anchor], path[next])) {
+                anchor = next - 1;
+                waypoints[count++] = path[anchor];
+            }
+        }
+        waypoints[count++] = path[path.length - 1];
+        if (count == path.length) {
+            return route;
+        }
+        SolveResult result = route.result();
+        return new Route(lattice, new SolveResult(Arrays.copyOf(waypoints, count),
+                result.getNodesExpanded(), result.getElapsedNanos() + System.nanoTime() - started));
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.mazewithrobot;
+
+/**
+ * Represents a point in 2D space.
+ *
+ * @param x The x-coordinate of the point.
+ * @param y The y-coordinate of the point.
+ */
+public record Point(double x, double y) {
+
+    /**
+     * Calculates the Euclidean distance to another point.
+     *
+     * @param other The other point.
+     * @return The distance between the two points.
+     */
+    public double distanceTo(Point other) {
+        return Math.sqrt(Math.pow(x - other.x, 2) + Math.pow(y - other.y, 2));
+    }
+}
@@ -22,6 +22,7 @@ public class RobotMain extends Application {
     private Button solveButton;
     private Button carButton;
     private Button maze2Button;
+    private Button swarmButton;
 
     /**
      * Initializes and displays the primary stage for the application.
@@ -66,7 +67,7 @@ public class RobotMain extends Application {
             try {
                 carMain.start(carStage); // Open CarMain in a new window
             } catch (Exception ex) {
-                ex.printStackTrace();
+                EventLog.shared().error("window.failed", ex, "window", "Car");
             }
         });
 
@@ -78,12 +79,24 @@ public class RobotMain extends Application {
             try {
                 maze2Main.start(maze2Stage); // Open Maze2Main in a new window
             } catch (Exception ex) {
-                ex.printStackTrace();
+                EventLog.shared().error("window.failed", ex, "window", "Maze2");
+            }
+        });
+
+        // Button to open a thousand agents solving the maze at once
+        swarmButton = new Button("Swarm");
+        swarmButton.setOnAction(e -> {
+            SwarmMain swarmMain = new SwarmMain();
+            Stage swarmStage = new Stage();
+            try {
+                swarmMain.start(swarmStage); // Open SwarmMain in a new window
+            } catch (Exception ex) {
+                EventLog.shared().error("window.failed", ex, "window", "Swarm");
             }
         });
 
         // Layout for buttons
-        HBox buttonBox = new HBox(10, solveButton, carButton, maze2Button);
+        HBox buttonBox = new HBox(10, solveButton, carButton, maze2Button, swarmButton);
 
         // Layout for the main view, including the maze and buttons
         VBox root = new VBox(10, mazePane, buttonBox);
@@ -94,10 +107,10 @@ public class RobotMain extends Application {
         // Handle keyboard input for robot movement
         scene.setOnKeyPressed(event -> {
             switch (event.getCode()) {
-                case UP:    robot.move(0, -10); break;
-                case DOWN:  robot.move(0, 10); break;
-                case LEFT:  robot.move(-10, 0); break;
-                case RIGHT: robot.move(10, 0); break;
+                case UP:    robot.move(0, -robot.getStepSize()); break;
+                case DOWN:  robot.move(0, robot.getStepSize()); break;
+                case LEFT:  robot.move(-robot.getStepSize(), 0); break;
+                case RIGHT: robot.move(robot.getStepSize(), 0); break;
             }
             event.consume();
         });
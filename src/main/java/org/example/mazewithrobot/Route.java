@@ -0,0 +1,60 @@
+package org.example.mazewithrobot;
+
+/**
+ * A solved path together with the lattice it was solved on,
+ * so the path can be replayed as pixel positions.
+ *
+ * @param lattice The lattice the path's node IDs refer to.
+ * @param result The solve result holding the path.
+ */
+public record Route(Lattice lattice, SolveResult result) {
+
+    /**
+     * Checks if the route reaches the exit.
+     *
+     * @return True if a path was found, false otherwise.
+     */
+    public boolean isFound() {
+        return result.isFound();
+    }
+
+    /**
+     * Gets the number of positions along the route, including the start.
+     *
+     * @return The number of positions.
+     */
+    public int length() {
+        return result.getPath().length;
+    }
+
+    /**
+     * Gets the x-coordinate of a position along the route.
+     *
+     * @param index The index of the position, 0 being the start.
+     * @return The x-coordinate in pixels.
+     */
+    public int xAt(int index) {
+        return lattice.xOf(result.getPath()[index]);
+    }
+
+    /**
+     * Gets the y-coordinate of a position along the route.
+     *
+     * @param index The index of the position, 0 being the start.
+     * @return The y-coordinate in pixels.
+     */
+    public int yAt(int index) {
+        return lattice.yOf(result.getPath()[index]);
+    }
+
+    /**
+     * Gets the direction of the move that arrives at a position.
+     *
+     * @param index The index of the position, at least 1.
+     * @return One of Lattice.UP, RIGHT, DOWN or LEFT.
+     */
+    public int directionInto(int index) {
+        int[] path = result.getPath();
+        return lattice.directionBetween(path[index - 1], path[index]);
+    }
+}
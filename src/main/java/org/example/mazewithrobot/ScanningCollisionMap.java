@@ -0,0 +1,52 @@
+package org.example.mazewithrobot;
+
+/**
+ * Checks footprints by testing each row of the rectangle against the packed grid, a word at a time.
+ * Unlike {@link ClearanceGrid} it needs no memory of its own and touches only the rows under
+ * the footprint, so it suits mazes too large for a summed-area table, such as a {@link MappedGrid}.
+ * A check costs one or two word reads per footprint row instead of four table reads.
+ */
+public final class ScanningCollisionMap implements CollisionMap {
+    /** The walkability grid of the maze. */
+    private final MazeGrid grid;
+
+    /**
+     * Constructs a collision map over a grid.
+     *
+     * @param grid The walkability grid of the maze.
+     */
+    public ScanningCollisionMap(MazeGrid grid) {
+        this.grid = grid;
+    }
+
+    @Override
+    public boolean isClear(int x, int y, int footprintWidth, int footprintHeight) {
+        if (x < 0 || y < 0 || x + footprintWidth > grid.getWidth() || y + footprintHeight > grid.getHeight()) {
+            return false;
+        }
+        if (footprintWidth <= 0) {
+            return true;
+        }
+        for (int row = y; row < y + footprintHeight; row++) {
+            if (!grid.isRunWalkable(x, row, footprintWidth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getWidth() {
+        return grid.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return grid.getHeight();
+    }
+
+    @Override
+    public long contentHash() {
+        return grid.contentHash();
+    }
+}
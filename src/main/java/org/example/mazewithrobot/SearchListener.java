@@ -0,0 +1,25 @@
+package org.example.mazewithrobot;
+
+/**
+ * Receives the progress of a search as it runs, for showing which positions a solver explored.
+ * Called on the thread the solver runs on, once per event, so implementations must be cheap
+ * and, if they are shared, thread-safe.
+ */
+public interface SearchListener {
+
+    /**
+     * Called when a node is first reached and joins the search frontier.
+     *
+     * @param lattice The lattice being searched.
+     * @param node The node reached.
+     */
+    void discovered(Lattice lattice, int node);
+
+    /**
+     * Called when a node is taken off the frontier and its neighbours are explored.
+     *
+     * @param lattice The lattice being searched.
+     * @param node The node expanded.
+     */
+    void expanded(Lattice lattice, int node);
+}
@@ -0,0 +1,70 @@
+package org.example.mazewithrobot;
+
+/**
+ * The buffers a solver needs during a search, kept between solves so that
+ * a steady stream of solves on similar mazes allocates nothing in the search loop.
+ * Each solver owns one workspace, so a solver instance must not be shared between threads.
+ * The buffers are indexed by node ID and so sized to the whole lattice, about 9 bytes per position,
+ * however small the region a search explores.
+ */
+final class SearchWorkspace {
+    /** Nodes (or states) reached by the search, or by the forward half of a bidirectional search. */
+    final NodeSet seen = new NodeSet();
+
+    /** Nodes reached by the backward half of a bidirectional search. */
+    final NodeSet otherSeen = new NodeSet();
+
+    /** Nodes already expanded by a best-first search. */
+    final NodeSet closed = new NodeSet();
+
+    /** The frontier of a breadth-first search, or the stack of a depth-first search. */
+    final IntDeque queue = new IntDeque();
+
+    /** The frontier of the backward half of a bidirectional search. */
+    final IntDeque otherQueue = new IntDeque();
+
+    /** The open list of a best-first search. */
+    final LongMinHeap heap = new LongMinHeap();
+
+    /** The cost of each reached node; only valid for nodes in {@link #seen}. */
+    int[] costs = new int[0];
+
+    /** The parent of each reached node; only valid for nodes in {@link #seen}. */
+    int[] parents = new int[0];
+
+    /** The cost of each node reached backwards; only valid for nodes in {@link #otherSeen}. */
+    int[] otherCosts = new int[0];
+
+    /** The parent of each node reached backwards; only valid for nodes in {@link #otherSeen}. */
+    int[] otherParents = new int[0];
+
+    /**
+     * Clears the workspace for a new search over the given number of nodes or states.
+     *
+     * @param size The number of nodes or states the search can reach.
+     */
+    void prepare(int size) {
+        seen.reset(size);
+        closed.reset(size);
+        queue.clear();
+        heap.clear();
+        if (costs.length < size) {
+            costs = new int[size];
+            parents = new int[size];
+        }
+    }
+
+    /**
+     * Additionally clears the backward buffers, for a bidirectional search.
+     *
+     * @param size The number of nodes the search can reach.
+     */
+    void prepareBackward(int size) {
+        otherSeen.reset(size);
+        otherQueue.clear();
+        if (otherCosts.length < size) {
+            otherCosts = new int[size];
+            otherParents = new int[size];
+        }
+    }
+}
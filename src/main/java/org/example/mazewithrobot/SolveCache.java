@@ -0,0 +1,215 @@
+package org.example.mazewithrobot;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of solved paths, keyed by maze content, start position, footprint and solver.
+ * Pressing "Solve Maze" again from the same place, or opening another window on the same maze,
+ * becomes a lookup followed by the replay instead of a new search.
+ * <p>
+ * The cache can be saved to and loaded from a directory, one {@link PathFile} per solver.
+ * The shared cache does this automatically when the {@code mazewithrobot.solveCache}
+ * system property names a directory.
+ */
+public final class SolveCache {
+    /** The number of paths kept by the shared cache. */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /** The system property naming the directory the shared cache is persisted in. */
+    public static final String DIRECTORY_PROPERTY = "mazewithrobot.solveCache";
+
+    /** The extension of the path files in a cache directory. */
+    private static final String EXTENSION = ".mzp";
+
+    /** The cache used by navigators unless told otherwise. */
+    private static final SolveCache SHARED = createShared();
+
+    /** The cached paths in least-recently-used order; guarded by {@code this}. */
+    private final Map<Key, SolvedPath> entries;
+
+    /** The number of lookups that found a path. */
+    private final LongAdder hits = new LongAdder();
+
+    /** The number of lookups that found nothing. */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs an empty cache.
+     *
+     * @param capacity The number of paths to keep before evicting the least recently used.
+     */
+    public SolveCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SolvedPath> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache shared by the whole application.
+     *
+     * @return The shared cache.
+     */
+    public static SolveCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Looks up a path, counting a hit or a miss.
+     *
+     * @param mazeHash The content hash of the maze.
+     * @param startX The x-coordinate of the start position.
+     * @param startY The y-coordinate of the start position.
+     * @param footprintWidth The width of the agent's footprint in pixels.
+     * @param footprintHeight The height of the agent's footprint in pixels.
+     * @param step The distance between lattice positions in pixels.
+     * @param solver The name of the solver, as given by {@link #solverName(MazeSolver)}.
+     * @return The cached path, or null if there is none.
+     */
+    public SolvedPath get(long mazeHash, int startX, int startY, int footprintWidth, int footprintHeight,
+                          int step, String solver) {
+        SolvedPath path;
+        synchronized (this) {
+            path = entries.get(new Key(mazeHash, startX, startY, footprintWidth, footprintHeight, step, solver));
+        }
+        (path != null ? hits : misses).increment();
+        SolverMetrics.shared().solveCacheLookup(path != null);
+        return path;
+    }
+
+    /**
+     * Stores a path, replacing any path for the same key.
+     *
+     * @param path The path, which carries the maze, start, footprint and step of its key.
+     * @param solver The name of the solver that found it.
+     */
+    public synchronized void put(SolvedPath path, String solver) {
+        entries.put(Key.of(path, solver), path);
+    }
+
+    /**
+     * Gets the name a solver's paths are cached under.
+     *
+     * @param solver The solver.
+     * @return The simple name of the solver's class.
+     */
+    public static String solverName(MazeSolver solver) {
+        return solver.getClass().getSimpleName();
+    }
+
+    /**
+     * Saves every cached path to a directory, one file per solver, replacing earlier files.
+     *
+     * @param directory The directory to save to; it is created if needed.
+     * @throws IOException If the files cannot be written.
+     */
+    public void save(Path directory) throws IOException {
+        Map<String, List<SolvedPath>> bySolver = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Map.Entry<Key, SolvedPath> entry : entries.entrySet()) {
+                bySolver.computeIfAbsent(entry.getKey().solver(), solver -> new ArrayList<>()).add(entry.getValue());
+            }
+        }
+        Files.createDirectories(directory);
+        for (Map.Entry<String, List<SolvedPath>> solver : bySolver.entrySet()) {
+            PathFile.writeAll(directory.resolve(solver.getKey() + EXTENSION), solver.getValue());
+        }
+    }
+
+    /**
+     * Loads the paths saved in a directory into the cache.
+     * A missing directory is treated as empty.
+     *
+     * @param directory The directory to load from.
+     * @throws IOException If a file cannot be read or is not a path file.
+     */
+    public void load(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String solver = name.substring(0, name.length() - EXTENSION.length());
+                for (SolvedPath path : PathFile.readAll(file)) {
+                    put(path, solver);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of lookups that found a path.
+     *
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of lookups that found nothing.
+     *
+     * @return The miss count.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of cached paths.
+     *
+     * @return The number of paths.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Creates the shared cache, loading it from and saving it on exit to the directory
+     * named by the system property, if set.
+     */
+    private static SolveCache createShared() {
+        SolveCache cache = new SolveCache(DEFAULT_CAPACITY);
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null) {
+            return cache;
+        }
+        Path path = Path.of(directory);
+        try {
+            cache.load(path);
+        } catch (IOException e) {
+            EventLog.shared().warn("solveCache.loadFailed", "directory", path, "reason", e.getMessage());
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                cache.save(path);
+            } catch (IOException e) {
+                EventLog.shared().warn("solveCache.saveFailed", "directory", path, "reason", e.getMessage());
+            }
+        }, "solve-cache-save"));
+        return cache;
+    }
+
+    /**
+     * Identifies a cached path.
+     */
+    private record Key(long mazeHash, int startX, int startY, int footprintWidth, int footprintHeight,
+                       int step, String solver) {
+
+        static Key of(SolvedPath path, String solver) {
+            return new Key(path.getMazeHash(), path.getStartX(), path.getStartY(),
+                    path.getFootprintWidth(), path.getFootprintHeight(), path.getStep(), solver);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.mazewithrobot;
+
+/**
+ * One maze-solving task for a {@link BatchSolver}.
+ * Jobs on the same maze should share the same grid instance, so that
+ * the derived clearance grid, openings and lattices are built only once.
+ *
+ * @param grid The walkability grid of the maze.
+ * @param start The agent's starting position.
+ * @param footprintWidth The width of the agent's collision footprint in pixels.
+ * @param footprintHeight The height of the agent's collision footprint in pixels.
+ */
+public record SolveJob(MazeGrid grid, Point start, int footprintWidth, int footprintHeight) {
+}
@@ -0,0 +1,91 @@
+package org.example.mazewithrobot;
+
+/**
+ * The outcome of a maze solve: the path found and what it cost to find it.
+ */
+public final class SolveResult {
+    /** The nodes from the start to the exit, or an empty array if there is no path. */
+    private final int[] path;
+
+    /** The number of nodes the solver expanded. */
+    private final int nodesExpanded;
+
+    /** The wall-clock time spent solving, in nanoseconds. */
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new SolveResult.
+     *
+     * @param path The nodes from the start to the exit, or an empty array if there is no path.
+     * @param nodesExpanded The number of nodes the solver expanded.
+     * @param elapsedNanos The wall-clock time spent solving, in nanoseconds.
+     */
+    public SolveResult(int[] path, int nodesExpanded, long elapsedNanos) {
+        this.path = path;
+        this.nodesExpanded = nodesExpanded;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Builds the result of a search that recorded the parent of every reached node.
+     *
+     * @param parents The parent of each node, indexed by node ID.
+     * @param start The start node.
+     * @param goal The exit node reached, or -1 if the exit was not reached.
+     * @param nodesExpanded The number of nodes the solver expanded.
+     * @param startedNanos The value of System.nanoTime() when the solve started.
+     * @return The result, with the path from the start to the goal.
+     */
+    public static SolveResult fromParents(int[] parents, int start, int goal, int nodesExpanded, long startedNanos) {
+        if (goal < 0) {
+            return new SolveResult(new int[0], nodesExpanded, System.nanoTime() - startedNanos);
+        }
+        int length = 1;
+        for (int node = goal; node != start; node = parents[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int node = goal;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = node;
+            node = parents[node];
+        }
+        return new SolveResult(path, nodesExpanded, System.nanoTime() - startedNanos);
+    }
+
+    /**
+     * Checks if a path to the exit was found.
+     *
+     * @return True if the path is not empty, false otherwise.
+     */
+    public boolean isFound() {
+        return path.length > 0;
+    }
+
+    /**
+     * Gets the path from the start to the exit.
+     *
+     * @return The node IDs along the path, including the start and the exit node.
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the number of nodes the solver expanded.
+     *
+     * @return The number of expanded nodes.
+     */
+    public int getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Gets the wall-clock time spent solving.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,287 @@
+package org.example.mazewithrobot;
+
+/**
+ * A compact record of a solved path, independent of any lattice object:
+ * the maze it belongs to, the start and exit, the agent's size,
+ * and the moves from the start packed as 2-bit direction codes, four to a byte.
+ * Positions are recovered by replaying the moves from the start one step at a time.
+ */
+public final class SolvedPath {
+    /** The column offsets of the four directions, in up/right/down/left order. */
+    private static final int[] DX = {0, 1, 0, -1};
+
+    /** The row offsets of the four directions, in up/right/down/left order. */
+    private static final int[] DY = {-1, 0, 1, 0};
+
+    /** The content hash of the maze the path was solved in. */
+    private final long mazeHash;
+
+    /** The x-coordinate of the start position. */
+    private final int startX;
+
+    /** The y-coordinate of the start position. */
+    private final int startY;
+
+    /** The x-coordinate of the exit opening. */
+    private final int exitX;
+
+    /** The y-coordinate of the exit opening. */
+    private final int exitY;
+
+    /** The width of the agent's footprint in pixels. */
+    private final int footprintWidth;
+
+    /** The height of the agent's footprint in pixels. */
+    private final int footprintHeight;
+
+    /** The distance moved by each move in pixels. */
+    private final int step;
+
+    /** The number of moves. */
+    private final int moveCount;
+
+    /** The moves, four 2-bit direction codes per byte, first move in the high bits. */
+    private final byte[] packedMoves;
+
+    /**
+     * Constructs a new SolvedPath from already packed moves.
+     *
+     * @param mazeHash The content hash of the maze the path was solved in.
+     * @param startX The x-coordinate of the start position.
+     * @param startY The y-coordinate of the start position.
+     * @param exitX The x-coordinate of the exit opening.
+     * @param exitY The y-coordinate of the exit opening.
+     * @param footprintWidth The width of the agent's footprint in pixels.
+     * @param footprintHeight The height of the agent's footprint in pixels.
+     * @param step The distance moved by each move in pixels.
+     * @param moveCount The number of moves.
+     * @param packedMoves The moves, {@code packedLength(moveCount)} bytes.
+     */
+    public SolvedPath(long mazeHash, int startX, int startY, int exitX, int exitY,
+                      int footprintWidth, int footprintHeight, int step, int moveCount, byte[] packedMoves) {
+        if (moveCount < 0 || packedMoves.length != packedLength(moveCount)) {
+            throw new IllegalArgumentException("Expected " + packedLength(moveCount) + " bytes for "
+                    + moveCount + " moves, got " + packedMoves.length);
+        }
+        this.mazeHash = mazeHash;
+        this.startX = startX;
+        this.startY = startY;
+        this.exitX = exitX;
+        this.exitY = exitY;
+        this.footprintWidth = footprintWidth;
+        this.footprintHeight = footprintHeight;
+        this.step = step;
+        this.moveCount = moveCount;
+        this.packedMoves = packedMoves;
+    }
+
+    /**
+     * Records a route found by a solver.
+     *
+     * @param route The route, which must reach the exit.
+     * @param mazeHash The content hash of the maze the route was solved in.
+     * @param exit The exit opening the route leads to.
+     * @param footprintWidth The width of the agent's footprint in pixels.
+     * @param footprintHeight The height of the agent's footprint in pixels.
+     * @return The compact path.
+     */
+    public static SolvedPath of(Route route, long mazeHash, Point exit, int footprintWidth, int footprintHeight) {
+        if (!route.isFound()) {
+            throw new IllegalArgumentException("Route does not reach the exit");
+        }
+        int moveCount = route.length() - 1;
+        byte[] packed = new byte[packedLength(moveCount)];
+        for (int i = 0; i < moveCount; i++) {
+            packed[i >>> 2] |= (byte) (route.directionInto(i + 1) << shift(i));
+        }
+        return new SolvedPath(mazeHash, route.xAt(0), route.yAt(0), (int) exit.x(), (int) exit.y(),
+                footprintWidth, footprintHeight, route.lattice().getStep(), moveCount, packed);
+    }
+
+    /**
+     * Returns the number of bytes needed to pack the given number of moves.
+     *
+     * @param moveCount The number of moves.
+     * @return The number of bytes.
+     */
+    public static int packedLength(int moveCount) {
+        return (moveCount + 3) >>> 2;
+    }
+
+    /**
+     * Gets the direction of a move.
+     *
+     * @param index The index of the move, 0 being the move off the start.
+     * @return One of Lattice.UP, RIGHT, DOWN or LEFT.
+     */
+    public int direction(int index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Move " + index + " of " + moveCount);
+        }
+        return (packedMoves[index >>> 2] >>> shift(index)) & 3;
+    }
+
+    /**
+     * Replays the moves on a lattice to recover the route.
+     * The lattice must have the path's step and contain the start position.
+     *
+     * @param lattice The lattice to replay the moves on.
+     * @return The route, with the moves' node IDs on the lattice,
+     *         or null if a move leaves the lattice or enters a position the footprint does not fit.
+     */
+    public Route toRoute(Lattice lattice) {
+        int[] nodes = toNodes(lattice);
+        return nodes == null ? null : new Route(lattice, new SolveResult(nodes, 0, 0));
+    }
+
+    /**
+     * Replays the moves on a lattice to recover the node IDs along the path.
+     * The lattice must have the path's step and contain the start position.
+     * Every move is checked against the lattice, since a path read from a stale or corrupt file
+     * may no longer fit the maze.
+     *
+     * @param lattice The lattice to replay the moves on.
+     * @return The node IDs from the start to the end of the path,
+     *         or null if a move leaves the lattice or enters a position the footprint does not fit.
+     */
+    public int[] toNodes(Lattice lattice) {
+        int start = lattice.nodeAt(startX, startY);
+        if (start < 0 || lattice.getStep() != step) {
+            throw new IllegalArgumentException("Path does not lie on the lattice");
+        }
+        int[] nodes = new int[moveCount + 1];
+        nodes[0] = start;
+        for (int i = 0; i < moveCount; i++) {
+            nodes[i + 1] = lattice.neighbor(nodes[i], direction(i));
+            if (nodes[i + 1] < 0) {
+                return null;
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Gets the x-coordinate reached after each move, starting with the start position.
+     *
+     * @return The x-coordinates in pixels, one more than the number of moves.
+     */
+    public int[] xs() {
+        int[] xs = new int[moveCount + 1];
+        xs[0] = startX;
+        for (int i = 0; i < moveCount; i++) {
+            xs[i + 1] = xs[i] + DX[direction(i)] * step;
+        }
+        return xs;
+    }
+
+    /**
+     * Gets the y-coordinate reached after each move, starting with the start position.
+     *
+     * @return The y-coordinates in pixels, one more than the number of moves.
+     */
+    public int[] ys() {
+        int[] ys = new int[moveCount + 1];
+        ys[0] = startY;
+        for (int i = 0; i < moveCount; i++) {
+            ys[i + 1] = ys[i] + DY[direction(i)] * step;
+        }
+        return ys;
+    }
+
+    /**
+     * Gets the bit position of a move's direction code within its byte.
+     */
+    private static int shift(int index) {
+        return 6 - ((index & 3) << 1);
+    }
+
+    /**
+     * Gets the content hash of the maze the path was solved in.
+     *
+     * @return The maze's content hash.
+     */
+    public long getMazeHash() {
+        return mazeHash;
+    }
+
+    /**
+     * Gets the x-coordinate of the start position.
+     *
+     * @return The x-coordinate in pixels.
+     */
+    public int getStartX() {
+        return startX;
+    }
+
+    /**
+     * Gets the y-coordinate of the start position.
+     *
+     * @return The y-coordinate in pixels.
+     */
+    public int getStartY() {
+        return startY;
+    }
+
+    /**
+     * Gets the x-coordinate of the exit opening.
+     *
+     * @return The x-coordinate in pixels.
+     */
+    public int getExitX() {
+        return exitX;
+    }
+
+    /**
+     * Gets the y-coordinate of the exit opening.
+     *
+     * @return The y-coordinate in pixels.
+     */
+    public int getExitY() {
+        return exitY;
+    }
+
+    /**
+     * Gets the width of the agent's footprint.
+     *
+     * @return The width in pixels.
+     */
+    public int getFootprintWidth() {
+        return footprintWidth;
+    }
+
+    /**
+     * Gets the height of the agent's footprint.
+     *
+     * @return The height in pixels.
+     */
+    public int getFootprintHeight() {
+        return footprintHeight;
+    }
+
+    /**
+     * Gets the distance moved by each move.
+     *
+     * @return The step in pixels.
+     */
+    public int getStep() {
+        return step;
+    }
+
+    /**
+     * Gets the number of moves.
+     *
+     * @return The number of moves, one less than the number of positions.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets the packed moves. The array is not copied and must not be modified.
+     *
+     * @return The moves, four 2-bit direction codes per byte, first move in the high bits.
+     */
+    public byte[] getPackedMoves() {
+        return packedMoves;
+    }
+}
@@ -0,0 +1,262 @@
+package org.example.mazewithrobot;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for everything the agents and solvers do, shared by the whole
+ * application and registered with the platform MBean server, so they can be read headless over JMX.
+ * Every counter is a striped {@link LongAdder}, so recording from the FX thread, the search threads
+ * and batch workers at once costs an uncontended add.
+ */
+public final class SolverMetrics implements SolverMetricsMXBean {
+    /** The name the shared metrics are registered under. */
+    public static final String OBJECT_NAME = "org.example.mazewithrobot:type=SolverMetrics";
+
+    /** The metrics recorded by the whole application. */
+    private static final SolverMetrics SHARED = createShared();
+
+    /** The number of steps agents have taken. */
+    private final LongAdder steps = new LongAdder();
+
+    /** The number of dead ends depth-first searches have backed out of. */
+    private final LongAdder backtracks = new LongAdder();
+
+    /** The number of positions expanded by every search. */
+    private final LongAdder nodesExpanded = new LongAdder();
+
+    /** The number of footprint checks made for moves by hand. */
+    private final LongAdder validMoveChecks = new LongAdder();
+
+    /** The number of solves answered by a solve cache. */
+    private final LongAdder solveCacheHits = new LongAdder();
+
+    /** The number of solves no solve cache could answer. */
+    private final LongAdder solveCacheMisses = new LongAdder();
+
+    /** The number of metadata lookups answered by a metadata cache. */
+    private final LongAdder metadataCacheHits = new LongAdder();
+
+    /** The number of metadata lookups that had to derive it. */
+    private final LongAdder metadataCacheMisses = new LongAdder();
+
+    /** The time taken to build walkability grids from images. */
+    private final LatencyHistogram gridBuild = new LatencyHistogram();
+
+    /** The time taken to find the openings in maze borders. */
+    private final LatencyHistogram exitDetection = new LatencyHistogram();
+
+    /** The time taken by each solve. */
+    private final LatencyHistogram solve = new LatencyHistogram();
+
+    /** The solve time spent on each maze, keyed by its size and content hash. */
+    private final Map<String, LongAdder> solveNanosByMaze = new ConcurrentHashMap<>();
+
+    /** The solve time spent by each solver, keyed by its name. */
+    private final Map<String, LongAdder> solveNanosBySolver = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the metrics shared by the whole application.
+     *
+     * @return The shared metrics.
+     */
+    public static SolverMetrics shared() {
+        return SHARED;
+    }
+
+    /**
+     * Counts one step taken by an agent.
+     */
+    void step() {
+        steps.increment();
+    }
+
+    /**
+     * Counts the dead ends a depth-first search backed out of.
+     *
+     * @param count The number of backtracks in one search.
+     */
+    void backtracks(int count) {
+        backtracks.add(count);
+    }
+
+    /**
+     * Counts one footprint check for a move by hand.
+     */
+    void validMoveCheck() {
+        validMoveChecks.increment();
+    }
+
+    /**
+     * Counts one lookup in a solve cache.
+     *
+     * @param hit True if the cache had the path.
+     */
+    void solveCacheLookup(boolean hit) {
+        (hit ? solveCacheHits : solveCacheMisses).increment();
+    }
+
+    /**
+     * Counts one lookup in a metadata cache.
+     *
+     * @param hit True if the cache had the metadata.
+     */
+    void metadataCacheLookup(boolean hit) {
+        (hit ? metadataCacheHits : metadataCacheMisses).increment();
+    }
+
+    /**
+     * Records the time taken to build a walkability grid.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    void recordGridBuild(long nanos) {
+        gridBuild.record(nanos);
+    }
+
+    /**
+     * Records the time taken to find the openings in a maze's border.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    void recordExitDetection(long nanos) {
+        exitDetection.record(nanos);
+    }
+
+    /**
+     * Names a maze for the solve times kept per maze, by its size and content hash.
+     * Hashing an edited maze is a pass over all of it, so callers name a maze once and reuse the name.
+     *
+     * @param grid The walkability grid of the maze.
+     * @return The name to pass to {@link #recordSolve}.
+     */
+    static String mazeName(MazeGrid grid) {
+        return grid.getWidth() + "x" + grid.getHeight() + " " + Long.toHexString(grid.contentHash());
+    }
+
+    /**
+     * Records a finished solve, attributing its time to the maze and the solver.
+     *
+     * @param maze The name of the maze solved, from {@link #mazeName}.
+     * @param solverName The name of the solver.
+     * @param result The result of the solve.
+     */
+    void recordSolve(String maze, String solverName, SolveResult result) {
+        long nanos = result.getElapsedNanos();
+        solve.record(nanos);
+        nodesExpanded.add(result.getNodesExpanded());
+        solveNanosByMaze.computeIfAbsent(maze, key -> new LongAdder()).add(nanos);
+        solveNanosBySolver.computeIfAbsent(solverName, key -> new LongAdder()).add(nanos);
+    }
+
+    @Override
+    public long getSteps() {
+        return steps.sum();
+    }
+
+    @Override
+    public long getBacktracks() {
+        return backtracks.sum();
+    }
+
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded.sum();
+    }
+
+    @Override
+    public long getValidMoveChecks() {
+        return validMoveChecks.sum();
+    }
+
+    @Override
+    public long getSolveCacheHits() {
+        return solveCacheHits.sum();
+    }
+
+    @Override
+    public long getSolveCacheMisses() {
+        return solveCacheMisses.sum();
+    }
+
+    @Override
+    public long getMetadataCacheHits() {
+        return metadataCacheHits.sum();
+    }
+
+    @Override
+    public long getMetadataCacheMisses() {
+        return metadataCacheMisses.sum();
+    }
+
+    @Override
+    public LatencySnapshot getGridBuildLatency() {
+        return gridBuild.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getExitDetectionLatency() {
+        return exitDetection.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getSolveLatency() {
+        return solve.snapshot();
+    }
+
+    @Override
+    public Map<String, Long> getSolveNanosByMaze() {
+        return sums(solveNanosByMaze);
+    }
+
+    @Override
+    public Map<String, Long> getSolveNanosBySolver() {
+        return sums(solveNanosBySolver);
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder counter : new LongAdder[] {steps, backtracks, nodesExpanded, validMoveChecks,
+                solveCacheHits, solveCacheMisses, metadataCacheHits, metadataCacheMisses}) {
+            counter.reset();
+        }
+        gridBuild.reset();
+        exitDetection.reset();
+        solve.reset();
+        solveNanosByMaze.clear();
+        solveNanosBySolver.clear();
+    }
+
+    /**
+     * Reads the current totals of a map of counters.
+     *
+     * @param counters The counters.
+     * @return The totals, sorted by key.
+     */
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        Map<String, Long> sums = new TreeMap<>();
+        counters.forEach((key, counter) -> sums.put(key, counter.sum()));
+        return sums;
+    }
+
+    /**
+     * Creates the shared metrics and registers them with the platform MBean server.
+     * The metrics are still recorded if they cannot be registered.
+     *
+     * @return The shared metrics.
+     */
+    private static SolverMetrics createShared() {
+        SolverMetrics metrics = new SolverMetrics();
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            EventLog.shared().warn("metrics.registerFailed", "reason", e.getMessage());
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.mazewithrobot;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link SolverMetrics}, readable with JConsole, VisualVM or any JMX client
+ * under the name {@value SolverMetrics#OBJECT_NAME}.
+ */
+public interface SolverMetricsMXBean {
+    /**
+     * Gets the number of steps agents have taken, by hand or replaying a route.
+     *
+     * @return The step count.
+     */
+    long getSteps();
+
+    /**
+     * Gets the number of times a depth-first search backed out of a dead end.
+     *
+     * @return The backtrack count.
+     */
+    long getBacktracks();
+
+    /**
+     * Gets the number of positions expanded by every search.
+     *
+     * @return The number of nodes expanded.
+     */
+    long getNodesExpanded();
+
+    /**
+     * Gets the number of footprint checks made for moves by hand.
+     *
+     * @return The number of isValidMove calls.
+     */
+    long getValidMoveChecks();
+
+    /**
+     * Gets the number of solves answered by a solve cache.
+     *
+     * @return The hit count.
+     */
+    long getSolveCacheHits();
+
+    /**
+     * Gets the number of solves no solve cache could answer.
+     *
+     * @return The miss count.
+     */
+    long getSolveCacheMisses();
+
+    /**
+     * Gets the number of lookups of maze metadata answered by a metadata cache.
+     *
+     * @return The hit count.
+     */
+    long getMetadataCacheHits();
+
+    /**
+     * Gets the number of lookups of maze metadata that had to derive it.
+     *
+     * @return The miss count.
+     */
+    long getMetadataCacheMisses();
+
+    /**
+     * Gets the time taken to build walkability grids from maze images.
+     *
+     * @return The grid build latencies.
+     */
+    LatencySnapshot getGridBuildLatency();
+
+    /**
+     * Gets the time taken to find the openings in maze borders.
+     *
+     * @return The exit detection latencies.
+     */
+    LatencySnapshot getExitDetectionLatency();
+
+    /**
+     * Gets the time taken by each solve, including lookups in the solve cache.
+     *
+     * @return The solve latencies.
+     */
+    LatencySnapshot getSolveLatency();
+
+    /**
+     * Gets the total solve time spent on each maze.
+     *
+     * @return The nanoseconds spent, keyed by the maze's size and content hash.
+     */
+    Map<String, Long> getSolveNanosByMaze();
+
+    /**
+     * Gets the total solve time spent by each solver.
+     *
+     * @return The nanoseconds spent, keyed by the solver's name.
+     */
+    Map<String, Long> getSolveNanosBySolver();
+
+    /**
+     * Sets every counter and histogram back to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,51 @@
+package org.example.mazewithrobot;
+
+import java.util.function.Supplier;
+
+/**
+ * The maze-solving algorithms available to the robot and car.
+ */
+public enum SolverStrategy {
+    /** Depth-first search in up/right/down/left order; fast to start, but paths are not shortest. */
+    DFS(DepthFirstSolver::new),
+
+    /** Breadth-first search; shortest paths. */
+    BFS(BreadthFirstSolver::new),
+
+    /** A* with a Manhattan heuristic towards the exit; shortest paths with fewer expansions. */
+    A_STAR(AStarSolver::new),
+
+    /** Breadth-first search from both the start and the exit; shortest paths. */
+    BIDIRECTIONAL_BFS(BidirectionalBfsSolver::new),
+
+    /** Jump Point Search; shortest paths, skipping the cells of straight runs. */
+    JUMP_POINT(JumpPointSolver::new),
+
+    /** Dijkstra's algorithm on the graph of junctions and corridors; shortest paths, built once per lattice. */
+    JUNCTION_GRAPH(JunctionGraphSolver::new),
+
+    /** HPA*, A* over cluster entrances built once per maze and footprint, refined cluster by cluster; near-shortest. */
+    HPA_STAR(HierarchicalSolver::new),
+
+    /** Searches a coarse lattice, then the fine one along the corridor found; near-shortest paths. */
+    COARSE_TO_FINE(CoarseToFineSolver::new),
+
+    /** Theta*, an any-angle A*; near-shortest paths of straight legs between waypoints, not lattice moves. */
+    THETA_STAR(ThetaStarSolver::new);
+
+    /** Creates solvers for this strategy. */
+    private final Supplier<MazeSolver> factory;
+
+    SolverStrategy(Supplier<MazeSolver> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a solver for this strategy.
+     *
+     * @return A new solver.
+     */
+    public MazeSolver newSolver() {
+        return factory.get();
+    }
+}
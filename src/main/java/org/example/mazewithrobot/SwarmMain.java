@@ -0,0 +1,91 @@
+package org.example.mazewithrobot;
+
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.image.Image;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Shows a thousand agents solving the first maze at once on a {@link MazeCanvas},
+ * with an overlay of the positions their searches explored.
+ */
+public class SwarmMain extends Application {
+    /** The number of agents in the swarm. */
+    private static final int AGENT_COUNT = 1000;
+
+    /** The width and height of each agent's footprint in pixels. */
+    private static final int AGENT_SIZE = 20;
+
+    /** The seed used to place the agents and pick their colours and speeds. */
+    private static final long SEED = 42;
+
+    private final List<CanvasAgent> agents = new ArrayList<>();
+
+    /**
+     * Places the swarm on the maze and displays it.
+     *
+     * @param primaryStage the main window for the application
+     */
+    @Override
+    public void start(Stage primaryStage) {
+        Image mazeImage = new Image(getClass().getResourceAsStream("/maze.png"));
+        // Every agent shares one grid; (10, 260) is on the path at the entrance
+        WalkabilityGrid grid = MazeImages.gridOf(mazeImage, 10, 260);
+        MazeCanvas canvas = new MazeCanvas(mazeImage);
+        SearchListener overlay = canvas.overlayListener();
+
+        // Start each agent on a random lattice position its footprint fits on
+        Lattice lattice = new Lattice(MazeMetadataCache.shared().get(grid).collisions(), 10, 260,
+                MazeAgent.STEP_SIZE, AGENT_SIZE, AGENT_SIZE);
+        int[] open = IntStream.range(0, lattice.size()).filter(lattice::isOpen).toArray();
+        Random random = new Random(SEED);
+        for (int i = 0; i < AGENT_COUNT; i++) {
+            int node = open[random.nextInt(open.length)];
+            CanvasAgent agent = new CanvasAgent(lattice.xOf(node), lattice.yOf(node), grid, AGENT_SIZE, AGENT_SIZE);
+            agent.setSolverStrategy(SolverStrategy.BFS);
+            agent.setSolveSpeed(5 + random.nextDouble() * 15);
+            agent.getNavigator().setSearchListener(overlay);
+            canvas.addAgent(agent, 0xFF000000 | random.nextInt(0x1000000));
+            agents.add(agent);
+        }
+
+        Button solveButton = new Button("Solve All");
+        solveButton.setOnAction(e -> {
+            agents.forEach(MazeAgent::solveMaze);
+            solveButton.setDisable(true);
+        });
+        Button overlayButton = new Button("Hide Search");
+        overlayButton.setOnAction(e -> {
+            canvas.setOverlayVisible(!canvas.isOverlayVisible());
+            overlayButton.setText(canvas.isOverlayVisible() ? "Hide Search" : "Show Search");
+        });
+
+        VBox root = new VBox(10, new Pane(canvas.getView()), new HBox(10, solveButton, overlayButton));
+        Scene scene = new Scene(root, mazeImage.getWidth(), mazeImage.getHeight() + 40);
+        canvas.start();
+        primaryStage.setOnHidden(e -> canvas.stop());
+
+        primaryStage.setTitle("Swarm in Maze");
+        primaryStage.setScene(scene);
+        primaryStage.setResizable(false);
+        primaryStage.show();
+    }
+
+    /**
+     * Main entry point to launch the swarm on its own.
+     *
+     * @param args command-line arguments
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.mazewithrobot;
+
+/**
+ * Solves a maze with Theta*, an any-angle variant of A*: a node reached from a neighbour is linked
+ * straight to that neighbour's parent whenever the agent's footprint can move there in a straight line,
+ * so the path found is a short list of waypoints rather than a staircase of lattice moves.
+ * Costs are Euclidean distances in steps, guided by the straight-line distance to the exit zone.
+ * The paths are close to the shortest any-angle paths.
+ * Reuses its buffers between solves, so an instance must not be shared between threads.
+ */
+public class ThetaStarSolver implements MazeSolver {
+    /** The number of priority units per step, so fractional costs order correctly in the queue. */
+    private static final double PRIORITY_SCALE = 16;
+
+    /** The buffers reused between solves. */
+    private final SearchWorkspace workspace = new SearchWorkspace();
+
+    /** The cost of the best path found to each reached node, in steps; only valid for nodes in seen. */
+    private double[] costs = new double[0];
+
+    /** The listener told about the search's progress, or null for none. */
+    private SearchListener listener;
+
+    @Override
+    public SolveResult solve(Lattice lattice, int start, ExitZone exit) {
+        long started = System.nanoTime();
+        workspace.prepare(lattice.size());
+        if (costs.length < lattice.size()) {
+            costs = new double[lattice.size()];
+        }
+        NodeSet seen = workspace.seen;
+        NodeSet closed = workspace.closed;
+        int[] parents = workspace.parents;
+        // Entries pack the scaled estimated total cost above the node ID so they sort by cost first
+        LongMinHeap open = workspace.heap;
+        seen.add(start);
+        costs[start] = 0;
+        parents[start] = start;
+        open.add(entry(heuristic(lattice, start, exit), start));
+        if (listener != null) listener.discovered(lattice, start);
+        int expanded = 0;
+        int goal = -1;
+
+        while (!open.isEmpty()) {
+            int current = (int) open.poll();
+            if (!closed.add(current)) {
+                continue;
+            }
+            expanded++;
+            if (listener != null) listener.expanded(lattice, current);
+            if (exit.contains(lattice, current)) {
+                goal = current;
+                break;
+            }
+            int parent = parents[current];
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                int neighbor = lattice.neighbor(current, direction);
+                if (neighbor < 0 || closed.contains(neighbor)) {
+                    continue;
+                }
+                int via = current;
+                double cost = costs[current] + 1;
+                // Skip the corner at the current node if the parent can see the neighbour
+                if (parent != current && lattice.hasLineOfSight(parent, neighbor)) {
+                    via = parent;
+                    cost = costs[parent] + distance(lattice, parent, neighbor);
+                }
+                if (seen.add(neighbor) || cost < costs[neighbor]) {
+                    costs[neighbor] = cost;
+                    parents[neighbor] = via;
+                    open.add(entry(cost + heuristic(lattice, neighbor, exit), neighbor));
+                    if (listener != null) listener.discovered(lattice, neighbor);
+                }
+            }
+        }
+        return SolveResult.fromParents(parents, start, goal, expanded, started);
+    }
+
+    /**
+     * Measures the straight-line distance between two nodes.
+     *
+     * @param lattice The lattice being searched.
+     * @param from One node.
+     * @param to The other node.
+     * @return The distance in steps.
+     */
+    private static double distance(Lattice lattice, int from, int to) {
+        double dx = lattice.xOf(to) - lattice.xOf(from);
+        double dy = lattice.yOf(to) - lattice.yOf(from);
+        return Math.hypot(dx, dy) / lattice.getStep();
+    }
+
+    /**
+     * Estimates the straight-line distance from a node into the exit zone.
+     * Never overestimates, since no path is shorter than a straight line.
+     *
+     * @param lattice The lattice being searched.
+     * @param node The node to estimate from.
+     * @param exit The exit zone.
+     * @return A lower bound on the distance to the exit, in steps.
+     */
+    private static double heuristic(Lattice lattice, int node, ExitZone exit) {
+        double dx = Math.max(0, Math.abs(lattice.xOf(node) - exit.x()) - exit.range());
+        double dy = Math.max(0, Math.abs(lattice.yOf(node) - exit.y()) - exit.range());
+        return Math.hypot(dx, dy) / lattice.getStep();
+    }
+
+    /**
+     * Packs a priority and a node ID into one queue entry.
+     *
+     * @param priority The estimated total cost of a path through the node, in steps.
+     * @param node The node ID.
+     * @return The queue entry.
+     */
+    private static long entry(double priority, int node) {
+        return ((long) (priority * PRIORITY_SCALE) << 32) | node;
+    }
+
+    @Override
+    public void setSearchListener(SearchListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean isAnyAngle() {
+        return true;
+    }
+}
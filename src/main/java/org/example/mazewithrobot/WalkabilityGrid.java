@@ -0,0 +1,189 @@
+package org.example.mazewithrobot;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A one-bit-per-pixel map of which pixels of a maze are walkable.
+ * The grid is rasterized once from the maze image and packed into a {@code long[]},
+ * so path checks during movement and solving are a single array read and bit test
+ * instead of a PixelReader lookup and a Color comparison.
+ * Each row starts on a fresh 64-bit word so that rows can be scanned word by word.
+ */
+public final class WalkabilityGrid implements MazeGrid {
+    /** The width of the grid in pixels. */
+    private final int width;
+
+    /** The height of the grid in pixels. */
+    private final int height;
+
+    /** The number of 64-bit words used to store one row. */
+    private final int wordsPerRow;
+
+    /** The packed walkability bits, row by row. */
+    private final long[] bits;
+
+    /** A 64-bit hash of the dimensions and bits, identifying the maze's content. */
+    private final long contentHash;
+
+    /**
+     * Constructs a grid from already packed bits.
+     *
+     * @param width The width of the grid in pixels.
+     * @param height The height of the grid in pixels.
+     * @param bits The packed bits, {@code wordsPerRow(width)} words per row.
+     */
+    public WalkabilityGrid(int width, int height, long[] bits) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Grid must not be empty: " + width + "x" + height);
+        }
+        if (bits.length != (long) wordsPerRow(width) * height) {
+            throw new IllegalArgumentException("Expected " + (long) wordsPerRow(width) * height
+                    + " words, got " + bits.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = wordsPerRow(width);
+        this.bits = bits;
+        this.contentHash = hash(width, height, bits);
+    }
+
+    /**
+     * Builds a grid from ARGB pixels, marking every pixel equal to the path colour as walkable.
+     *
+     * @param argb The pixels in row-major order.
+     * @param width The width of the image in pixels.
+     * @param height The height of the image in pixels.
+     * @param pathArgb The ARGB value of the path colour.
+     * @return The packed walkability grid.
+     */
+    public static WalkabilityGrid fromArgb(int[] argb, int width, int height, int pathArgb) {
+        int words = wordsPerRow(width);
+        long[] bits = new long[words * height];
+        for (int y = 0; y < height; y++) {
+            int rowOffset = y * width;
+            int wordOffset = y * words;
+            for (int x = 0; x < width; x++) {
+                if (argb[rowOffset + x] == pathArgb) {
+                    bits[wordOffset + (x >>> 6)] |= 1L << x;
+                }
+            }
+        }
+        return new WalkabilityGrid(width, height, bits);
+    }
+
+    /**
+     * Reads a maze image file into a grid without going through JavaFX,
+     * so it works headless. The path colour is taken from the pixel at the given sample position.
+     *
+     * @param file The maze image file.
+     * @param sampleX The x-coordinate of a pixel known to be on the path.
+     * @param sampleY The y-coordinate of a pixel known to be on the path.
+     * @return The walkability grid of the maze.
+     * @throws IOException If the file cannot be read or is not an image.
+     */
+    public static WalkabilityGrid read(Path file, int sampleX, int sampleY) throws IOException {
+        BufferedImage image = ImageIO.read(file.toFile());
+        if (image == null) {
+            throw new IOException("Not a readable image: " + file);
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+        return fromArgb(argb, width, height, argb[sampleY * width + sampleX]);
+    }
+
+    /**
+     * Returns the number of words needed to store one row of the given width.
+     *
+     * @param width The width of a row in pixels.
+     * @return The number of 64-bit words per row.
+     */
+    public static int wordsPerRow(int width) {
+        return (width + 63) >>> 6;
+    }
+
+    @Override
+    public long word(int y, int index) {
+        return bits[y * wordsPerRow + index];
+    }
+
+    @Override
+    public boolean isWalkable(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    @Override
+    public long contentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Hashes the dimensions and packed bits of a grid.
+     *
+     * @param width The width of the grid in pixels.
+     * @param height The height of the grid in pixels.
+     * @param bits The packed bits.
+     * @return The 64-bit hash.
+     */
+    private static long hash(int width, int height, long[] bits) {
+        long h = hashSeed(width, height);
+        for (long word : bits) {
+            h = hashWord(h, word);
+        }
+        return hashFinish(h);
+    }
+
+    /**
+     * Starts a content hash, for backends that hash their words one at a time.
+     *
+     * @param width The width of the grid in pixels.
+     * @param height The height of the grid in pixels.
+     * @return The initial hash state.
+     */
+    static long hashSeed(int width, int height) {
+        return ((long) width << 32 | height) * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Mixes the next word, in row order, into a content hash.
+     *
+     * @param h The hash state.
+     * @param word The packed word.
+     * @return The new hash state.
+     */
+    static long hashWord(long h, long word) {
+        return Long.rotateLeft(h ^ word * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Finishes a content hash.
+     *
+     * @param h The hash state after the last word.
+     * @return The content hash.
+     */
+    static long hashFinish(long h) {
+        // Final avalanche (MurmurHash3 fmix64)
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a batch solves every job as a single solve would, in job order,
+ * and that a job that fails does not stop the others.
+ */
+class BatchSolverTest {
+    @Test
+    void solvesJobsInOrderLikeSingleSolves() {
+        List<SolveJob> jobs = new ArrayList<>();
+        for (long seed = 1; seed <= 4; seed++) {
+            MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.KRUSKAL, 12, 9, seed);
+            WalkabilityGrid grid = generator.toGrid();
+            for (int footprint = 10; footprint <= 20; footprint += 5) {
+                jobs.add(new SolveJob(grid, generator.getStart(), footprint, footprint));
+            }
+        }
+
+        List<BatchResult> results;
+        try (BatchSolver batch = new BatchSolver(SolverStrategy.BFS, 10, 35, 3)) {
+            results = batch.solveAll(jobs);
+        }
+
+        assertEquals(jobs.size(), results.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            SolveJob job = jobs.get(i);
+            BatchResult result = results.get(i);
+            assertSame(job, result.job());
+            assertFalse(result.isFailed());
+            MazeNavigator navigator = new MazeNavigator(job.grid(), job.start(),
+                    job.footprintWidth(), job.footprintHeight(), 10, 35);
+            navigator.setSolveCache(null);
+            navigator.setSolver(new BreadthFirstSolver());
+            Route expected = navigator.solve(job.start().x(), job.start().y());
+            assertEquals(expected.length(), result.route().length(), "job " + i);
+        }
+    }
+
+    @Test
+    void failedJobDoesNotStopOthers() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.WILSON, 12, 9, 1);
+        WalkabilityGrid grid = generator.toGrid();
+        List<SolveJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            // The middle job starts outside the maze, so it has no lattice position
+            Point start = i == 4 ? new Point(-15, -15) : generator.getStart();
+            jobs.add(new SolveJob(grid, start, 20, 20));
+        }
+
+        List<BatchResult> results;
+        try (BatchSolver batch = new BatchSolver(SolverStrategy.A_STAR, 10, 35, 2)) {
+            results = batch.solveAll(jobs);
+        }
+
+        for (int i = 0; i < jobs.size(); i++) {
+            BatchResult result = results.get(i);
+            if (i == 4) {
+                assertTrue(result.isFailed());
+                assertNull(result.route());
+                assertInstanceOf(IllegalArgumentException.class, result.error());
+                assertEquals(0, result.solveNanos());
+            } else {
+                assertFalse(result.isFailed(), "job " + i);
+                assertTrue(result.route().isFound(), "job " + i);
+            }
+        }
+    }
+}
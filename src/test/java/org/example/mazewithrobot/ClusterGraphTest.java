@@ -0,0 +1,113 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that HPA* finds a valid path wherever breadth-first search does, never shorter and
+ * only a few steps longer, and that a saved abstraction is loaded again only for its own maze.
+ */
+class ClusterGraphTest {
+    /** The most steps an HPA* path may be longer than the shortest on these small mazes. */
+    private static final int MAX_EXTRA_STEPS = 12;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void pathsAreValidAndNearShortest() {
+        for (long seed = 1; seed <= 3; seed++) {
+            MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.KRUSKAL, 20, 15, seed);
+            MazeMetadata maze = MazeMetadata.of(TestMazes.withLoops(generator, 0.2, seed));
+            Lattice lattice = lattice(maze, generator.getStart());
+            ExitZone exit = exit(maze, generator.getStart());
+            ClusterGraph graph = ClusterGraph.build(lattice, 8);
+            BreadthFirstSolver solver = new BreadthFirstSolver();
+
+            int maxExtra = 0;
+            // Every seventh position, so starts fall in every cluster without solving from all of them
+            for (int node = 0; node < lattice.size(); node += 7) {
+                if (!lattice.isOpen(node)) {
+                    continue;
+                }
+                SolveResult expected = solver.solve(lattice, node, exit);
+                SolveResult actual = graph.findPath(node, exit);
+                String where = "seed " + seed + " node " + node;
+                assertEquals(expected.isFound(), actual.isFound(), where);
+                if (!expected.isFound()) {
+                    continue;
+                }
+                int[] path = actual.getPath();
+                assertEquals(node, path[0], where);
+                assertTrue(exit.contains(lattice, path[path.length - 1]), where);
+                for (int i = 1; i < path.length; i++) {
+                    assertTrue(isNeighbor(lattice, path[i - 1], path[i]), where + " move " + i);
+                }
+                int extra = path.length - expected.getPath().length;
+                assertTrue(extra >= 0, where);
+                maxExtra = Math.max(maxExtra, extra);
+            }
+            assertTrue(maxExtra <= MAX_EXTRA_STEPS, "seed " + seed + ": " + maxExtra + " extra steps");
+        }
+    }
+
+    @Test
+    void savedAbstractionIsLoadedForItsOwnMaze() throws IOException {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.WILSON, 20, 15, 4);
+        WalkabilityGrid grid = generator.toGrid();
+        MazeMetadata maze = MazeMetadata.of(grid);
+        Point start = generator.getStart();
+        Lattice lattice = lattice(maze, start);
+        ExitZone exit = exit(maze, start);
+        Path file = ClusterGraph.fileFor(directory.resolve("maze.grid"));
+
+        ClusterGraph built = ClusterGraph.loadOrBuild(file, lattice, grid.contentHash(), 8);
+        assertTrue(Files.exists(file));
+        ClusterGraph loaded = ClusterGraph.read(file, lattice, grid.contentHash(), 8);
+
+        assertNotNull(loaded);
+        assertEquals(built.getNodeCount(), loaded.getNodeCount());
+        assertEquals(built.getEdgeCount(), loaded.getEdgeCount());
+        int node = lattice.nodeAt((int) start.x(), (int) start.y());
+        assertArrayEquals(built.findPath(node, exit).getPath(), loaded.findPath(node, exit).getPath());
+        // Another maze, or another cluster size, must build its own
+        assertNull(ClusterGraph.read(file, lattice, grid.contentHash() + 1, 8));
+        assertNull(ClusterGraph.read(file, lattice, grid.contentHash(), 16));
+    }
+
+    /**
+     * Builds the robot's lattice of a maze, checked up front as the abstraction requires.
+     */
+    private static Lattice lattice(MazeMetadata maze, Point start) {
+        return new Lattice(maze.collisions(), (int) start.x(), (int) start.y(), 10, 20, 20);
+    }
+
+    /**
+     * Gets the robot's exit zone of a maze.
+     */
+    private static ExitZone exit(MazeMetadata maze, Point start) {
+        Point exitOpening = maze.exitsFor(start).exit();
+        return new ExitZone(exitOpening.x(), exitOpening.y(), 35);
+    }
+
+    /**
+     * Checks if two nodes are next to each other and the move between them is open.
+     */
+    private static boolean isNeighbor(Lattice lattice, int from, int to) {
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            if (lattice.neighbor(from, direction) == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
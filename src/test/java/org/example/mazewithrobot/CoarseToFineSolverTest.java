@@ -0,0 +1,97 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that coarse-to-fine search finds valid paths close to the shortest while expanding
+ * fewer positions than breadth-first search, and that coarse moves never jump a wall.
+ */
+class CoarseToFineSolverTest {
+    /** The step of the fine lattice in pixels. */
+    private static final int STEP = 5;
+
+    /** The footprint of the robot in pixels. */
+    private static final int FOOTPRINT = 20;
+
+    @Test
+    void pathsAreValidNearShortestAndCheaperThanBreadthFirstSearch() {
+        long bfsExpanded = 0;
+        long coarseToFineExpanded = 0;
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            for (long seed = 1; seed <= 2; seed++) {
+                MazeGenerator generator = new MazeGenerator(algorithm, 30, 20, seed);
+                MazeGrid[] grids = {generator.toGrid(), TestMazes.withLoops(generator, 0.2, seed)};
+                for (MazeGrid grid : grids) {
+                    String maze = algorithm + " seed " + seed + (grid instanceof EditableGrid ? " with loops" : "");
+                    MazeMetadata metadata = MazeMetadata.of(grid);
+                    Point start = generator.getStart();
+                    Point exitOpening = metadata.exitsFor(start).exit();
+                    ExitZone exit = new ExitZone(exitOpening.x(), exitOpening.y(), 35);
+                    Lattice lattice = new Lattice(metadata.collisions(), (int) start.x(), (int) start.y(),
+                            STEP, FOOTPRINT, FOOTPRINT, true);
+                    int node = lattice.nodeAt((int) start.x(), (int) start.y());
+
+                    SolveResult expected = new BreadthFirstSolver().solve(lattice, node, exit);
+                    SolveResult actual = new CoarseToFineSolver().solve(lattice, node, exit);
+
+                    assertTrue(actual.isFound(), maze);
+                    int[] path = actual.getPath();
+                    assertEquals(node, path[0], maze);
+                    assertTrue(exit.contains(lattice, path[path.length - 1]), maze);
+                    for (int i = 1; i < path.length; i++) {
+                        assertTrue(isNeighbor(lattice, path[i - 1], path[i]), maze + " move " + i);
+                    }
+                    int shortest = expected.getPath().length;
+                    assertTrue(path.length >= shortest, maze);
+                    assertTrue(path.length <= shortest + shortest / 10, maze + ": " + path.length + " vs " + shortest);
+                    bfsExpanded += expected.getNodesExpanded();
+                    coarseToFineExpanded += actual.getNodesExpanded();
+                }
+            }
+        }
+        assertTrue(coarseToFineExpanded < bfsExpanded / 2, coarseToFineExpanded + " vs " + bfsExpanded);
+    }
+
+    @Test
+    void coarseMovesNeverJumpWalls() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER, 12, 9, 5);
+        MazeMetadata maze = MazeMetadata.of(generator.toGrid());
+        Point start = generator.getStart();
+        Lattice fine = new Lattice(maze.collisions(), (int) start.x(), (int) start.y(), STEP, FOOTPRINT, FOOTPRINT);
+        int factor = CoarseToFineSolver.DEFAULT_FACTOR;
+        // Coarse positions 20 pixels apart, so a move without the sweep would hop over the 10-pixel walls
+        Lattice coarse = fine.coarsen(factor, fine.nodeAt((int) start.x(), (int) start.y()));
+
+        int moves = 0;
+        for (int node = 0; node < coarse.size(); node++) {
+            for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+                if (coarse.neighbor(node, direction) < 0) {
+                    continue;
+                }
+                moves++;
+                // Every coarse move is also a straight run of fine moves
+                int along = fine.nodeAt(coarse.xOf(node), coarse.yOf(node));
+                for (int i = 0; i < factor; i++) {
+                    along = fine.neighbor(along, direction);
+                    assertTrue(along >= 0, "coarse node " + node + " direction " + direction + " step " + i);
+                }
+            }
+        }
+        assertTrue(moves > 0);
+    }
+
+    /**
+     * Checks if two nodes are next to each other and the move between them is open.
+     */
+    private static boolean isNeighbor(Lattice lattice, int from, int to) {
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            if (lattice.neighbor(from, direction) == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a distance field gives the breadth-first distance to the exit from every position,
+ * that paths read off it are shortest, and that agents of the same size share one field.
+ */
+class DistanceFieldTest {
+    @Test
+    void distancesMatchBreadthFirstSearch() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.KRUSKAL, 12, 9, 4);
+        EditableGrid grid = TestMazes.withLoops(generator, 0.2, 4);
+        MazeMetadata maze = MazeMetadata.of(grid);
+        Point start = generator.getStart();
+        Lattice lattice = new Lattice(maze.collisions(), (int) start.x(), (int) start.y(), 10, 20, 20);
+        Point exitOpening = maze.exitsFor(start).exit();
+        ExitZone exit = new ExitZone(exitOpening.x(), exitOpening.y(), 35);
+        DistanceField field = new DistanceField(lattice, exit);
+        BreadthFirstSolver solver = new BreadthFirstSolver();
+
+        int reachable = 0;
+        for (int node = 0; node < lattice.size(); node++) {
+            SolveResult expected = solver.solve(lattice, node, exit);
+            if (!lattice.isOpen(node) || !expected.isFound()) {
+                assertEquals(DistanceField.UNREACHABLE, field.distanceTo(node), "node " + node);
+                continue;
+            }
+            reachable++;
+            int moves = expected.getPath().length - 1;
+            assertEquals(moves, field.distanceTo(node), "node " + node);
+            int[] path = field.pathFrom(node);
+            assertEquals(moves + 1, path.length, "node " + node);
+            assertTrue(exit.contains(lattice, path[path.length - 1]), "node " + node);
+            for (int i = 1; i < path.length; i++) {
+                assertEquals(1, manhattan(lattice, path[i - 1], path[i]), "node " + node + " move " + i);
+                assertTrue(lattice.isOpen(path[i]), "node " + node + " move " + i);
+            }
+        }
+        assertEquals(reachable, field.getReachable());
+    }
+
+    @Test
+    void agentsOfSameSizeShareOneField() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.WILSON, 12, 9, 5);
+        WalkabilityGrid grid = generator.toGrid();
+        MazeMetadata maze = MazeMetadataCache.shared().get(grid);
+        Point start = generator.getStart();
+        int x = (int) start.x();
+        int y = (int) start.y();
+        Point exitOpening = maze.exitsFor(start).exit();
+        ExitZone exit = new ExitZone(exitOpening.x(), exitOpening.y(), 35);
+        DistanceFieldCache cache = new DistanceFieldCache(4);
+
+        DistanceField first = cache.get(grid, new Lattice(maze.collisions(), x, y, 10, 20, 20, true), x, y, exit);
+        // Another agent one step further along, on a lattice with the same alignment
+        DistanceField second = cache.get(grid, new Lattice(maze.collisions(), x + 10, y, 10, 20, 20, true),
+                x + 10, y, exit);
+        DistanceField shifted = cache.get(grid, new Lattice(maze.collisions(), x + 5, y, 10, 20, 20, true),
+                x + 5, y, exit);
+        DistanceField smaller = cache.get(grid, new Lattice(maze.collisions(), x, y, 10, 16, 16, true), x, y, exit);
+
+        assertSame(first, second);
+        assertNotSame(first, shifted);
+        assertNotSame(first, smaller);
+    }
+
+    @Test
+    void replanAfterHandMoveIsShortest() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER, 12, 9, 6);
+        EditableGrid grid = TestMazes.withLoops(generator, 0.2, 6);
+        Point start = generator.getStart();
+        MazeNavigator navigator = new MazeNavigator(grid, start, 20, 20, 10, 35);
+        navigator.setSolveCache(null);
+        navigator.setSolver(new BreadthFirstSolver());
+        Route solved = navigator.solve(start.x(), start.y());
+        // Stand a few moves along the route, as if moved there by hand
+        int x = solved.xAt(5);
+        int y = solved.yAt(5);
+
+        Route replanned = navigator.replan(x, y);
+        Route expected = navigator.solve(x, y);
+
+        assertTrue(replanned.isFound());
+        assertEquals(expected.length(), replanned.length());
+        assertEquals(x, replanned.xAt(0));
+        assertEquals(y, replanned.yAt(0));
+    }
+
+    /**
+     * Counts the lattice moves between two nodes if there were no walls.
+     */
+    private static int manhattan(Lattice lattice, int from, int to) {
+        int cols = lattice.getCols();
+        return Math.abs(from % cols - to % cols) + Math.abs(from / cols - to / cols);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that events are written as one line of valid JSON each,
+ * whatever characters their names and values hold.
+ */
+class EventLogTest {
+    @Test
+    void escapesStrings() {
+        String line = logOneEvent("say \"hi\"", "path\\name", "tab\there\nnew line\r\u0001\u001f\u00e9");
+
+        assertTrue(line.contains("\"event\":\"say \\\"hi\\\"\""), line);
+        assertTrue(line.contains("\"path\\\\name\":\"tab\\there\\nnew line\\r\\u0001\\u001f\u00e9\""), line);
+    }
+
+    @Test
+    void writesFiniteNumbersAndBooleansBare() {
+        String line = logOneEvent("values", "int", 3, "long", -4L, "double", 1.5, "nan", Double.NaN,
+                "infinite", Float.POSITIVE_INFINITY, "flag", true, "missing", null, "point", new Point(1, 2));
+
+        assertTrue(line.contains("\"int\":3,\"long\":-4,\"double\":1.5,"), line);
+        // JSON has no NaN or infinity, so they are written as strings
+        assertTrue(line.contains("\"nan\":\"NaN\",\"infinite\":\"Infinity\","), line);
+        assertTrue(line.contains("\"flag\":true,\"missing\":null,\"point\":\"Point[x=1.0, y=2.0]\"}"), line);
+    }
+
+    @Test
+    void skipsEventsBelowLevel() {
+        StringWriter out = new StringWriter();
+        EventLog log = new EventLog(EventLog.Level.WARN, out);
+
+        log.info("ignored");
+        log.warn("kept");
+
+        assertTrue(log.flush(5_000));
+        String[] lines = out.toString().split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"level\":\"WARN\",\"event\":\"kept\""), lines[0]);
+    }
+
+    /**
+     * Logs a single event to a fresh log and gets the line written for it.
+     */
+    private static String logOneEvent(String event, Object... fields) {
+        StringWriter out = new StringWriter();
+        EventLog log = new EventLog(EventLog.Level.INFO, out);
+        log.info(event, fields);
+        assertTrue(log.flush(5_000));
+        String written = out.toString();
+        assertTrue(written.endsWith("}\n"), written);
+        assertEquals(written.indexOf('\n'), written.length() - 1, "one line");
+        return written.substring(0, written.length() - 1);
+    }
+}
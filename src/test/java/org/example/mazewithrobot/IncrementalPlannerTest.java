@@ -0,0 +1,132 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the incremental planner repairs its plan after the maze is edited under it,
+ * through {@link MazeNavigator#planIncrementally} and {@link MazeNavigator#setWalkable}.
+ */
+class IncrementalPlannerTest {
+    /** The footprint of the robot in pixels. */
+    private static final int FOOTPRINT = 20;
+
+    /** The step of the robot in pixels. */
+    private static final int STEP = 10;
+
+    /** The range within which the agent is considered to have reached the exit. */
+    private static final double EXIT_RANGE = 35;
+
+    @Test
+    void detoursAroundWallClosingTheRoute() {
+        WalkabilityGrid room = TestMazes.room(200, 120);
+        Point start = TestMazes.roomStart(120);
+        MazeNavigator navigator = navigator(room, start);
+        Route straight = navigator.planIncrementally(start.x(), start.y());
+        assertTrue(straight.isFound());
+
+        // A wall across the straight route, leaving a gap along the bottom of the room
+        navigator.setWalkable(90, 10, 20, 80, false);
+        Route detour = navigator.planIncrementally(start.x(), start.y());
+
+        EditableGrid edited = new EditableGrid(room);
+        edited.setWalkable(90, 10, 20, 80, false);
+        MazeNavigator reference = navigator(edited, start);
+        reference.setSolver(new BreadthFirstSolver());
+        Route expected = reference.solve(start.x(), start.y());
+
+        assertTrue(detour.isFound());
+        assertTrue(detour.length() > straight.length());
+        assertEquals(expected.length(), detour.length());
+        CollisionMap collisions = new ClearanceGrid(edited);
+        for (int i = 0; i < detour.length(); i++) {
+            assertTrue(collisions.isClear(detour.xAt(i), detour.yAt(i), FOOTPRINT, FOOTPRINT),
+                    "position " + i + " overlaps the wall");
+        }
+    }
+
+    @Test
+    void findsNoPathUntilClosedCorridorIsReopened() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER, 12, 9, 7);
+        Point start = generator.getStart();
+        MazeNavigator navigator = navigator(generator.toGrid(), start);
+        Route original = navigator.planIncrementally(start.x(), start.y());
+        assertTrue(original.isFound());
+
+        // In a perfect maze there is only one route, so closing any position along it cuts the maze in two
+        int middle = original.length() / 2;
+        int x = original.xAt(middle);
+        int y = original.yAt(middle);
+        navigator.setWalkable(x, y, FOOTPRINT, FOOTPRINT, false);
+        assertFalse(navigator.planIncrementally(start.x(), start.y()).isFound());
+
+        navigator.setWalkable(x, y, FOOTPRINT, FOOTPRINT, true);
+        Route reopened = navigator.planIncrementally(start.x(), start.y());
+        assertTrue(reopened.isFound());
+        assertEquals(original.length(), reopened.length());
+        assertArrayEquals(original.result().getPath(), reopened.result().getPath());
+    }
+
+    @Test
+    void reachesExitAgainAfterItIsClosedAndReopened() {
+        WalkabilityGrid room = TestMazes.room(200, 120);
+        Point start = TestMazes.roomStart(120);
+        MazeNavigator navigator = navigator(room, start);
+        Route original = navigator.planIncrementally(start.x(), start.y());
+        assertTrue(original.isFound());
+
+        // Wall off the whole exit end of the room, then open it again
+        navigator.setWalkable(140, 0, 60, 120, false);
+        assertFalse(navigator.planIncrementally(start.x(), start.y()).isFound());
+        navigator.setWalkable(140, 0, 60, 120, true);
+        Route reopened = navigator.planIncrementally(start.x(), start.y());
+
+        assertTrue(reopened.isFound());
+        assertEquals(original.length(), reopened.length());
+    }
+
+    @Test
+    void handMovesSeeEachEdit() {
+        WalkabilityGrid room = TestMazes.room(200, 120);
+        Point start = TestMazes.roomStart(120);
+        MazeNavigator navigator = navigator(room, start);
+        assertTrue(navigator.isValidMove(90, 50));
+
+        navigator.setWalkable(90, 50, 20, 20, false);
+        assertFalse(navigator.isValidMove(90, 50));
+        MazeGrid closed = navigator.getGrid();
+        navigator.setWalkable(90, 50, 20, 20, true);
+
+        assertTrue(navigator.isValidMove(90, 50));
+        // Each edit publishes a new snapshot rather than changing one already handed out
+        assertFalse(closed.isWalkable(95, 55));
+        assertEquals(room.contentHash(), navigator.getGrid().contentHash());
+    }
+
+    @Test
+    void newStepStartsNewPlan() {
+        WalkabilityGrid room = TestMazes.room(200, 120);
+        Point start = TestMazes.roomStart(120);
+        MazeNavigator navigator = navigator(room, start);
+        assertEquals(STEP, navigator.planIncrementally(start.x(), start.y()).lattice().getStep());
+
+        navigator.setStep(STEP / 2);
+        Route finer = navigator.planIncrementally(start.x(), start.y());
+
+        assertTrue(finer.isFound());
+        assertEquals(STEP / 2, finer.lattice().getStep());
+    }
+
+    /**
+     * Builds a navigator for the robot that does not share solves with other tests.
+     */
+    private static MazeNavigator navigator(MazeGrid grid, Point start) {
+        MazeNavigator navigator = new MazeNavigator(grid, start, FOOTPRINT, FOOTPRINT, STEP, EXIT_RANGE);
+        navigator.setSolveCache(null);
+        return navigator;
+    }
+}
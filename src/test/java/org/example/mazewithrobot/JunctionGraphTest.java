@@ -0,0 +1,100 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the junction graph compresses corridors into single edges, that paths found on it
+ * are as short as breadth-first search from every position, and that solves share one graph.
+ */
+class JunctionGraphTest {
+    @Test
+    void perfectMazeCompressesToTree() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.WILSON, 20, 15, 3);
+        MazeMetadata maze = MazeMetadata.of(generator.toGrid());
+        Point start = generator.getStart();
+        // A footprint as wide as the corridors, so every corridor is one position across
+        int corridor = MazeGenerator.DEFAULT_CORRIDOR;
+        Lattice lattice = new Lattice(maze.collisions(), (int) start.x(), (int) start.y(), 10, corridor, corridor);
+
+        JunctionGraph graph = JunctionGraph.build(lattice);
+
+        int open = 0;
+        for (int node = 0; node < lattice.size(); node++) {
+            open += lattice.isOpen(node) ? 1 : 0;
+        }
+        assertTrue(graph.getJunctionCount() < open / 4, graph.getJunctionCount() + " of " + open + " positions");
+        // Every edge is stored once from each end, and a tree has one edge fewer than it has nodes
+        assertEquals(2 * (graph.getJunctionCount() - 1), graph.getEdgeCount());
+    }
+
+    @Test
+    void pathsFromEveryPositionAreShortest() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.KRUSKAL, 12, 9, 8);
+        EditableGrid grid = TestMazes.withLoops(generator, 0.2, 8);
+        MazeMetadata maze = MazeMetadata.of(grid);
+        Point start = generator.getStart();
+        Lattice lattice = new Lattice(maze.collisions(), (int) start.x(), (int) start.y(), 10, 20, 20);
+        Point exitOpening = maze.exitsFor(start).exit();
+        ExitZone exit = new ExitZone(exitOpening.x(), exitOpening.y(), 35);
+        JunctionGraph graph = JunctionGraph.build(lattice);
+        BreadthFirstSolver solver = new BreadthFirstSolver();
+
+        for (int node = 0; node < lattice.size(); node++) {
+            if (!lattice.isOpen(node)) {
+                continue;
+            }
+            SolveResult expected = solver.solve(lattice, node, exit);
+            SolveResult actual = graph.findPath(node, exit);
+            assertEquals(expected.isFound(), actual.isFound(), "node " + node);
+            if (!expected.isFound()) {
+                continue;
+            }
+            int[] path = actual.getPath();
+            assertEquals(expected.getPath().length, path.length, "node " + node);
+            assertEquals(node, path[0]);
+            assertTrue(exit.contains(lattice, path[path.length - 1]), "node " + node);
+            for (int i = 1; i < path.length; i++) {
+                assertTrue(isNeighbor(lattice, path[i - 1], path[i]), "node " + node + " move " + i);
+            }
+        }
+    }
+
+    @Test
+    void equalLatticesShareOneGraph() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER, 12, 9, 9);
+        MazeMetadata maze = MazeMetadata.of(generator.toGrid());
+        int x = (int) generator.getStart().x();
+        int y = (int) generator.getStart().y();
+        LatticeCache<JunctionGraph> graphs = new LatticeCache<>(4);
+
+        JunctionGraph first = graphs.get(new Lattice(maze.collisions(), x, y, 10, 20, 20, true), JunctionGraph::build);
+        // Another agent further along, whose lattice has the same positions
+        JunctionGraph second = graphs.get(new Lattice(maze.collisions(), x + 40, y, 10, 20, 20, true),
+                JunctionGraph::build);
+        JunctionGraph smaller = graphs.get(new Lattice(maze.collisions(), x, y, 10, 16, 16, true),
+                JunctionGraph::build);
+
+        assertSame(first, second);
+        assertNotSame(first, smaller);
+        // A lazy lattice is checked in full before the graph is built on it
+        assertFalse(first.getLattice().isLazy());
+    }
+
+    /**
+     * Checks if two nodes are next to each other and the move between them is open.
+     */
+    private static boolean isNeighbor(Lattice lattice, int from, int to) {
+        for (int direction = Lattice.UP; direction <= Lattice.LEFT; direction++) {
+            if (lattice.neighbor(from, direction) == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that every value falls in exactly one bucket, known to within 12.5%,
+ * and that snapshots read percentiles off the buckets.
+ */
+class LatencyHistogramTest {
+    @Test
+    void bucketsCoverEveryValueWithoutGaps() {
+        assertEquals(0, LatencyHistogram.bucketOf(0));
+        for (int bucket = 1; bucket <= LatencyHistogram.bucketOf(Long.MAX_VALUE); bucket++) {
+            long lowest = LatencyHistogram.highestValueIn(bucket - 1) + 1;
+            long highest = LatencyHistogram.highestValueIn(bucket);
+            assertTrue(highest >= lowest, "bucket " + bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(lowest), "lowest of bucket " + bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(highest), "highest of bucket " + bucket);
+            // The width of a bucket is at most an eighth of the values in it
+            assertTrue(highest - lowest <= lowest / 8, "bucket " + bucket);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void valuesBelowSixteenAreExact() {
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value)));
+        }
+    }
+
+    @Test
+    void snapshotReadsPercentilesOffBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+        histogram.record(-5);
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertEquals(1001, snapshot.count());
+        assertEquals(1_000_000, snapshot.maxNanos());
+        assertWithinEighth(500_000, snapshot.p50Nanos());
+        assertWithinEighth(900_000, snapshot.p90Nanos());
+        assertWithinEighth(990_000, snapshot.p99Nanos());
+        assertTrue(snapshot.p999Nanos() <= snapshot.maxNanos());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().count());
+    }
+
+    /**
+     * Checks that a percentile is no lower than the exact value and no more than an eighth above it.
+     */
+    private static void assertWithinEighth(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 8, expected + " read as " + actual);
+    }
+}
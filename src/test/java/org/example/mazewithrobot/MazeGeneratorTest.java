@@ -0,0 +1,89 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that a maze depends only on its algorithm, size and seed, however it is drawn,
+ * and that its image and grid files hold the same maze.
+ */
+class MazeGeneratorTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void sameSeedGivesSameMaze() {
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            for (long seed = 1; seed <= 3; seed++) {
+                WalkabilityGrid first = new MazeGenerator(algorithm, 25, 17, seed).toGrid();
+                WalkabilityGrid second = new MazeGenerator(algorithm, 25, 17, seed).toGrid();
+                assertEquals(first.contentHash(), second.contentHash(), algorithm + " seed " + seed);
+                for (int y = 0; y < first.getHeight(); y++) {
+                    for (int i = 0; i < WalkabilityGrid.wordsPerRow(first.getWidth()); i++) {
+                        assertEquals(first.word(y, i), second.word(y, i), algorithm + " seed " + seed + " row " + y);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void differentSeedsGiveDifferentMazes() {
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            long first = new MazeGenerator(algorithm, 25, 17, 1).toGrid().contentHash();
+            long second = new MazeGenerator(algorithm, 25, 17, 2).toGrid().contentHash();
+            assertNotEquals(first, second, algorithm.toString());
+        }
+    }
+
+    @Test
+    void pngHoldsSameMaze() throws IOException {
+        // 1010 pixels wide, so each row of the 1-bit image ends part way through a byte
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.KRUSKAL, 25, 17, 3);
+        Path file = directory.resolve("maze.png");
+        generator.writePng(file);
+
+        BufferedImage image = ImageIO.read(file.toFile());
+        int width = image.getWidth();
+        int height = image.getHeight();
+        assertEquals(generator.getWidth(), width);
+        assertEquals(generator.getHeight(), height);
+        int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+        for (int pixel : argb) {
+            assertTrue(pixel == MazeGenerator.PATH || pixel == MazeGenerator.WALL, Integer.toHexString(pixel));
+        }
+        WalkabilityGrid decoded = WalkabilityGrid.fromArgb(argb, width, height, MazeGenerator.PATH);
+        assertEquals(generator.toGrid().contentHash(), decoded.contentHash());
+    }
+
+    @Test
+    void gridFileHoldsSameMaze() throws IOException {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.WILSON, 25, 17, 3);
+        Path file = directory.resolve("maze.grid");
+        generator.writeGrid(file);
+
+        WalkabilityGrid expected = generator.toGrid();
+        MappedGrid mapped = MappedGrid.open(file);
+        assertEquals(expected.getWidth(), mapped.getWidth());
+        assertEquals(expected.getHeight(), mapped.getHeight());
+        assertEquals(expected.contentHash(), mapped.contentHash());
+        long[] row = new long[WalkabilityGrid.wordsPerRow(expected.getWidth())];
+        long[] mappedRow = new long[row.length];
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = expected.word(y, i);
+                mappedRow[i] = mapped.word(y, i);
+            }
+            assertArrayEquals(row, mappedRow, "row " + y);
+        }
+    }
+}
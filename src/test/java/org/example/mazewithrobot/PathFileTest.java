@@ -0,0 +1,135 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that paths written by {@link PathFile} read back unchanged, to a file and to a stream.
+ */
+class PathFileTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsThroughFile() throws IOException {
+        List<SolvedPath> paths = new ArrayList<>();
+        for (long seed = 1; seed <= 3; seed++) {
+            paths.add(solve(new MazeGenerator(MazeGenerator.Algorithm.KRUSKAL, 15, 11, seed)));
+        }
+        // Larger than the write buffer, so written on its own
+        paths.add(randomPath(300_000, 5));
+        Path file = directory.resolve("paths.bin");
+        PathFile.writeAll(file, paths);
+
+        List<SolvedPath> read = PathFile.readAll(file);
+        assertEquals(paths.size(), read.size());
+        for (int i = 0; i < paths.size(); i++) {
+            assertSame(paths.get(i), read.get(i));
+        }
+    }
+
+    @Test
+    void roundTripsThroughStream() throws IOException {
+        SolvedPath path = solve(new MazeGenerator(MazeGenerator.Algorithm.WILSON, 15, 11, 4));
+        SolvedPath empty = randomPath(0, 6);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(bytes)) {
+            PathFile.write(channel, path);
+            PathFile.write(channel, empty);
+        }
+
+        try (ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(path, PathFile.read(channel));
+            assertSame(empty, PathFile.read(channel));
+            assertNull(PathFile.read(channel));
+        }
+    }
+
+    @Test
+    void rejectsTruncatedRecord() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(bytes)) {
+            PathFile.write(channel, randomPath(100, 7));
+        }
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+
+        try (ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(truncated))) {
+            assertThrows(EOFException.class, () -> PathFile.read(channel));
+        }
+    }
+
+    @Test
+    void rejectsHugeMoveCountWithoutReadingThatMuch() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(bytes)) {
+            PathFile.write(channel, randomPath(100, 8));
+        }
+        // Claim 2^31 - 1 moves, about 512 MB of them, in front of only 25 bytes
+        byte[] corrupt = bytes.toByteArray();
+        ByteBuffer.wrap(corrupt).putInt(PathFile.HEADER_BYTES - Integer.BYTES, Integer.MAX_VALUE);
+
+        try (ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(corrupt))) {
+            assertThrows(EOFException.class, () -> PathFile.read(channel));
+        }
+    }
+
+    /**
+     * Solves a generated maze with the robot's footprint and records the path.
+     */
+    private static SolvedPath solve(MazeGenerator generator) {
+        WalkabilityGrid grid = generator.toGrid();
+        Point start = generator.getStart();
+        MazeNavigator navigator = new MazeNavigator(grid, start, 20, 20, 10, 35);
+        navigator.setSolveCache(null);
+        Route route = navigator.solve(start.x(), start.y());
+        return SolvedPath.of(route, grid.contentHash(), navigator.getExits().exit(), 20, 20);
+    }
+
+    /**
+     * Makes a path of random moves; it need not fit any maze to be stored.
+     */
+    private static SolvedPath randomPath(int moveCount, long seed) {
+        Random random = new Random(seed);
+        byte[] packed = new byte[SolvedPath.packedLength(moveCount)];
+        random.nextBytes(packed);
+        if (moveCount % 4 != 0) {
+            // Unused low bits of the last byte are written as zero
+            packed[packed.length - 1] &= (byte) (0xFF << (8 - 2 * (moveCount % 4)));
+        }
+        return new SolvedPath(random.nextLong(), 10, 20, 300, 400, 20, 16, 10, moveCount, packed);
+    }
+
+    /**
+     * Checks that two paths hold the same maze, positions, footprint, step and moves.
+     */
+    private static void assertSame(SolvedPath expected, SolvedPath actual) {
+        assertEquals(expected.getMazeHash(), actual.getMazeHash());
+        assertEquals(expected.getStartX(), actual.getStartX());
+        assertEquals(expected.getStartY(), actual.getStartY());
+        assertEquals(expected.getExitX(), actual.getExitX());
+        assertEquals(expected.getExitY(), actual.getExitY());
+        assertEquals(expected.getFootprintWidth(), actual.getFootprintWidth());
+        assertEquals(expected.getFootprintHeight(), actual.getFootprintHeight());
+        assertEquals(expected.getStep(), actual.getStep());
+        assertEquals(expected.getMoveCount(), actual.getMoveCount());
+        assertArrayEquals(expected.getPackedMoves(), actual.getPackedMoves());
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that smoothing keeps a route's start and end, drops only positions it can see past,
+ * and never makes the route longer.
+ */
+class PathSmootherTest {
+    /** The footprint of the robot in pixels. */
+    private static final int FOOTPRINT = 20;
+
+    /** The step of the robot in pixels. */
+    private static final int STEP = 10;
+
+    @Test
+    void waypointsAreRoutePositionsInSight() {
+        for (long seed = 1; seed <= 3; seed++) {
+            MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.KRUSKAL, 20, 15, seed);
+            assertSmoothed(solve(TestMazes.withLoops(generator, 0.2, seed), generator.getStart()), "maze " + seed);
+            assertSmoothed(solve(TestMazes.pillaredRoom(300, 200, 12, seed), TestMazes.roomStart(200)),
+                    "room " + seed);
+        }
+    }
+
+    @Test
+    void straightRouteIsKept() {
+        // The exit is level with the start, so the shortest route is one straight run
+        Route route = solve(TestMazes.room(300, 200), TestMazes.roomStart(200));
+        Route smoothed = PathSmoother.smooth(route);
+
+        assertEquals(2, smoothed.length());
+        assertEquals(route.xAt(route.length() - 1), smoothed.xAt(1));
+        assertSame(smoothed, PathSmoother.smooth(smoothed));
+    }
+
+    /**
+     * Checks that a smoothed route runs from the same start to the same end through positions of the route,
+     * in order, each in sight of the next, and is no longer than the route.
+     */
+    private static void assertSmoothed(Route route, String maze) {
+        assertTrue(route.isFound(), maze);
+        Route smoothed = PathSmoother.smooth(route);
+        int[] path = route.result().getPath();
+        int[] waypoints = smoothed.result().getPath();
+        assertEquals(path[0], waypoints[0], maze);
+        assertEquals(path[path.length - 1], waypoints[waypoints.length - 1], maze);
+        int index = 0;
+        for (int i = 1; i < waypoints.length; i++) {
+            int previous = index;
+            while (index < path.length && path[index] != waypoints[i]) {
+                index++;
+            }
+            assertTrue(index < path.length && index > previous, maze + " waypoint " + i + " is not further along");
+            assertTrue(route.lattice().hasLineOfSight(waypoints[i - 1], waypoints[i]), maze + " leg " + i);
+        }
+        assertTrue(smoothed.length() < route.length(), maze);
+        assertTrue(ThetaStarSolverTest.length(smoothed) <= (route.length() - 1) * STEP, maze);
+    }
+
+    /**
+     * Finds a shortest route with breadth-first search, bypassing the solve cache.
+     */
+    private static Route solve(MazeGrid grid, Point start) {
+        MazeNavigator navigator = new MazeNavigator(grid, start, FOOTPRINT, FOOTPRINT, STEP, 35);
+        navigator.setSolveCache(null);
+        navigator.setSolver(new BreadthFirstSolver());
+        return navigator.solve(start.x(), start.y());
+    }
+}
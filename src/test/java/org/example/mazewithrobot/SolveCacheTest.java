@@ -0,0 +1,112 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that solved paths are found again by maze, start, footprint, step and solver,
+ * that stale paths are solved again, and that a cache survives being saved and loaded.
+ */
+class SolveCacheTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void secondSolveFromSamePlaceIsHit() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.KRUSKAL, 12, 9, 1);
+        Point start = generator.getStart();
+        SolveCache cache = new SolveCache(16);
+        MazeNavigator navigator = navigator(generator.toGrid(), start, cache);
+
+        Route first = navigator.solve(start.x(), start.y());
+        Route second = navigator.solve(start.x(), start.y());
+
+        assertTrue(first.result().getNodesExpanded() > 0);
+        assertEquals(0, second.result().getNodesExpanded());
+        assertArrayEquals(first.result().getPath(), second.result().getPath());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // Another solver's paths are kept apart
+        navigator.setSolver(new AStarSolver());
+        assertTrue(navigator.solve(start.x(), start.y()).result().getNodesExpanded() > 0);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void stalePathIsSolvedAgain() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.WILSON, 12, 9, 2);
+        WalkabilityGrid grid = generator.toGrid();
+        Point start = generator.getStart();
+        SolveCache cache = new SolveCache(16);
+        // Twenty moves up from the start, straight through the outer wall
+        SolvedPath stale = new SolvedPath(grid.contentHash(), (int) start.x(), (int) start.y(), 0, 0, 20, 20, 10,
+                20, new byte[SolvedPath.packedLength(20)]);
+        cache.put(stale, SolveCache.solverName(new BreadthFirstSolver()));
+
+        Route route = navigator(grid, start, cache).solve(start.x(), start.y());
+
+        // Found in the cache, but rejected when its moves were replayed on the lattice
+        assertEquals(1, cache.getHits());
+        assertTrue(route.isFound());
+        assertTrue(route.result().getNodesExpanded() > 0);
+        for (int node : route.result().getPath()) {
+            assertTrue(route.lattice().isOpen(node));
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        SolveCache cache = new SolveCache(2);
+        cache.put(path(1), "A");
+        cache.put(path(2), "A");
+        assertNotNull(cache.get(1, 10, 10, 20, 20, 10, "A"));
+        cache.put(path(3), "A");
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(1, 10, 10, 20, 20, 10, "A"));
+        assertNull(cache.get(2, 10, 10, 20, 20, 10, "A"));
+        assertNotNull(cache.get(3, 10, 10, 20, 20, 10, "A"));
+    }
+
+    @Test
+    void savesAndLoadsEverySolver() throws IOException {
+        SolveCache cache = new SolveCache(16);
+        cache.put(path(1), "BreadthFirstSolver");
+        cache.put(path(2), "AStarSolver");
+        cache.save(directory);
+
+        SolveCache loaded = new SolveCache(16);
+        loaded.load(directory);
+
+        assertEquals(2, loaded.size());
+        assertNotNull(loaded.get(1, 10, 10, 20, 20, 10, "BreadthFirstSolver"));
+        assertNotNull(loaded.get(2, 10, 10, 20, 20, 10, "AStarSolver"));
+        assertNull(loaded.get(1, 10, 10, 20, 20, 10, "AStarSolver"));
+    }
+
+    /**
+     * Makes a short path from (10, 10) on a maze identified by the given hash.
+     */
+    private static SolvedPath path(long mazeHash) {
+        return new SolvedPath(mazeHash, 10, 10, 100, 100, 20, 20, 10, 3, new byte[] {0x64});
+    }
+
+    /**
+     * Builds a navigator for the robot that solves with breadth-first search through the given cache.
+     */
+    private static MazeNavigator navigator(MazeGrid grid, Point start, SolveCache cache) {
+        MazeNavigator navigator = new MazeNavigator(grid, start, 20, 20, 10, 35);
+        navigator.setSolveCache(cache);
+        navigator.setSolver(new BreadthFirstSolver());
+        return navigator;
+    }
+}
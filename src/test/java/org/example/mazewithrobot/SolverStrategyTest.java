@@ -0,0 +1,94 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that every strategy claiming shortest paths finds a path as short as breadth-first search,
+ * and that its path is made of single steps between open positions. Perfect generated mazes have
+ * only one route, so the mazes also include generated ones with loops and open rooms with pillars,
+ * where a solver can easily settle for a longer route.
+ */
+class SolverStrategyTest {
+    /** The footprint of the robot in pixels. */
+    private static final int FOOTPRINT = 20;
+
+    /** The step of the robot in pixels. */
+    private static final int STEP = 10;
+
+    /** The range within which the agent is considered to have reached the exit. */
+    private static final double EXIT_RANGE = 35;
+
+    @Test
+    void shortestPathStrategiesMatchBreadthFirstSearch() {
+        for (Map.Entry<String, Maze> maze : mazes().entrySet()) {
+            MazeGrid grid = maze.getValue().grid();
+            Point start = maze.getValue().start();
+            Route expected = solve(grid, start, SolverStrategy.BFS);
+            assertTrue(expected.isFound(), "no path in " + maze.getKey());
+            for (SolverStrategy strategy : SolverStrategy.values()) {
+                if (strategy.newSolver().findsShortestPaths()) {
+                    assertShortest(expected, solve(grid, start, strategy), strategy, maze.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the mazes to solve, by name.
+     */
+    private static Map<String, Maze> mazes() {
+        Map<String, Maze> mazes = new LinkedHashMap<>();
+        for (MazeGenerator.Algorithm algorithm : MazeGenerator.Algorithm.values()) {
+            for (long seed = 1; seed <= 2; seed++) {
+                MazeGenerator generator = new MazeGenerator(algorithm, 20, 15, seed);
+                mazes.put(algorithm + " seed " + seed, new Maze(generator.toGrid(), generator.getStart()));
+                mazes.put(algorithm + " seed " + seed + " with loops",
+                        new Maze(TestMazes.withLoops(generator, 0.2, seed), generator.getStart()));
+            }
+        }
+        mazes.put("open room", new Maze(TestMazes.room(300, 200), TestMazes.roomStart(200)));
+        for (long seed = 1; seed <= 3; seed++) {
+            mazes.put("room with pillars seed " + seed,
+                    new Maze(TestMazes.pillaredRoom(300, 200, 12, seed), TestMazes.roomStart(200)));
+        }
+        return mazes;
+    }
+
+    /**
+     * Checks that a route is as long as the shortest, starts where that one does,
+     * and moves one step at a time between open positions.
+     */
+    private static void assertShortest(Route expected, Route actual, SolverStrategy strategy, String maze) {
+        assertTrue(actual.isFound(), strategy + " found no path in " + maze);
+        assertEquals(expected.length(), actual.length(), strategy + " path length in " + maze);
+        assertEquals(expected.xAt(0), actual.xAt(0), strategy + " start x in " + maze);
+        assertEquals(expected.yAt(0), actual.yAt(0), strategy + " start y in " + maze);
+        int[] path = actual.result().getPath();
+        for (int i = 1; i < actual.length(); i++) {
+            int moved = Math.abs(actual.xAt(i) - actual.xAt(i - 1)) + Math.abs(actual.yAt(i) - actual.yAt(i - 1));
+            assertEquals(STEP, moved, strategy + " move " + i + " in " + maze);
+            assertTrue(actual.lattice().isOpen(path[i]), strategy + " position " + i + " is not open in " + maze);
+        }
+    }
+
+    /**
+     * Solves a maze from a start position with a new solver of a strategy, bypassing the solve cache.
+     */
+    private static Route solve(MazeGrid grid, Point start, SolverStrategy strategy) {
+        MazeNavigator navigator = new MazeNavigator(grid, start, FOOTPRINT, FOOTPRINT, STEP, EXIT_RANGE);
+        navigator.setSolveCache(null);
+        navigator.setSolver(strategy.newSolver());
+        return navigator.solve(start.x(), start.y());
+    }
+
+    /**
+     * A maze and the position to solve it from.
+     */
+    private record Maze(MazeGrid grid, Point start) {
+    }
+}
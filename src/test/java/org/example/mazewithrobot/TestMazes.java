@@ -0,0 +1,98 @@
+package org.example.mazewithrobot;
+
+import java.util.Random;
+
+/**
+ * Mazes for the tests that have more than one route to the exit, unlike generated perfect mazes.
+ */
+final class TestMazes {
+    /** The thickness of a room's outer wall in pixels. */
+    static final int WALL = 10;
+
+    /** The height of the openings in a room's left and right walls in pixels. */
+    static final int OPENING = 30;
+
+    private TestMazes() {
+    }
+
+    /**
+     * Builds a walled room with an opening in the middle of its left and right walls.
+     *
+     * @param width The width of the room in pixels.
+     * @param height The height of the room in pixels.
+     * @return The room.
+     */
+    static WalkabilityGrid room(int width, int height) {
+        int[] argb = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean inside = x >= WALL && x < width - WALL && y >= WALL && y < height - WALL;
+                boolean opening = y >= height / 2 - OPENING / 2 && y < height / 2 + OPENING / 2;
+                argb[y * width + x] = inside || opening ? MazeGenerator.PATH : MazeGenerator.WALL;
+            }
+        }
+        return WalkabilityGrid.fromArgb(argb, width, height, MazeGenerator.PATH);
+    }
+
+    /**
+     * Gets the position just inside the left opening of a room, where an agent starts.
+     *
+     * @param height The height of the room in pixels.
+     * @return The top-left corner of the start position.
+     */
+    static Point roomStart(int height) {
+        return new Point(WALL, height / 2 - OPENING / 2 + 5);
+    }
+
+    /**
+     * Builds a room with square pillars scattered over it, leaving a clear strip along each wall
+     * so the exit can always be reached.
+     *
+     * @param width The width of the room in pixels.
+     * @param height The height of the room in pixels.
+     * @param pillars The number of pillars.
+     * @param seed The seed of the pillars' positions.
+     * @return The room.
+     */
+    static EditableGrid pillaredRoom(int width, int height, int pillars, long seed) {
+        EditableGrid grid = new EditableGrid(room(width, height));
+        Random random = new Random(seed);
+        int margin = 2 * WALL + OPENING;
+        for (int i = 0; i < pillars; i++) {
+            int size = 10 + random.nextInt(4) * 10;
+            int x = margin + random.nextInt(width - 2 * margin - size);
+            int y = margin + random.nextInt(height - 2 * margin - size);
+            grid.setWalkable(x, y, size, size, false);
+        }
+        return grid;
+    }
+
+    /**
+     * Knocks down some of the inner walls of a generated maze, so that it has loops.
+     *
+     * @param generator A maze with the default corridor width and wall thickness.
+     * @param fraction The fraction of inner walls to knock down.
+     * @param seed The seed of the walls' choice.
+     * @return The maze with loops.
+     */
+    static EditableGrid withLoops(MazeGenerator generator, double fraction, long seed) {
+        EditableGrid grid = new EditableGrid(generator.toGrid());
+        Random random = new Random(seed);
+        int wall = MazeGenerator.DEFAULT_WALL_THICKNESS;
+        int corridor = MazeGenerator.DEFAULT_CORRIDOR;
+        int cell = corridor + wall;
+        int cols = (generator.getWidth() - wall) / cell;
+        int rows = (generator.getHeight() - wall) / cell;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (col < cols - 1 && random.nextDouble() < fraction) {
+                    grid.setWalkable((col + 1) * cell, row * cell + wall, wall, corridor, true);
+                }
+                if (row < rows - 1 && random.nextDouble() < fraction) {
+                    grid.setWalkable(col * cell + wall, (row + 1) * cell, corridor, wall, true);
+                }
+            }
+        }
+        return grid;
+    }
+}
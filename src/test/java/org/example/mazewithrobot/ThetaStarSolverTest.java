@@ -0,0 +1,78 @@
+package org.example.mazewithrobot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that Theta* finds a few waypoints that can each see the next,
+ * and that the legs between them are hardly longer than the shortest staircase of lattice moves.
+ */
+class ThetaStarSolverTest {
+    /** The footprint of the robot in pixels. */
+    private static final int FOOTPRINT = 20;
+
+    /** The step of the robot in pixels. */
+    private static final int STEP = 10;
+
+    @Test
+    void waypointsSeeEachOtherAndCutCorners() {
+        for (Map.Entry<String, MazeNavigator> maze : navigators().entrySet()) {
+            MazeNavigator navigator = maze.getValue();
+            Point start = TestMazes.roomStart(200);
+            navigator.setSolver(new BreadthFirstSolver());
+            Route staircase = navigator.solve(start.x(), start.y());
+            navigator.setSolver(new ThetaStarSolver());
+            Route route = navigator.solve(start.x(), start.y());
+
+            assertTrue(route.isFound(), maze.getKey());
+            assertEquals(staircase.xAt(0), route.xAt(0), maze.getKey());
+            assertEquals(staircase.yAt(0), route.yAt(0), maze.getKey());
+            int[] path = route.result().getPath();
+            assertTrue(navigator.getExitZone().contains(route.lattice(), path[path.length - 1]), maze.getKey());
+            for (int i = 1; i < path.length; i++) {
+                assertTrue(route.lattice().hasLineOfSight(path[i - 1], path[i]), maze.getKey() + " leg " + i);
+            }
+            assertTrue(route.length() < staircase.length() / 4, maze.getKey() + ": " + route.length() + " waypoints");
+            // Theta* may settle on an exit position a little off the staircase's, so allow half a step
+            double staircaseLength = (staircase.length() - 1) * STEP;
+            assertTrue(length(route) <= staircaseLength + STEP / 2.0,
+                    maze.getKey() + ": " + length(route) + " vs " + staircaseLength);
+        }
+    }
+
+    /**
+     * Builds navigators for the open rooms to solve, by name.
+     */
+    private static Map<String, MazeNavigator> navigators() {
+        Map<String, MazeNavigator> navigators = new LinkedHashMap<>();
+        navigators.put("open room", navigator(TestMazes.room(300, 200)));
+        for (long seed = 1; seed <= 3; seed++) {
+            navigators.put("room with pillars seed " + seed, navigator(TestMazes.pillaredRoom(300, 200, 12, seed)));
+        }
+        return navigators;
+    }
+
+    /**
+     * Builds a navigator for the robot in a room that does not share solves with other tests.
+     */
+    private static MazeNavigator navigator(MazeGrid grid) {
+        MazeNavigator navigator = new MazeNavigator(grid, TestMazes.roomStart(200), FOOTPRINT, FOOTPRINT, STEP, 35);
+        navigator.setSolveCache(null);
+        return navigator;
+    }
+
+    /**
+     * Adds up the straight-line lengths of a route's legs in pixels; also used by {@link PathSmootherTest}.
+     */
+    static double length(Route route) {
+        double length = 0;
+        for (int i = 1; i < route.length(); i++) {
+            length += Math.hypot(route.xAt(i) - route.xAt(i - 1), route.yAt(i) - route.yAt(i - 1));
+        }
+        return length;
+    }
+}